@@ -0,0 +1,55 @@
+package de.karstenkoehler.bridges.benchmark;
+
+import de.karstenkoehler.bridges.io.validator.DefaultValidator;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.PuzzleSpecification;
+import de.karstenkoehler.bridges.model.generator.Generator;
+import de.karstenkoehler.bridges.model.generator.GeneratorImpl;
+import de.karstenkoehler.bridges.model.solver.DifficultyRater;
+import de.karstenkoehler.bridges.model.solver.DifficultyRating;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many ratings per second {@link DifficultyRater} achieves on generated square puzzles with the
+ * maximum number of islands allowed by {@link PuzzleSpecification}. In contrast to the example puzzles of
+ * {@link SolverBenchmark}, most of these puzzles need the harder tiers or even a search. The puzzles are generated
+ * once from a fixed corpus of seeds and rated one after another.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DifficultyRaterBenchmark {
+    private static final long SEED = 20180501L;
+    private static final int CORPUS_SIZE = 32;
+
+    @Param({"14", "25"})
+    public int size;
+
+    private final DifficultyRater rater = new DifficultyRater();
+    private BridgesPuzzle[] puzzles;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Generator generator = new GeneratorImpl(new DefaultValidator());
+        PuzzleSpecification spec = PuzzleSpecification.withSpecs(false, size, size, size * size / 5).withSeed(SEED);
+
+        this.puzzles = new BridgesPuzzle[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            this.puzzles[i] = generator.generate(spec.derive(i));
+            this.puzzles[i].fillMissingConnections();
+        }
+    }
+
+    @Benchmark
+    public DifficultyRating rate() {
+        BridgesPuzzle puzzle = this.puzzles[this.next];
+        this.next = (this.next + 1) % CORPUS_SIZE;
+        return this.rater.rate(puzzle);
+    }
+}
@@ -0,0 +1,46 @@
+package de.karstenkoehler.bridges.benchmark;
+
+import de.karstenkoehler.bridges.io.validator.DefaultValidator;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.PuzzleSpecification;
+import de.karstenkoehler.bridges.model.generator.Generator;
+import de.karstenkoehler.bridges.model.generator.GeneratorImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many puzzles per second the generator creates for square puzzles of different sizes. Each
+ * puzzle gets the maximum number of islands allowed by {@link PuzzleSpecification}. The seeds cycle through a
+ * fixed corpus, so that every run generates the same puzzles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+    private static final long SEED = 20180501L;
+    private static final int CORPUS_SIZE = 64;
+
+    @Param({"5", "10", "15", "20", "25"})
+    public int size;
+
+    private Generator generator;
+    private PuzzleSpecification spec;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        this.generator = new GeneratorImpl(new DefaultValidator());
+        this.spec = PuzzleSpecification.withSpecs(false, size, size, size * size / 5).withSeed(SEED);
+    }
+
+    @Benchmark
+    public BridgesPuzzle generate() {
+        PuzzleSpecification current = this.spec.derive(this.next);
+        this.next = (this.next + 1) % CORPUS_SIZE;
+        return this.generator.generate(current);
+    }
+}
@@ -0,0 +1,43 @@
+package de.karstenkoehler.bridges.benchmark;
+
+import de.karstenkoehler.bridges.io.parser.ParseException;
+import de.karstenkoehler.bridges.io.parser.TokenConsumingParser;
+import de.karstenkoehler.bridges.io.parser.token.CharTokenizer;
+import de.karstenkoehler.bridges.io.parser.token.TokenizerImpl;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many puzzle files per second can be tokenized and parsed. The file content is read once
+ * during setup, so no I/O is included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"bsp_5x5.bgs", "bsp_14x14.bgs", "bsp_25x25.bgs", "bsp_25x25.sol.bgs"})
+    public String file;
+
+    private String content;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.content = PuzzleResources.read(file);
+    }
+
+    @Benchmark
+    public BridgesPuzzle parseWithTokenizerImpl() throws ParseException {
+        return new TokenConsumingParser(new TokenizerImpl(this.content)).parse();
+    }
+
+    @Benchmark
+    public BridgesPuzzle parseWithCharTokenizer() throws ParseException {
+        return new TokenConsumingParser(new CharTokenizer(this.content)).parse();
+    }
+}
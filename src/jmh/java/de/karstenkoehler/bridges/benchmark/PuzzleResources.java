@@ -0,0 +1,58 @@
+package de.karstenkoehler.bridges.benchmark;
+
+import de.karstenkoehler.bridges.io.parser.ParseException;
+import de.karstenkoehler.bridges.io.parser.TokenConsumingParser;
+import de.karstenkoehler.bridges.io.parser.token.CharTokenizer;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads the example puzzles from the <code>data</code> directory of the classpath, so that the benchmarks
+ * do not depend on the working directory.
+ */
+final class PuzzleResources {
+
+    private PuzzleResources() {
+    }
+
+    /**
+     * Reads the content of the given puzzle file into a string.
+     *
+     * @param name the name of the file in the data directory
+     * @return the content of the file
+     * @throws IOException if the file does not exist or could not be read
+     */
+    static String read(String name) throws IOException {
+        try (InputStream in = PuzzleResources.class.getResourceAsStream("/data/" + name)) {
+            if (in == null) {
+                throw new IOException("puzzle not found: " + name);
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Reads and parses the given puzzle file. The returned puzzle is fully initialized.
+     *
+     * @param name the name of the file in the data directory
+     * @return the puzzle specified in the file
+     * @throws IOException    if the file does not exist or could not be read
+     * @throws ParseException if the file content had syntactic errors
+     */
+    static BridgesPuzzle load(String name) throws IOException, ParseException {
+        BridgesPuzzle puzzle = new TokenConsumingParser(new CharTokenizer(read(name))).parse();
+        puzzle.fillMissingConnections();
+        return puzzle;
+    }
+}
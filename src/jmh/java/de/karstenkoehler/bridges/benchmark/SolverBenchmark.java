@@ -0,0 +1,146 @@
+package de.karstenkoehler.bridges.benchmark;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.solver.BacktrackingSolver;
+import de.karstenkoehler.bridges.model.solver.DifficultyRater;
+import de.karstenkoehler.bridges.model.solver.DifficultyRating;
+import de.karstenkoehler.bridges.model.solver.ParallelBacktrackingSolver;
+import de.karstenkoehler.bridges.model.solver.SafeBridge;
+import de.karstenkoehler.bridges.model.solver.SolutionCounter;
+import de.karstenkoehler.bridges.model.solver.Solver;
+import de.karstenkoehler.bridges.model.solver.SolverImpl;
+import de.karstenkoehler.bridges.model.solver.SolvingSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many complete solve runs per second the solvers achieve on the example puzzles. Each run starts
+ * from an empty puzzle, so the cost of {@link BridgesPuzzle#restart()} is included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"bsp_5x5.bgs", "bsp_8x8.bgs", "bsp_14x14.bgs", "bsp_25x25.bgs"})
+    public String file;
+
+    private final Solver solver = new SolverImpl();
+    private final BacktrackingSolver backtrackingSolver = new BacktrackingSolver();
+    private final BacktrackingSolver parallelSolver = new ParallelBacktrackingSolver();
+    private final SolutionCounter solutionCounter = new SolutionCounter();
+    private final DifficultyRater difficultyRater = new DifficultyRater();
+    private BridgesPuzzle puzzle;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.puzzle = PuzzleResources.load(file);
+    }
+
+    /**
+     * Builds safe bridges with {@link SolverImpl} until no more safe bridges are found.
+     *
+     * @return the number of bridges built
+     */
+    @Benchmark
+    public int nextSafeBridgeLoop() {
+        this.puzzle.restart();
+
+        int built = 0;
+        Connection next;
+        while ((next = solver.nextSafeBridge(this.puzzle)) != null) {
+            next.addBridge();
+            built++;
+        }
+        return built;
+    }
+
+    /**
+     * Builds safe bridges with a {@link SolvingSession} of {@link SolverImpl}, which only re-examines islands
+     * next to the bridges built before.
+     *
+     * @return the number of bridges built
+     */
+    @Benchmark
+    public int sessionLoop() {
+        this.puzzle.restart();
+
+        SolvingSession session = solver.startSession(this.puzzle);
+        int built = 0;
+        Connection next;
+        while ((next = session.nextSafeBridge()) != null) {
+            next.addBridge();
+            built++;
+        }
+        return built;
+    }
+
+    /**
+     * Builds safe bridges with {@link SolverImpl#allSafeBridges(BridgesPuzzle)}, applying a whole deduction round
+     * at once, until no more safe bridges are found.
+     *
+     * @return the number of bridges built
+     */
+    @Benchmark
+    public int allSafeBridgesRounds() {
+        this.puzzle.restart();
+
+        int built = 0;
+        List<SafeBridge> round;
+        while (!(round = solver.allSafeBridges(this.puzzle)).isEmpty()) {
+            for (SafeBridge safe : round) {
+                safe.apply();
+                built += safe.getCount();
+            }
+        }
+        return built;
+    }
+
+    /**
+     * Solves the puzzle completely with {@link BacktrackingSolver}.
+     *
+     * @return true if the puzzle was solved
+     */
+    @Benchmark
+    public boolean backtrackingSolve() {
+        this.puzzle.restart();
+        return backtrackingSolver.solve(this.puzzle);
+    }
+
+    /**
+     * Solves the puzzle completely with {@link ParallelBacktrackingSolver} in the common pool.
+     *
+     * @return true if the puzzle was solved
+     */
+    @Benchmark
+    public boolean parallelBacktrackingSolve() {
+        this.puzzle.restart();
+        return parallelSolver.solve(this.puzzle);
+    }
+
+    /**
+     * Checks the puzzle for a unique solution with {@link SolutionCounter}.
+     *
+     * @return the number of solutions, at most two
+     */
+    @Benchmark
+    public int countSolutions() {
+        return solutionCounter.countSolutions(this.puzzle);
+    }
+
+    /**
+     * Rates the difficulty of the puzzle with {@link DifficultyRater}.
+     *
+     * @return the rating
+     */
+    @Benchmark
+    public DifficultyRating rateDifficulty() {
+        return difficultyRater.rate(this.puzzle);
+    }
+}
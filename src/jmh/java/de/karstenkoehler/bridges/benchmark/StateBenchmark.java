@@ -0,0 +1,48 @@
+package de.karstenkoehler.bridges.benchmark;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many state evaluations per second {@link BridgesPuzzle#getState()} achieves, both for empty
+ * and for solved puzzles. Repeated queries hit the cached state, so {@link #changeAndGetState()} additionally
+ * measures a query right after a bridge changed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StateBenchmark {
+
+    @Param({"bsp_5x5.bgs", "bsp_5x5.sol.bgs", "bsp_25x25.bgs", "bsp_25x25.sol.bgs"})
+    public String file;
+
+    private BridgesPuzzle puzzle;
+    private Connection connection;
+    private int originalCount;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.puzzle = PuzzleResources.load(file);
+        this.connection = this.puzzle.getConnections().get(this.puzzle.getConnections().size() / 2);
+        this.originalCount = this.connection.getBridgeCount();
+    }
+
+    @Benchmark
+    public PuzzleState getState() {
+        return this.puzzle.getState();
+    }
+
+    @Benchmark
+    public PuzzleState changeAndGetState() {
+        int count = this.connection.getBridgeCount() == this.originalCount ? (this.originalCount + 1) % 3 : this.originalCount;
+        this.connection.setBridgeCount(count);
+        return this.puzzle.getState();
+    }
+}
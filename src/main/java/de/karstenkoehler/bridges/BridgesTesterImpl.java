@@ -13,6 +13,7 @@ import de.karstenkoehler.bridges.model.generator.Generator;
 import de.karstenkoehler.bridges.model.generator.GeneratorImpl;
 import de.karstenkoehler.bridges.model.solver.Solver;
 import de.karstenkoehler.bridges.model.solver.SolverImpl;
+import de.karstenkoehler.bridges.model.solver.SolvingSession;
 
 import java.io.File;
 import java.io.IOException;
@@ -64,12 +65,13 @@ public class BridgesTesterImpl implements BridgesTester {
             BridgesPuzzle puzzle = reader.readFile(inFile);
             puzzle.fillMissingConnections();
 
+            SolvingSession session = solver.startSession(puzzle);
             while (true) {
-                Connection next = solver.nextSafeBridge(puzzle);
+                Connection next = session.nextSafeBridge();
                 if (next == null) {
                     break;
                 }
-                next.setBridgeCount(next.getBridgeCount() + 1);
+                puzzle.addBridge(next);
             }
 
             writer.writeFile(outFile, puzzle);
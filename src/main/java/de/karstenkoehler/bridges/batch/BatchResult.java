@@ -0,0 +1,115 @@
+package de.karstenkoehler.bridges.batch;
+
+import de.karstenkoehler.bridges.model.solver.SolverStatistics;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of solving a single puzzle file in batch mode.
+ */
+public class BatchResult {
+    /**
+     * This enum contains all outcomes a puzzle file can have.
+     */
+    public enum Status {
+        /**
+         * The puzzle was solved and the solution was written.
+         */
+        SOLVED,
+        /**
+         * The puzzle could not be solved. The partial solution was written anyway.
+         */
+        UNSOLVED,
+        /**
+         * The file does not contain a valid puzzle.
+         */
+        INVALID,
+        /**
+         * The file could not be read or the solution could not be written.
+         */
+        FAILED,
+        /**
+         * The solution file already exists and was not overwritten.
+         */
+        SKIPPED
+    }
+
+    private final Path input;
+    private final Path output;
+    private final Status status;
+    private final long solveNanos;
+    private final long totalNanos;
+    private final String message;
+    private final SolverStatistics statistics;
+
+    BatchResult(Path input, Path output, Status status, long solveNanos, long totalNanos, String message, SolverStatistics statistics) {
+        this.input = input;
+        this.output = output;
+        this.status = status;
+        this.solveNanos = solveNanos;
+        this.totalNanos = totalNanos;
+        this.message = message;
+        this.statistics = statistics;
+    }
+
+    public Path getInput() {
+        return input;
+    }
+
+    public Path getOutput() {
+        return output;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the time spent in the solver, without reading and writing the files.
+     *
+     * @return the solve time in nanoseconds
+     */
+    public long getSolveNanos() {
+        return solveNanos;
+    }
+
+    /**
+     * Returns the time spent for the whole file, including reading and writing.
+     *
+     * @return the total time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the error message for invalid and failed files.
+     *
+     * @return the error message, or an empty string if there was no error
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the statistics of the solver, if they were collected for this file.
+     *
+     * @return the solver statistics, or null if none were collected
+     */
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        String line = String.format("%-8s %10.3f ms %10.3f ms  %s", status,
+                solveNanos / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                totalNanos / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                input);
+        if (!message.isEmpty()) {
+            line = line + "  (" + message + ")";
+        }
+        return statistics == null ? line : line + System.lineSeparator() + "         " + statistics;
+    }
+}
@@ -0,0 +1,178 @@
+package de.karstenkoehler.bridges.batch;
+
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import de.karstenkoehler.bridges.io.BridgesFileWriter;
+import de.karstenkoehler.bridges.io.parser.ParseException;
+import de.karstenkoehler.bridges.io.validator.ValidateException;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import de.karstenkoehler.bridges.model.solver.BacktrackingSolver;
+import de.karstenkoehler.bridges.model.solver.SafeBridge;
+import de.karstenkoehler.bridges.model.solver.Solver;
+import de.karstenkoehler.bridges.model.solver.SolverImpl;
+import de.karstenkoehler.bridges.model.solver.SolverStatistics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Solves many puzzle files in parallel without any user interface. Every file is read, solved and written
+ * independently, so errors in one file do not affect the others. The solution of <code>name.bgs</code> is
+ * written to <code>name.sol.bgs</code>, either next to the puzzle or into a separate output directory.
+ * <p>
+ * By default the puzzles are solved completely with a {@link BacktrackingSolver}. Alternatively only the safe
+ * bridges found by {@link SolverImpl} are built, like the {@link de.karstenkoehler.bridges.BridgesTesterImpl}
+ * does. Only in this mode {@link SolverStatistics} can be collected for every puzzle.
+ */
+public class BatchSolver {
+    static final String PUZZLE_EXTENSION = ".bgs";
+    static final String SOLUTION_EXTENSION = ".sol.bgs";
+
+    private final boolean safeOnly;
+    private final boolean statistics;
+    private final boolean overwrite;
+    private final Path outputDirectory;
+
+    private final BridgesFileReader reader = new BridgesFileReader();
+    private final BridgesFileWriter writer = new BridgesFileWriter();
+    private final BacktrackingSolver completeSolver = new BacktrackingSolver();
+    private final Solver safeSolver = new SolverImpl();
+
+    /**
+     * @param safeOnly        true to only build safe bridges, false to solve the puzzles completely
+     * @param overwrite       true to overwrite existing solution files, false to skip those puzzles
+     * @param outputDirectory the directory to write the solutions to, or null to write them next to the puzzles
+     */
+    public BatchSolver(boolean safeOnly, boolean overwrite, Path outputDirectory) {
+        this(safeOnly, false, overwrite, outputDirectory);
+    }
+
+    /**
+     * @param safeOnly        true to only build safe bridges, false to solve the puzzles completely
+     * @param statistics      true to collect solver statistics for every puzzle, only possible with safeOnly
+     * @param overwrite       true to overwrite existing solution files, false to skip those puzzles
+     * @param outputDirectory the directory to write the solutions to, or null to write them next to the puzzles
+     */
+    public BatchSolver(boolean safeOnly, boolean statistics, boolean overwrite, Path outputDirectory) {
+        if (statistics && !safeOnly) {
+            throw new IllegalArgumentException("statistics are only collected when building safe bridges");
+        }
+        this.safeOnly = safeOnly;
+        this.statistics = statistics;
+        this.overwrite = overwrite;
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * Solves all given puzzle files on a fork join pool with the given parallelism. The listener is called
+     * as soon as a file is finished, possibly from several threads at the same time.
+     *
+     * @param files       the puzzle files to solve
+     * @param parallelism the number of threads to use
+     * @param listener    receives the result of every file when it is finished
+     * @return the results of all files, in the same order as the files
+     * @throws InterruptedException if the calling thread was interrupted while waiting for the results
+     */
+    public List<BatchResult> solveAll(List<Path> files, int parallelism, Consumer<BatchResult> listener) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Callable<BatchResult>> tasks = new ArrayList<>(files.size());
+            for (Path file : files) {
+                tasks.add(() -> {
+                    BatchResult result = solve(file);
+                    listener.accept(result);
+                    return result;
+                });
+            }
+
+            List<BatchResult> results = new ArrayList<>(files.size());
+            for (Future<BatchResult> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("solving a puzzle failed unexpectedly", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads, solves and writes a single puzzle file. Errors are not thrown, but reported in the result. This
+     * includes unexpected exceptions and stack overflows while solving, which are reported as failures.
+     *
+     * @param file the puzzle file to solve
+     * @return the outcome for the file
+     */
+    public BatchResult solve(Path file) {
+        long start = System.nanoTime();
+        Path output = solutionPath(file);
+
+        if (!overwrite && Files.exists(output)) {
+            return new BatchResult(file, output, BatchResult.Status.SKIPPED, 0, System.nanoTime() - start, "solution file already exists", null);
+        }
+
+        try {
+            BridgesPuzzle puzzle = reader.readFile(file.toFile());
+
+            SolverStatistics solverStatistics = statistics ? new SolverStatistics() : null;
+            long solveStart = System.nanoTime();
+            boolean solved = solve(puzzle, solverStatistics);
+            long solveNanos = System.nanoTime() - solveStart;
+
+            writer.writeFile(output.toFile(), puzzle);
+
+            BatchResult.Status status = solved ? BatchResult.Status.SOLVED : BatchResult.Status.UNSOLVED;
+            return new BatchResult(file, output, status, solveNanos, System.nanoTime() - start, "", solverStatistics);
+        } catch (ParseException | ValidateException e) {
+            return new BatchResult(file, output, BatchResult.Status.INVALID, 0, System.nanoTime() - start, e.getMessage(), null);
+        } catch (IOException | RuntimeException | StackOverflowError e) {
+            // a puzzle that crashes the solver must not take down the rest of the batch
+            return new BatchResult(file, output, BatchResult.Status.FAILED, 0, System.nanoTime() - start, e.toString(), null);
+        }
+    }
+
+    /**
+     * Builds bridges in the puzzle with the configured solver.
+     *
+     * @param puzzle     the puzzle to solve
+     * @param statistics the statistics to record the work of the safe solver to, or null
+     * @return true if the puzzle is solved afterwards
+     */
+    private boolean solve(BridgesPuzzle puzzle, SolverStatistics statistics) {
+        if (!safeOnly) {
+            return completeSolver.solve(puzzle);
+        }
+
+        Solver solver = statistics == null ? safeSolver : new SolverImpl(statistics);
+        List<SafeBridge> round;
+        while (!(round = solver.allSafeBridges(puzzle)).isEmpty()) {
+            round.forEach(SafeBridge::apply);
+        }
+        return puzzle.getState() == PuzzleState.SOLVED;
+    }
+
+    /**
+     * Returns the path of the solution file for the given puzzle file.
+     *
+     * @param file the puzzle file
+     * @return the path to write the solution to
+     */
+    Path solutionPath(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(PUZZLE_EXTENSION)) {
+            name = name.substring(0, name.length() - PUZZLE_EXTENSION.length());
+        }
+        name = name + SOLUTION_EXTENSION;
+
+        return outputDirectory == null ? file.resolveSibling(name) : outputDirectory.resolve(name);
+    }
+}
@@ -0,0 +1,135 @@
+package de.karstenkoehler.bridges.batch;
+
+import de.karstenkoehler.bridges.model.solver.SolverStatistics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless entry point for solving many puzzles at once. In contrast to
+ * {@link de.karstenkoehler.bridges.Main_Koehler_Karsten} no JavaFX runtime is started.
+ * <p>
+ * Usage: <code>BatchSolverMain [options] &lt;file|directory|glob&gt;...</code>
+ * <ul>
+ * <li><code>-t, --threads &lt;n&gt;</code>: number of worker threads, defaults to the number of processors</li>
+ * <li><code>-o, --output &lt;dir&gt;</code>: directory for the solution files, defaults to the puzzle directory</li>
+ * <li><code>--overwrite</code>: overwrite existing solution files instead of skipping the puzzle</li>
+ * <li><code>--safe-only</code>: only build safe bridges instead of solving the puzzles completely</li>
+ * <li><code>--stats</code>: print solver statistics for every puzzle and in the summary, requires <code>--safe-only</code></li>
+ * </ul>
+ * A line with status and timings is printed for every puzzle as soon as it is finished, followed by a summary.
+ * The exit code is 0 if all puzzles were solved, 1 if at least one was not and 2 for invalid arguments.
+ */
+public class BatchSolverMain {
+    private static final int EXIT_UNSOLVED = 1;
+    private static final int EXIT_USAGE = 2;
+
+    public static void main(String[] args) throws InterruptedException {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        Path output = null;
+        boolean overwrite = false;
+        boolean safeOnly = false;
+        boolean statistics = false;
+        List<String> inputs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-t":
+                    case "--threads":
+                        parallelism = Integer.parseInt(argument(args, ++i));
+                        if (parallelism <= 0) {
+                            throw new IllegalArgumentException("number of threads must be positive");
+                        }
+                        break;
+                    case "-o":
+                    case "--output":
+                        output = Paths.get(argument(args, ++i));
+                        break;
+                    case "--overwrite":
+                        overwrite = true;
+                        break;
+                    case "--safe-only":
+                        safeOnly = true;
+                        break;
+                    case "--stats":
+                        statistics = true;
+                        break;
+                    default:
+                        inputs.add(args[i]);
+                }
+            }
+            if (inputs.isEmpty()) {
+                throw new IllegalArgumentException("no puzzle files given");
+            }
+            if (statistics && !safeOnly) {
+                throw new IllegalArgumentException("--stats requires --safe-only");
+            }
+        } catch (IllegalArgumentException e) {
+            usage(e.getMessage());
+            return;
+        }
+
+        List<Path> files;
+        try {
+            files = PuzzleFiles.collect(inputs);
+            if (output != null) {
+                Files.createDirectories(output);
+            }
+        } catch (IOException e) {
+            usage(e.getMessage());
+            return;
+        }
+
+        PrintStream out = System.out;
+        long start = System.nanoTime();
+        List<BatchResult> results = new BatchSolver(safeOnly, statistics, overwrite, output).solveAll(files, parallelism, out::println);
+        long elapsed = System.nanoTime() - start;
+
+        Map<BatchResult.Status, Integer> counts = new EnumMap<>(BatchResult.Status.class);
+        long solveNanos = 0;
+        SolverStatistics total = new SolverStatistics();
+        for (BatchResult result : results) {
+            counts.merge(result.getStatus(), 1, Integer::sum);
+            solveNanos += result.getSolveNanos();
+            if (result.getStatistics() != null) {
+                total.add(result.getStatistics());
+            }
+        }
+
+        out.println();
+        out.printf("%d puzzles in %.3f s on %d threads, %.3f s spent solving%n", results.size(),
+                elapsed / (double) TimeUnit.SECONDS.toNanos(1), parallelism, solveNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        for (BatchResult.Status status : BatchResult.Status.values()) {
+            out.printf("%-8s %d%n", status, counts.getOrDefault(status, 0));
+        }
+        if (statistics) {
+            out.println(total);
+        }
+
+        if (counts.getOrDefault(BatchResult.Status.SOLVED, 0) != results.size()) {
+            System.exit(EXIT_UNSOLVED);
+        }
+    }
+
+    private static String argument(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("usage: BatchSolverMain [-t threads] [-o output-dir] [--overwrite] [--safe-only] [--stats] <file|directory|glob>...");
+        System.exit(EXIT_USAGE);
+    }
+}
@@ -0,0 +1,89 @@
+package de.karstenkoehler.bridges.batch;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the command line arguments of the batch solver to puzzle files. An argument can be a single file,
+ * a directory that is searched recursively for <code>.bgs</code> files, or a glob pattern like
+ * <code>puzzles/**&#47;*.bgs</code>. Solution files (<code>.sol.bgs</code>) are never treated as puzzles.
+ */
+final class PuzzleFiles {
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private PuzzleFiles() {
+    }
+
+    /**
+     * Collects the puzzle files for all given arguments. The files of each argument are sorted by path.
+     *
+     * @param arguments the files, directories and glob patterns
+     * @return the puzzle files
+     * @throws IOException if a directory could not be searched or an argument matches nothing
+     */
+    static List<Path> collect(List<String> arguments) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String argument : arguments) {
+            List<Path> matches = collect(argument);
+            if (matches.isEmpty()) {
+                throw new IOException("no puzzle files found for " + argument);
+            }
+            files.addAll(matches);
+        }
+        return files;
+    }
+
+    private static List<Path> collect(String argument) throws IOException {
+        int glob = firstGlobCharacter(argument);
+        if (glob < 0) {
+            Path path = Paths.get(argument);
+            if (Files.isDirectory(path)) {
+                return find(path, file -> true);
+            }
+            return Files.isRegularFile(path) ? Collections.singletonList(path) : Collections.emptyList();
+        }
+
+        int separator = Math.max(argument.lastIndexOf('/', glob), argument.lastIndexOf('\\', glob));
+        Path base = Paths.get(separator < 0 ? "." : argument.substring(0, separator + 1));
+        if (!Files.isDirectory(base)) {
+            return Collections.emptyList();
+        }
+
+        String pattern = separator < 0 ? base.resolve(argument).toString() : argument;
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        return find(base, matcher);
+    }
+
+    private static List<Path> find(Path directory, PathMatcher matcher) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(PuzzleFiles::isPuzzleFile)
+                    .filter(matcher::matches)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isPuzzleFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(BatchSolver.PUZZLE_EXTENSION) && !name.endsWith(BatchSolver.SOLUTION_EXTENSION);
+    }
+
+    private static int firstGlobCharacter(String argument) {
+        for (int i = 0; i < argument.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(argument.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -3,7 +3,8 @@ package de.karstenkoehler.bridges.io;
 import de.karstenkoehler.bridges.io.parser.ParseException;
 import de.karstenkoehler.bridges.io.parser.Parser;
 import de.karstenkoehler.bridges.io.parser.TokenConsumingParser;
-import de.karstenkoehler.bridges.io.parser.token.TokenizerImpl;
+import de.karstenkoehler.bridges.io.parser.token.CharTokenizer;
+import de.karstenkoehler.bridges.io.parser.token.Tokenizer;
 import de.karstenkoehler.bridges.io.validator.DefaultValidator;
 import de.karstenkoehler.bridges.io.validator.ValidateException;
 import de.karstenkoehler.bridges.io.validator.Validator;
@@ -11,13 +12,29 @@ import de.karstenkoehler.bridges.model.BridgesPuzzle;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
 
 /**
- * A bridges file reader can read puzzles from the hard drive. Therefore it uses instances of {@link TokenizerImpl}
+ * A bridges file reader can read puzzles from the hard drive. Therefore it uses instances of {@link CharTokenizer}
  * and {@link TokenConsumingParser}.
+ * <p>
+ * Apart from files, puzzles can be read from streams, channels, readers and in-memory buffers. Except for buffers,
+ * the input is streamed into the tokenizer, so parsing starts before the input has been read completely and
+ * the memory usage does not depend on the size of the input. Bytes are decoded with the default charset of the
+ * platform. Input that is not valid in this charset is reported as an {@link IOException} by every method, instead
+ * of being replaced silently.
  */
 public class BridgesFileReader {
 
@@ -32,38 +49,101 @@ public class BridgesFileReader {
      * @throws IOException       if there where issues reading the file
      */
     public BridgesPuzzle readFile(File file) throws ParseException, ValidateException, IOException {
-        BridgesPuzzle puzzle = readAndParse(file);
-        puzzle.fillMissingConnections();
-        return puzzle;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return read(channel);
+        }
     }
 
     /**
-     * Reads, parses and validates the puzzle specified in the file.
+     * Generates a {@link BridgesPuzzle} from the bytes of a channel. The channel is read until its end, but
+     * not closed.
      *
-     * @param file the file to read from
-     * @return the puzzle specified in the file
-     * @throws ParseException    if the file content had syntactic errors
-     * @throws ValidateException if the file content had semantic errors
-     * @throws IOException       if there where issues reading the file
+     * @param channel the channel to read from
+     * @return the puzzle specified in the channel
+     * @throws ParseException    if the content had syntactic errors
+     * @throws ValidateException if the content had semantic errors
+     * @throws IOException       if there where issues reading the content or it is not valid in the default charset
      */
-    private BridgesPuzzle readAndParse(File file) throws IOException, ParseException, ValidateException {
-        Validator validator = new DefaultValidator();
+    public BridgesPuzzle read(ReadableByteChannel channel) throws ParseException, ValidateException, IOException {
+        return read(Channels.newReader(channel, decoder(), -1));
+    }
 
-        Parser parser = new TokenConsumingParser(new TokenizerImpl(readFileToString(file.getAbsolutePath())));
-        BridgesPuzzle puzzle = parser.parse();
-        validator.validate(puzzle);
+    /**
+     * Generates a {@link BridgesPuzzle} from the bytes of a stream, for example {@link System#in}. The stream is
+     * read until its end, but not closed.
+     *
+     * @param in the stream to read from
+     * @return the puzzle specified in the stream
+     * @throws ParseException    if the content had syntactic errors
+     * @throws ValidateException if the content had semantic errors
+     * @throws IOException       if there where issues reading the content or it is not valid in the default charset
+     */
+    public BridgesPuzzle read(InputStream in) throws ParseException, ValidateException, IOException {
+        return read(new InputStreamReader(in, decoder()));
+    }
 
-        return puzzle;
+    /**
+     * Generates a {@link BridgesPuzzle} from the characters of a reader. The reader is read until its end,
+     * but not closed. There is no need to wrap it into a buffered reader, since the tokenizer buffers on its own.
+     *
+     * @param reader the reader to read from
+     * @return the puzzle specified by the characters
+     * @throws ParseException    if the content had syntactic errors
+     * @throws ValidateException if the content had semantic errors
+     * @throws IOException       if there where issues reading the content
+     */
+    public BridgesPuzzle read(Reader reader) throws ParseException, ValidateException, IOException {
+        return parseAndValidate(new CharTokenizer(reader));
     }
 
     /**
-     * Reads the content of the given file into a string.
+     * Generates a {@link BridgesPuzzle} from the remaining bytes of an in-memory buffer. The position of the
+     * buffer is moved to its limit.
      *
-     * @param path the file to read from
-     * @return the content of the file
-     * @throws IOException if there where issues reading the file
+     * @param buffer the buffer to read from
+     * @return the puzzle specified in the buffer
+     * @throws ParseException    if the content had syntactic errors
+     * @throws ValidateException if the content had semantic errors
+     * @throws IOException       if the content is not valid in the default charset
      */
-    private static String readFileToString(String path) throws IOException {
-        return new String(Files.readAllBytes(Paths.get(path)), Charset.defaultCharset());
+    public BridgesPuzzle read(ByteBuffer buffer) throws ParseException, ValidateException, IOException {
+        CharBuffer chars = decoder().decode(buffer);
+        return parseAndValidate(new CharTokenizer(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining()));
+    }
+
+    /**
+     * Creates the decoder for all byte inputs. It reports malformed and unmappable input as an error.
+     *
+     * @return a new decoder for the default charset
+     */
+    private static CharsetDecoder decoder() {
+        return Charset.defaultCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+    }
+
+    /**
+     * Parses and validates the puzzle supplied by the tokenizer. The returned puzzle is fully initialized.
+     *
+     * @param tokenizer the tokenizer to read from
+     * @return the puzzle specified by the tokens
+     * @throws ParseException    if the content had syntactic errors
+     * @throws ValidateException if the content had semantic errors
+     * @throws IOException       if the tokenizer could not read its input
+     */
+    private BridgesPuzzle parseAndValidate(Tokenizer tokenizer) throws ParseException, ValidateException, IOException {
+        Validator validator = new DefaultValidator();
+
+        Parser parser = new TokenConsumingParser(tokenizer);
+        BridgesPuzzle puzzle;
+        try {
+            puzzle = parser.parse();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        validator.validate(puzzle);
+
+        puzzle.fillMissingConnections();
+        return puzzle;
     }
 }
@@ -1,21 +1,25 @@
 package de.karstenkoehler.bridges.io.parser;
 
+import de.karstenkoehler.bridges.io.parser.token.ScanningTokenizer;
 import de.karstenkoehler.bridges.io.parser.token.Token;
 import de.karstenkoehler.bridges.io.parser.token.Tokenizer;
 
 /**
  * A base class for reading tokens from a {@link Tokenizer}. It offers methods to peek, check and consume
  * the tokens supplied by the tokenizer.
+ * <p>
+ * Internally the tokens are read through a {@link ScanningTokenizer}, so that no token objects have to be
+ * created while parsing. Plain tokenizers are wrapped accordingly.
  */
 abstract class AbstractTokenParser {
-    private final Tokenizer tokenizer;
-    private Token current;
+    private final ScanningTokenizer tokenizer;
+    private Token.Type current;
 
     /**
      * @param tokenizer the tokenizer to read the tokens from
      */
     AbstractTokenParser(Tokenizer tokenizer) {
-        this.tokenizer = tokenizer;
+        this.tokenizer = tokenizer instanceof ScanningTokenizer ? (ScanningTokenizer) tokenizer : new TokenAdapter(tokenizer);
     }
 
     /**
@@ -25,22 +29,87 @@ abstract class AbstractTokenParser {
      * @throws ParseException if the token does not match the given type
      */
     void consume(Token.Type type) throws ParseException {
-        if (this.token().getType() != type) {
-            throw new ParseException(String.format("Found unexpected token %s, expected: %s", current.getType(), type));
+        if (this.type() != type) {
+            throw new ParseException(String.format("Found unexpected token %s, expected: %s", current, type));
         }
-        this.current = this.tokenizer.next();
+        this.current = this.tokenizer.advance();
     }
 
     /**
-     * Peeks the current token. Multiple successive calls will return the same token as long as it has not been consumed.
+     * Peeks the type of the current token. Multiple successive calls will return the same type as long as the
+     * token has not been consumed.
      *
-     * @return the current token to process
+     * @return the type of the current token to process
      * @throws ParseException if the next token could not be created
      */
-    Token token() throws ParseException {
+    Token.Type type() throws ParseException {
         if (this.current == null) {
-            this.current = this.tokenizer.next();
+            this.current = this.tokenizer.advance();
         }
         return this.current;
     }
+
+    /**
+     * Consumes the token if it is a number token.
+     *
+     * @return the value of the consumed number token
+     * @throws ParseException if the token is not a number token
+     */
+    int consumeNumber() throws ParseException {
+        if (this.type() != Token.Type.NUMBER) {
+            consume(Token.Type.NUMBER);
+        }
+        int value = this.tokenizer.intValue();
+        this.current = this.tokenizer.advance();
+        return value;
+    }
+
+    /**
+     * Consumes the token if it is a boolean token.
+     *
+     * @return the value of the consumed boolean token
+     * @throws ParseException if the token is not a boolean token
+     */
+    boolean consumeBool() throws ParseException {
+        if (this.type() != Token.Type.BOOL) {
+            consume(Token.Type.BOOL);
+        }
+        boolean value = this.tokenizer.boolValue();
+        this.current = this.tokenizer.advance();
+        return value;
+    }
+
+    /**
+     * Offers a plain {@link Tokenizer} as {@link ScanningTokenizer} by keeping the last token it returned.
+     */
+    private static class TokenAdapter implements ScanningTokenizer {
+        private final Tokenizer tokenizer;
+        private Token current;
+
+        TokenAdapter(Tokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
+
+        @Override
+        public Token.Type advance() throws ParseException {
+            this.current = this.tokenizer.next();
+            return this.current == null ? Token.Type.EOF : this.current.getType();
+        }
+
+        @Override
+        public int intValue() {
+            return Integer.parseInt(this.current.getValue());
+        }
+
+        @Override
+        public boolean boolValue() {
+            return Boolean.parseBoolean(this.current.getValue());
+        }
+
+        @Override
+        public Token next() throws ParseException {
+            advance();
+            return this.current;
+        }
+    }
 }
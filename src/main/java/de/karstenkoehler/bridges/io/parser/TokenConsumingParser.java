@@ -57,11 +57,11 @@ public class TokenConsumingParser extends AbstractTokenParser implements Parser
     private void field() throws ParseException {
         consume(Token.Type.FIELD_SECTION);
 
-        this.width = readNumberToken();
+        this.width = consumeNumber();
         consume(Token.Type.X);
-        this.height = readNumberToken();
+        this.height = consumeNumber();
         consume(Token.Type.PIPE);
-        this.islandCount = readNumberToken();
+        this.islandCount = consumeNumber();
     }
 
     private void islands() throws ParseException {
@@ -75,11 +75,11 @@ public class TokenConsumingParser extends AbstractTokenParser implements Parser
     private void island() throws ParseException {
         consume(Token.Type.OPEN_PARENTHESIS);
 
-        int x = readNumberToken();
+        int x = consumeNumber();
         consume(Token.Type.COMMA);
-        int y = readNumberToken();
+        int y = consumeNumber();
         consume(Token.Type.PIPE);
-        int bridges = readNumberToken();
+        int bridges = consumeNumber();
 
         int id = this.islands.size();
         this.islands.add(new Island(id, x, y, bridges));
@@ -88,12 +88,12 @@ public class TokenConsumingParser extends AbstractTokenParser implements Parser
     }
 
     private void bridges() throws ParseException {
-        if (token().getType() != Token.Type.BRIDGES_SECTION) {
+        if (type() != Token.Type.BRIDGES_SECTION) {
             return;
         }
 
         consume(Token.Type.BRIDGES_SECTION);
-        while (token().getType() == Token.Type.OPEN_PARENTHESIS) {
+        while (type() == Token.Type.OPEN_PARENTHESIS) {
             bridge();
         }
     }
@@ -101,11 +101,11 @@ public class TokenConsumingParser extends AbstractTokenParser implements Parser
     private void bridge() throws ParseException {
         consume(Token.Type.OPEN_PARENTHESIS);
 
-        int node1 = readNumberToken();
+        int node1 = consumeNumber();
         consume(Token.Type.COMMA);
-        int node2 = readNumberToken();
+        int node2 = consumeNumber();
         consume(Token.Type.PIPE);
-        int bridges = readBoolToken() ? 2 : 1; // double or single bridge
+        int bridges = consumeBool() ? 2 : 1; // double or single bridge
 
         if (node1 >= islandCount || node2 >= islandCount) {
             throw new ParseException("A bridge references unknown island.");
@@ -115,16 +115,4 @@ public class TokenConsumingParser extends AbstractTokenParser implements Parser
 
         consume(Token.Type.CLOSE_PARENTHESIS);
     }
-
-    private int readNumberToken() throws ParseException {
-        Token tk = token();
-        consume(Token.Type.NUMBER);
-        return Integer.parseInt(tk.getValue());
-    }
-
-    private boolean readBoolToken() throws ParseException {
-        Token tk = token();
-        consume(Token.Type.BOOL);
-        return Boolean.parseBoolean(tk.getValue());
-    }
 }
@@ -0,0 +1,316 @@
+package de.karstenkoehler.bridges.io.parser.token;
+
+import de.karstenkoehler.bridges.io.parser.ParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * A {@link ScanningTokenizer} that walks over a character array with an index. It recognizes the same tokens as
+ * {@link TokenizerImpl}, but does not create any objects while scanning: numbers are accumulated directly into an
+ * int and keywords are compared character by character.
+ * <p>
+ * The characters either come from an array that holds the whole input, or they are streamed from a {@link Reader}
+ * into a fixed size buffer that is refilled whenever it has been scanned completely. In the latter case the memory
+ * usage does not depend on the size of the input, and failures of the reader are rethrown as
+ * {@link UncheckedIOException}.
+ * <p>
+ * For every input to tokenize, a new instance of this class has to be instantiated.
+ */
+public class CharTokenizer implements ScanningTokenizer {
+    private static final Token FIELD = new Token("FIELD", Token.Type.FIELD_SECTION);
+    private static final Token ISLANDS = new Token("ISLANDS", Token.Type.ISLAND_SECTION);
+    private static final Token BRIDGES = new Token("BRIDGES", Token.Type.BRIDGES_SECTION);
+    private static final Token OPEN_PARENTHESIS = new Token("(", Token.Type.OPEN_PARENTHESIS);
+    private static final Token CLOSE_PARENTHESIS = new Token(")", Token.Type.CLOSE_PARENTHESIS);
+    private static final Token COMMA = new Token(",", Token.Type.COMMA);
+    private static final Token PIPE = new Token("|", Token.Type.PIPE);
+    private static final Token X = new Token("x", Token.Type.X);
+    private static final Token TRUE = new Token("true", Token.Type.BOOL);
+    private static final Token FALSE = new Token("false", Token.Type.BOOL);
+    private static final Token EOF = new Token("", Token.Type.EOF);
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Reader source;
+    private boolean exhausted;
+    private char[] chars;
+    private int limit;
+    private int pos;
+
+    private int start;
+    private int number;
+    private boolean bool;
+
+    /**
+     * @param input the characters to generate tokens from
+     */
+    public CharTokenizer(final CharSequence input) {
+        this(toCharArray(input));
+    }
+
+    /**
+     * @param input the characters to generate tokens from. The array is not copied, so it must not be modified
+     *              while tokenizing.
+     */
+    public CharTokenizer(final char[] input) {
+        this(input, 0, input.length);
+    }
+
+    /**
+     * @param input  the characters to generate tokens from. The array is not copied, so it must not be modified
+     *               while tokenizing.
+     * @param offset the index of the first character to tokenize
+     * @param length the number of characters to tokenize
+     */
+    public CharTokenizer(final char[] input, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > input.length) {
+            throw new IndexOutOfBoundsException(String.format("offset %d, length %d, size %d", offset, length, input.length));
+        }
+        this.source = null;
+        this.chars = input;
+        this.pos = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * @param source the reader to stream the characters from. The reader is not closed by the tokenizer.
+     */
+    public CharTokenizer(final Reader source) {
+        this(source, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param source     the reader to stream the characters from. The reader is not closed by the tokenizer.
+     * @param bufferSize the initial number of characters to buffer
+     */
+    public CharTokenizer(final Reader source, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("buffer size must be positive");
+        }
+        this.source = source;
+        this.chars = new char[bufferSize];
+        this.pos = 0;
+        this.limit = 0;
+    }
+
+    /**
+     * @see ScanningTokenizer#advance()
+     */
+    @Override
+    public Token.Type advance() throws ParseException {
+        while (available()) {
+            char current = chars[pos];
+            start = pos;
+
+            switch (current) {
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\u000B':
+                case '\f':
+                case '\r':
+                    pos++;
+                    break;
+                case '#':
+                    skipComment();
+                    break;
+                case '(':
+                    pos++;
+                    return Token.Type.OPEN_PARENTHESIS;
+                case ')':
+                    pos++;
+                    return Token.Type.CLOSE_PARENTHESIS;
+                case ',':
+                    pos++;
+                    return Token.Type.COMMA;
+                case '|':
+                    pos++;
+                    return Token.Type.PIPE;
+                case 'x':
+                    pos++;
+                    return Token.Type.X;
+                case 'F':
+                    consumeString("FIELD");
+                    return Token.Type.FIELD_SECTION;
+                case 'I':
+                    consumeString("ISLANDS");
+                    return Token.Type.ISLAND_SECTION;
+                case 'B':
+                    consumeString("BRIDGES");
+                    return Token.Type.BRIDGES_SECTION;
+                case 't':
+                    consumeString("true");
+                    bool = true;
+                    return Token.Type.BOOL;
+                case 'f':
+                    consumeString("false");
+                    bool = false;
+                    return Token.Type.BOOL;
+                default:
+                    if (isDigit(current)) {
+                        return numberToken();
+                    }
+                    throw new ParseException("Found unknown character '" + current + "'.");
+            }
+        }
+
+        start = pos;
+        return Token.Type.EOF;
+    }
+
+    /**
+     * @see ScanningTokenizer#intValue()
+     */
+    @Override
+    public int intValue() {
+        return number;
+    }
+
+    /**
+     * @see ScanningTokenizer#boolValue()
+     */
+    @Override
+    public boolean boolValue() {
+        return bool;
+    }
+
+    /**
+     * Creates a {@link Token} object for the next token. Apart from number tokens, the returned tokens are shared
+     * constants, so that only numbers need an allocation.
+     *
+     * @see Tokenizer#next()
+     */
+    @Override
+    public Token next() throws ParseException {
+        switch (advance()) {
+            case FIELD_SECTION:
+                return FIELD;
+            case ISLAND_SECTION:
+                return ISLANDS;
+            case BRIDGES_SECTION:
+                return BRIDGES;
+            case OPEN_PARENTHESIS:
+                return OPEN_PARENTHESIS;
+            case CLOSE_PARENTHESIS:
+                return CLOSE_PARENTHESIS;
+            case COMMA:
+                return COMMA;
+            case PIPE:
+                return PIPE;
+            case X:
+                return X;
+            case NUMBER:
+                return new Token(new String(chars, start, pos - start), Token.Type.NUMBER);
+            case BOOL:
+                return bool ? TRUE : FALSE;
+            default:
+                return EOF;
+        }
+    }
+
+    /**
+     * Reads a number token. A number token consists only of digits. The value is accumulated while reading.
+     *
+     * @return the number token type
+     * @throws ParseException if the number does not fit into an int
+     */
+    private Token.Type numberToken() throws ParseException {
+        int value = 0;
+        do {
+            int digit = chars[pos] - '0';
+            if (value > (Integer.MAX_VALUE - digit) / 10) {
+                throw new ParseException("Found number that is too large.");
+            }
+            value = value * 10 + digit;
+            pos++;
+        } while (available() && isDigit(chars[pos]));
+
+        number = value;
+        return Token.Type.NUMBER;
+    }
+
+    /**
+     * Consumes every character until it reaches a new line.
+     */
+    private void skipComment() {
+        pos++;
+        while (available() && chars[pos] != '\n' && chars[pos] != '\r') {
+            pos++;
+        }
+    }
+
+    /**
+     * Consumes the given keyword character by character.
+     *
+     * @param str the keyword to consume
+     * @throws ParseException if the keyword mismatched the next actual characters
+     */
+    private void consumeString(String str) throws ParseException {
+        for (int i = 0; i < str.length(); i++) {
+            if (!available()) {
+                throw new ParseException(String.format("expected: %s, found: end of input", str.charAt(i)));
+            }
+            if (chars[pos] != str.charAt(i)) {
+                throw new ParseException(String.format("expected: %s, found: %s", str.charAt(i), chars[pos]));
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * Checks if there is at least one more character to scan. If the buffer has been scanned completely and the
+     * characters are streamed from a reader, the buffer is refilled. The characters of the current token are kept,
+     * so that they are still available for {@link CharTokenizer#next()}.
+     *
+     * @return true if the character at the current position can be read
+     */
+    private boolean available() {
+        if (pos < limit) {
+            return true;
+        }
+        if (source == null || exhausted) {
+            return false;
+        }
+
+        int kept = limit - start;
+        if (kept == chars.length) {
+            chars = Arrays.copyOf(chars, chars.length * 2);
+        } else {
+            System.arraycopy(chars, start, chars, 0, kept);
+        }
+        pos -= start;
+        start = 0;
+        limit = kept;
+
+        try {
+            int read = source.read(chars, limit, chars.length - limit);
+            if (read < 0) {
+                exhausted = true;
+                return false;
+            }
+            limit += read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static char[] toCharArray(CharSequence input) {
+        if (input instanceof String) {
+            return ((String) input).toCharArray();
+        }
+
+        char[] chars = new char[input.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = input.charAt(i);
+        }
+        return chars;
+    }
+}
@@ -0,0 +1,35 @@
+package de.karstenkoehler.bridges.io.parser.token;
+
+import de.karstenkoehler.bridges.io.parser.ParseException;
+
+/**
+ * A tokenizer that does not need to create a {@link Token} object for every token it reads. The type of
+ * the current token is returned by {@link ScanningTokenizer#advance()}, its value can be read with the primitive
+ * getters until the next call of {@link ScanningTokenizer#advance()}.
+ */
+public interface ScanningTokenizer extends Tokenizer {
+    /**
+     * Moves ahead to the next token, that has not already been read.
+     * <p>
+     * If the whole input has been processed, {@link Token.Type#EOF} is returned. All subsequent calls to this
+     * method should return this type as well.
+     *
+     * @return the type of the next unread token
+     * @throws ParseException if the input contains unexpected characters and no valid token can be derived
+     */
+    Token.Type advance() throws ParseException;
+
+    /**
+     * Returns the value of the current token, if it is a {@link Token.Type#NUMBER} token.
+     *
+     * @return the value of the current number token
+     */
+    int intValue();
+
+    /**
+     * Returns the value of the current token, if it is a {@link Token.Type#BOOL} token.
+     *
+     * @return the value of the current boolean token
+     */
+    boolean boolValue();
+}
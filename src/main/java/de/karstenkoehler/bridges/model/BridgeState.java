@@ -0,0 +1,134 @@
+package de.karstenkoehler.bridges.model;
+
+import java.util.Arrays;
+
+/**
+ * The bridges of a puzzle as a compact vector with one byte per connection, detached from the {@link Connection}
+ * objects. All states of a puzzle share one immutable {@link PuzzleTopology}, so copying a state only copies two
+ * arrays. Copying into an existing state with {@link #copyFrom(BridgeState)} allocates nothing at all, which makes
+ * states suitable for snapshots during a search, while {@link #fork()} hands out independent states to other
+ * threads.
+ * <p>
+ * A single state is not thread safe.
+ */
+public final class BridgeState {
+    private final PuzzleTopology topology;
+    private final byte[] bridges;
+    private final int[] islandBridges;
+
+    /**
+     * Creates a new state without any bridges.
+     *
+     * @param topology the topology of the puzzle
+     */
+    public BridgeState(PuzzleTopology topology) {
+        this.topology = topology;
+        this.bridges = new byte[topology.connectionCount()];
+        this.islandBridges = new int[topology.islandCount()];
+    }
+
+    private BridgeState(BridgeState other) {
+        this.topology = other.topology;
+        this.bridges = other.bridges.clone();
+        this.islandBridges = other.islandBridges.clone();
+    }
+
+    /**
+     * Returns the topology this state belongs to.
+     *
+     * @return the topology of the puzzle
+     */
+    public PuzzleTopology getTopology() {
+        return this.topology;
+    }
+
+    /**
+     * Returns the number of bridges of the given connection.
+     *
+     * @param c the index of the connection
+     * @return the number of bridges
+     */
+    public int getBridgeCount(int c) {
+        return this.bridges[c];
+    }
+
+    /**
+     * Sets the number of bridges of the given connection.
+     *
+     * @param c     the index of the connection
+     * @param count the number of bridges, between 0 and 2
+     */
+    public void setBridgeCount(int c, int count) {
+        int delta = count - this.bridges[c];
+        this.bridges[c] = (byte) count;
+        this.islandBridges[this.topology.start(c)] += delta;
+        this.islandBridges[this.topology.end(c)] += delta;
+    }
+
+    /**
+     * Returns the remaining number of bridges to complete the given island.
+     *
+     * @param island the index of the island
+     * @return the remaining number of bridges
+     */
+    public int getRemainingBridgeCount(int island) {
+        return this.topology.required(island) - this.islandBridges[island];
+    }
+
+    /**
+     * Checks if adding a bridge to the given connection would result in a crossing.
+     *
+     * @param c the index of the connection
+     * @return true if any crossing connection holds bridges, false otherwise
+     */
+    public boolean causesCrossing(int c) {
+        for (int i = 0; i < this.topology.crossingCount(c); i++) {
+            if (this.bridges[this.topology.crossing(c, i)] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Overwrites this state with the bridges of the given state without allocating any memory.
+     *
+     * @param other a state of the same topology
+     */
+    public void copyFrom(BridgeState other) {
+        if (other.topology != this.topology) {
+            throw new IllegalArgumentException("states belong to different puzzles");
+        }
+        System.arraycopy(other.bridges, 0, this.bridges, 0, this.bridges.length);
+        System.arraycopy(other.islandBridges, 0, this.islandBridges, 0, this.islandBridges.length);
+    }
+
+    /**
+     * Creates an independent copy of this state sharing the same topology.
+     *
+     * @return the copy
+     */
+    public BridgeState fork() {
+        return new BridgeState(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BridgeState that = (BridgeState) o;
+        return topology == that.topology && Arrays.equals(bridges, that.bridges);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bridges);
+    }
+
+    @Override
+    public String toString() {
+        return "BridgeState{" +
+                "bridges=" + Arrays.toString(bridges) +
+                '}';
+    }
+}
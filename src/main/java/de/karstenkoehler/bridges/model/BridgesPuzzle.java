@@ -7,15 +7,37 @@ import java.util.*;
  * of {@link Island} acting as nodes and instances of {@link Connection} acting as edges.
  */
 public class BridgesPuzzle {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
     private final IslandStore islands;
     private final List<Connection> connections;
-    private final Map<Integer, Map<Direction, Connection>> bridgeConnections;
+    private int[] adjacency;
+    private int[] connectionStart;
+    private int[] connectionEnd;
+    private Connectivity connectivity;
     private final int width;
     private final int height;
+    private int[] bridgeCounts;
+    private int[][] crossings;
+    private int[] crossingBridges;
+    private boolean[] crossed;
+    private int crossingCount;
+    private int overfilledCount;
+    private int unsatisfiedCount;
+    private int modificationCount;
+    private int stateModificationCount;
+    private PuzzleState state;
+    private PuzzleTopology topology;
+    private final MoveJournal journal;
+    private boolean journaling;
 
     /**
      * Creates a new representation for a bridges puzzle. Make sure to call {@link BridgesPuzzle#fillMissingConnections()}
      * immediately after the constructor, so that the internal graph representation gets filled.
+     * <p>
+     * The puzzle is notified about every change of its islands and connections. An island may belong to several
+     * puzzles and notifies all of them. A connection only notifies a single puzzle, so connections that already
+     * belong to another puzzle are copied. Bridges built in one puzzle never change the other one.
      *
      * @param islands the islands of the puzzle
      * @param bridges the bridges of the puzzle
@@ -24,10 +46,35 @@ public class BridgesPuzzle {
      */
     public BridgesPuzzle(List<Island> islands, List<Connection> bridges, int width, int height) {
         this.islands = new IslandStore(islands);
-        this.connections = bridges;
+        this.connections = adoptConnections(bridges);
+        islands.forEach(island -> island.addPuzzle(this));
         this.width = width;
         this.height = height;
-        this.bridgeConnections = new HashMap<>();
+        this.journal = new MoveJournal();
+    }
+
+    /**
+     * Attaches the given connections to this puzzle. Connections that already belong to another puzzle are
+     * replaced by copies, since a connection notifies only a single puzzle about its changes.
+     *
+     * @param bridges the connections to adopt, may be null
+     * @return a new list of the adopted connections
+     */
+    private List<Connection> adoptConnections(List<Connection> bridges) {
+        List<Connection> adopted = new ArrayList<>(bridges == null ? 0 : bridges.size());
+        if (bridges == null) {
+            return adopted;
+        }
+
+        for (Connection connection : bridges) {
+            if (connection.getPuzzle() != null && connection.getPuzzle() != this) {
+                connection = new Connection(connection.getStartIsland(), connection.getEndIsland(),
+                        connection.getBridgeCount());
+            }
+            connection.setPuzzle(this);
+            adopted.add(connection);
+        }
+        return adopted;
     }
 
     /**
@@ -86,7 +133,8 @@ public class BridgesPuzzle {
      * @return the connection
      */
     public Connection getConnectedBridge(Island island, Direction direction) {
-        return this.bridgeConnections.get(island.getId()).get(direction);
+        int index = this.adjacency[this.islands.getIndex(island.getId()) * DIRECTIONS.length + direction.ordinal()];
+        return index < 0 ? null : this.connections.get(index);
     }
 
     /**
@@ -96,59 +144,302 @@ public class BridgesPuzzle {
      * @return the remaining number of bridges
      */
     public int getRemainingBridgeCount(Island island) {
-        int bridgeCount = 0;
-        for (Connection connection : this.bridgeConnections.get(island.getId()).values()) {
-            if (connection != null) {
-                bridgeCount += connection.getBridgeCount();
+        return island.getRequiredBridges() - this.bridgeCounts[island.getId()];
+    }
+
+    /**
+     * Is called by a {@link Connection} of this puzzle every time its bridge count changes. Updates the
+     * number of bridges attached to both islands of the connection.
+     *
+     * @param connection the changed connection
+     * @param oldCount   the bridge count before the change
+     */
+    void bridgeCountChanged(Connection connection, int oldCount) {
+        this.modificationCount++;
+        if (!this.journaling) {
+            // the journal can no longer be replayed on top of a change it does not know about
+            this.journal.clear();
+        }
+        if (this.bridgeCounts == null) {
+            return;
+        }
+
+        int delta = connection.getBridgeCount() - oldCount;
+        changeBridgeCount(connection.getStartIsland().getId(), delta);
+        changeBridgeCount(connection.getEndIsland().getId(), delta);
+
+        int index = connection.getIndex();
+        if ((oldCount > 0) != (connection.getBridgeCount() > 0)) {
+            if (this.connectivity != null && oldCount == 0) {
+                this.connectivity.bridgeAdded(index);
+            } else if (this.connectivity != null) {
+                this.connectivity.bridgeRemoved();
+            }
+
+            int crossingDelta = connection.getBridgeCount() > 0 ? 1 : -1;
+            for (int other : this.crossings[index]) {
+                this.crossingBridges[other] += crossingDelta;
+                updateValidity(other);
             }
         }
+        updateValidity(index);
+    }
+
+    /**
+     * Is called by an {@link Island} of this puzzle every time its number of required bridges changes. Updates
+     * the counts of over-filled and unsatisfied islands and discards the topology, which holds the old number.
+     * States taken before the change belong to the discarded topology and can no longer be restored.
+     *
+     * @param island   the changed island
+     * @param oldCount the number of required bridges before the change
+     */
+    void requiredBridgesChanged(Island island, int oldCount) {
+        this.modificationCount++;
+        this.topology = null;
+        if (this.bridgeCounts == null || this.islands.getById(island.getId()) != island) {
+            return;
+        }
+
+        countIsland(oldCount - this.bridgeCounts[island.getId()], -1);
+        countIsland(island, 1);
+    }
+
+    /**
+     * Marks the connection with the given index as invalid if it holds bridges and any of its crossing
+     * connections holds bridges too.
+     */
+    private void updateValidity(int index) {
+        Connection connection = this.connections.get(index);
+        boolean crossing = connection.getBridgeCount() > 0 && this.crossingBridges[index] > 0;
+        connection.setValid(!crossing);
+
+        if (crossing != this.crossed[index]) {
+            this.crossed[index] = crossing;
+            this.crossingCount += crossing ? 1 : -1;
+        }
+    }
+
+    /**
+     * Changes the number of bridges attached to the island with the given id and updates the counts of
+     * over-filled and unsatisfied islands.
+     */
+    private void changeBridgeCount(int id, int delta) {
+        Island island = this.islands.getById(id);
+        if (island != null) {
+            countIsland(island, -1);
+        }
+        this.bridgeCounts[id] += delta;
+        if (island != null) {
+            countIsland(island, 1);
+        }
+    }
 
-        return island.getRequiredBridges() - bridgeCount;
+    /**
+     * Adds the given island to the counts of over-filled and unsatisfied islands or removes it from them.
+     */
+    private void countIsland(Island island, int sign) {
+        countIsland(getRemainingBridgeCount(island), sign);
+    }
+
+    /**
+     * Adds an island with the given number of remaining bridges to the counts of over-filled and unsatisfied
+     * islands or removes it from them.
+     */
+    private void countIsland(int remaining, int sign) {
+        if (remaining < 0) {
+            this.overfilledCount += sign;
+        }
+        if (remaining != 0) {
+            this.unsatisfiedCount += sign;
+        }
     }
 
     /**
      * Identifies bridges that are crossing each other and marks them.
      */
     public void markInvalidBridges() {
-        this.connections.forEach(b -> b.setValid(true));
+        if (this.crossings == null) {
+            buildIndex();
+        }
 
-        for (Connection connection : this.connections) {
-            for (Connection other : this.connections) {
-                if (connection == other || connection.getBridgeCount() == 0 || other.getBridgeCount() == 0) {
-                    continue;
-                }
+        for (int i = 0; i < this.connections.size(); i++) {
+            updateValidity(i);
+        }
+    }
 
-                if (connection.isHorizontal() && other.isVertical()) {
-                    if (areConnectionsCrossing(connection, other)) {
-                        connection.setValid(false);
-                        other.setValid(false);
-                    }
-                }
+    /**
+     * Removes all bridges from the puzzle. The removals are recorded in the journal as a single step, so the
+     * restart can be undone like any other move.
+     */
+    public void restart() {
+        if (this.crossings == null) {
+            buildIndex();
+        }
 
-                if (connection.isVertical() && other.isHorizontal()) {
-                    if (areConnectionsCrossing(other, connection)) {
-                        connection.setValid(false);
-                        other.setValid(false);
-                    }
-                }
+        boolean joined = false;
+        for (Connection connection : this.connections) {
+            while (connection.canRemoveBridge()) {
+                this.journal.record(connection.getIndex(), false, joined);
+                apply(connection.getIndex(), false);
+                joined = true;
             }
         }
     }
 
     /**
-     * Removes all bridges from the puzzle.
+     * Adds a single bridge to the given connection and records the move in the journal, so that it can be undone.
+     * Moves that have been undone before can no longer be redone afterwards.
+     *
+     * @param connection a connection of this puzzle
+     * @return true if the bridge was added, false if the connection can not hold another bridge
      */
-    public void restart() {
-        this.connections.forEach(bridge -> bridge.setBridgeCount(0));
+    public boolean addBridge(Connection connection) {
+        return move(connection, true);
     }
 
     /**
-     * Evaluates the current state of the puzzle.
+     * Removes a single bridge from the given connection and records the move in the journal, so that it can be
+     * undone. Moves that have been undone before can no longer be redone afterwards.
+     *
+     * @param connection a connection of this puzzle
+     * @return true if the bridge was removed, false if the connection does not hold any bridges
+     */
+    public boolean removeBridge(Connection connection) {
+        return move(connection, false);
+    }
+
+    /**
+     * Reverts the latest step recorded in the journal. A step is a single move or a restart.
+     *
+     * @return the changed connection, the last one for a restart, or null if there is no move to undo or the
+     * move could not be reverted
+     */
+    public Connection undo() {
+        int move;
+        Connection connection;
+        do {
+            move = this.journal.undo();
+            connection = move < 0 ? null : apply(MoveJournal.connection(move), !MoveJournal.isAdd(move));
+        } while (connection != null && MoveJournal.isJoined(move));
+        return connection;
+    }
+
+    /**
+     * Repeats the latest step that has been undone.
+     *
+     * @return the changed connection, the last one for a restart, or null if there is no move to redo or the
+     * move could not be repeated
+     */
+    public Connection redo() {
+        int move;
+        Connection connection;
+        do {
+            move = this.journal.redo();
+            connection = move < 0 ? null : apply(MoveJournal.connection(move), MoveJournal.isAdd(move));
+        } while (connection != null && this.journal.isRedoJoined());
+        return connection;
+    }
+
+    /**
+     * @return true if there is a move that can be undone
+     */
+    public boolean canUndo() {
+        return this.journal.size() > 0;
+    }
+
+    /**
+     * @return true if there is an undone move that can be redone
+     */
+    public boolean canRedo() {
+        return this.journal.canRedo();
+    }
+
+    /**
+     * Returns the number of moves in the journal that can be undone. Every added or removed bridge counts as one
+     * move, including the removals of a restart. A search can remember this value before trying a move and pass it
+     * to {@link BridgesPuzzle#undoMoves(int)} to return to the remembered state.
+     *
+     * @return the number of recorded moves
+     */
+    public int getMoveCount() {
+        return this.journal.size();
+    }
+
+    /**
+     * Undoes moves until the journal holds the given number of moves.
+     *
+     * @param moveCount a value previously returned by {@link BridgesPuzzle#getMoveCount()}
+     */
+    public void undoMoves(int moveCount) {
+        while (this.journal.size() > moveCount) {
+            undo();
+        }
+    }
+
+    /**
+     * Executes and records a move.
+     */
+    private boolean move(Connection connection, boolean add) {
+        if (add ? !connection.canAddBridge() : !connection.canRemoveBridge()) {
+            return false;
+        }
+        if (this.crossings == null) {
+            buildIndex();
+        }
+
+        this.journal.record(connection.getIndex(), add);
+        apply(connection.getIndex(), add);
+        return true;
+    }
+
+    /**
+     * Adds or removes a bridge of the connection with the given index. Changes made without the journal clear
+     * it, so a recorded move is always possible. Should it not be, the connection is left untouched and the
+     * journal is cleared, since it no longer matches the bridges of the puzzle.
+     *
+     * @return the changed connection, or null if the move was not possible
+     */
+    private Connection apply(int index, boolean add) {
+        Connection connection = this.connections.get(index);
+        if (add ? !connection.canAddBridge() : !connection.canRemoveBridge()) {
+            this.journal.clear();
+            return null;
+        }
+
+        this.journaling = true;
+        try {
+            if (add) {
+                connection.addBridge();
+            } else {
+                connection.removeBridge();
+            }
+        } finally {
+            this.journaling = false;
+        }
+        return connection;
+    }
+
+    /**
+     * Evaluates the current state of the puzzle. The result is cached until the next bridge is added or removed,
+     * and the evaluation itself only checks the aggregates that are kept up to date with every change. Only
+     * unsolved puzzles without errors need to look for possible bridges.
      *
      * @return the current state of the puzzle
      */
     public PuzzleState getState() {
-        if (anyBridgesCrossing() || anyIslandsTooManyBridges()) {
+        if (this.crossings == null) {
+            buildIndex();
+        }
+
+        if (this.state == null || this.stateModificationCount != this.modificationCount) {
+            this.state = evaluateState();
+            this.stateModificationCount = this.modificationCount;
+        }
+        return this.state;
+    }
+
+    private PuzzleState evaluateState() {
+        if (this.crossingCount > 0 || this.overfilledCount > 0) {
             return PuzzleState.ERROR;
         }
 
@@ -163,6 +454,42 @@ public class BridgesPuzzle {
         return PuzzleState.NOT_SOLVED;
     }
 
+    /**
+     * Returns the number of connections whose bridges cross the bridges of another connection.
+     *
+     * @return the number of crossing connections
+     */
+    public int getCrossingCount() {
+        return this.crossingCount;
+    }
+
+    /**
+     * Returns the number of islands with more bridges than they need.
+     *
+     * @return the number of over-filled islands
+     */
+    public int getOverfilledIslandCount() {
+        return this.overfilledCount;
+    }
+
+    /**
+     * Returns the number of islands that do not have exactly the number of bridges they need.
+     *
+     * @return the number of unsatisfied islands
+     */
+    public int getUnsatisfiedIslandCount() {
+        return this.unsatisfiedCount;
+    }
+
+    /**
+     * Returns a counter that is incremented every time a bridge of this puzzle is added or removed.
+     *
+     * @return the modification counter
+     */
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
     /**
      * @return true if any valid bridge can be added to the puzzle, false otherwise
      */
@@ -195,193 +522,390 @@ public class BridgesPuzzle {
      * @return true if adding a bridge to the connection would result in a crossing, false otherwise
      */
     public boolean causesCrossing(Connection bridge) {
-        for (Connection other : this.connections) {
-            if (bridge == other || other.getBridgeCount() == 0) {
-                continue;
-            }
-
-            if (bridge.isHorizontal() && other.isVertical()) {
-                if (areConnectionsCrossing(bridge, other)) {
-                    return true;
-                }
-            }
+        return this.crossingBridges[bridge.getIndex()] > 0;
+    }
 
-            if (bridge.isVertical() && other.isHorizontal()) {
-                if (areConnectionsCrossing(other, bridge)) {
-                    return true;
-                }
-            }
+    /**
+     * Returns all connections that geometrically cross the given connection, regardless of their bridge count.
+     *
+     * @param connection the connection to get the crossing connections for
+     * @return an unmodifiable list of the crossing connections
+     */
+    public List<Connection> getCrossingConnections(Connection connection) {
+        int[] indices = this.crossings[connection.getIndex()];
+        Connection[] result = new Connection[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            result[i] = this.connections.get(indices[i]);
         }
-        return false;
+        return Collections.unmodifiableList(Arrays.asList(result));
     }
 
     /**
      * @return true if the puzzle is solved correctly, false otherwise
      */
     private boolean isSolved() {
-        return everyIslandSatisfied() && everyIslandConnected();
+        return this.unsatisfiedCount == 0 && everyIslandConnected();
     }
 
     /**
      * @return true if all islands are indirectly connected to each other
      */
     private boolean everyIslandConnected() {
-        Set<Island> visited = new HashSet<>();
-        visitAllNodes(this.islands.getAsList().get(0), visited);
-
-        return visited.size() == this.islands.getAsList().size();
+        return this.connectivity.isConnected();
     }
 
-    private void visitAllNodes(Island start, Set<Island> visited) {
-        if (visited.contains(start)) {
-            return;
+    /**
+     * Creates all missing {@link Connection} objects, so that each island is connected to its neighbors.
+     * Existing connections are looked up by the ids of their islands, so the graph is built in linear time.
+     */
+    public void fillMissingConnections() {
+        List<Island> islands = this.islands.getAsList();
+        LongIntHashMap existing = new LongIntHashMap(this.connections.size() + islands.size() * 2);
+        for (int i = 0; i < this.connections.size(); i++) {
+            Connection connection = this.connections.get(i);
+            existing.putIfAbsent(connectionKey(connection.getStartIsland().getId(), connection.getEndIsland().getId()), i);
         }
-        visited.add(start);
 
-        final List<Direction> directions = Arrays.asList(Direction.NORTH, Direction.EAST, Direction.SOUTH, Direction.WEST);
+        int[] adjacency = new int[islands.size() * DIRECTIONS.length];
+        for (int i = 0; i < islands.size(); i++) {
+            for (Direction direction : DIRECTIONS) {
+                adjacency[i * DIRECTIONS.length + direction.ordinal()] = findConnectionInDirection(islands.get(i), direction, existing);
+            }
+        }
 
-        for (Direction direction : directions) {
-            Island other = getConnectedIsland(start, direction);
-            if (other == null) {
-                continue;
+        int[] position = sortConnections();
+        for (int i = 0; i < adjacency.length; i++) {
+            if (adjacency[i] >= 0) {
+                adjacency[i] = position[adjacency[i]];
             }
-            visitAllNodes(other, visited);
         }
+        this.adjacency = adjacency;
+        this.topology = null;
+        this.journal.clear();
+
+        this.connectionStart = new int[this.connections.size()];
+        this.connectionEnd = new int[this.connections.size()];
+        for (int c = 0; c < this.connectionStart.length; c++) {
+            this.connectionStart[c] = this.islands.getIndex(this.connections.get(c).getStartIsland().getId());
+            this.connectionEnd[c] = this.islands.getIndex(this.connections.get(c).getEndIsland().getId());
+        }
+        this.connectivity = new Connectivity(this.connections, this.connectionStart, this.connectionEnd, this.adjacency);
+
+        buildIndex();
     }
 
     /**
-     * @return true if every island has the desired amount of bridges connected, false otherwise
+     * Returns the immutable topology of this puzzle. It is created on the first call after
+     * {@link BridgesPuzzle#fillMissingConnections()} or after the number of required bridges of an island changed,
+     * and shared by all {@link BridgeState} instances of the puzzle.
+     *
+     * @return the topology of this puzzle
      */
-    private boolean everyIslandSatisfied() {
-        return this.islands.getAsList().stream().allMatch(island -> getRemainingBridgeCount(island) == 0);
+    public PuzzleTopology getTopology() {
+        if (this.adjacency == null) {
+            throw new IllegalStateException("missing connections have not been filled yet");
+        }
+
+        if (this.topology == null) {
+            this.topology = new PuzzleTopology(this.islands.getAsList(), this.connections, this.connectionStart,
+                    this.connectionEnd, this.adjacency, this.crossings);
+        }
+        return this.topology;
     }
 
     /**
-     * Returns the island relative to the given island in the given direction.
+     * Copies the current bridges of this puzzle into a new state.
+     *
+     * @return the bridges of this puzzle
      */
-    private Island getConnectedIsland(Island island, Direction direction) {
-        Connection connection = getConnectedBridge(island, direction);
-        if (connection == null || connection.getBridgeCount() == 0) {
-            return null;
-        }
-        if (connection.getStartIsland() == island) {
-            return connection.getEndIsland();
+    public BridgeState snapshot() {
+        BridgeState state = new BridgeState(getTopology());
+        snapshot(state);
+        return state;
+    }
+
+    /**
+     * Copies the current bridges of this puzzle into the given state without allocating any memory.
+     *
+     * @param target a state of this puzzle's topology
+     */
+    public void snapshot(BridgeState target) {
+        checkTopology(target);
+        for (int c = 0; c < this.connections.size(); c++) {
+            target.setBridgeCount(c, this.connections.get(c).getBridgeCount());
         }
-        return connection.getStartIsland();
     }
 
     /**
-     * @return true if there are any bridges crossing, false otherwise
+     * Sets the bridges of this puzzle to the given state. Only connections whose bridge count differs are touched.
+     * The move journal is cleared, because its moves no longer lead to the restored state.
+     *
+     * @param state a state of this puzzle's topology
      */
-    private boolean anyBridgesCrossing() {
-        markInvalidBridges();
-        return this.connections.stream().anyMatch(bridge -> !bridge.isValid());
+    public void restore(BridgeState state) {
+        checkTopology(state);
+        for (int c = 0; c < this.connections.size(); c++) {
+            Connection connection = this.connections.get(c);
+            if (connection.getBridgeCount() != state.getBridgeCount(c)) {
+                connection.setBridgeCount(state.getBridgeCount(c));
+            }
+        }
+        this.journal.clear();
+    }
+
+    private void checkTopology(BridgeState state) {
+        if (state.getTopology() != getTopology()) {
+            throw new IllegalArgumentException("state belongs to a different puzzle");
+        }
     }
 
     /**
-     * @return true if any island has more bridges connected than it needs
+     * Sorts the connections by the ids of their start and end islands. The order of connections with equal ids
+     * is preserved.
+     *
+     * @return the new position of each connection, indexed by its old position
      */
-    private boolean anyIslandsTooManyBridges() {
-        return this.islands.getAsList().stream().anyMatch(island -> getRemainingBridgeCount(island) < 0);
+    private int[] sortConnections() {
+        int size = this.connections.size();
+        long[] keys = new long[size];
+        int[] order = new int[size];
+        boolean sorted = true;
+        for (int i = 0; i < size; i++) {
+            Connection connection = this.connections.get(i);
+            keys[i] = connectionKey(connection.getStartIsland().getId(), connection.getEndIsland().getId());
+            order[i] = i;
+            sorted &= i == 0 || keys[i - 1] <= keys[i];
+        }
+
+        if (!sorted) {
+            mergeSort(order, keys);
+            Connection[] copy = this.connections.toArray(new Connection[0]);
+            for (int i = 0; i < size; i++) {
+                this.connections.set(i, copy[order[i]]);
+            }
+        }
+
+        int[] position = new int[size];
+        for (int i = 0; i < size; i++) {
+            position[order[i]] = i;
+        }
+        return position;
     }
 
     /**
-     * Checks if the two connections are crossing each other. Returns true even if the given connections
-     * have no bridges assigned to them.
+     * Stable bottom-up merge sort of the given indices by their keys.
      */
-    private boolean areConnectionsCrossing(Connection connection, Connection other) {
-        int y1 = connection.getStartIsland().getY();
-        int x2 = other.getEndIsland().getX();
+    private static void mergeSort(int[] order, long[] keys) {
+        int[] source = order;
+        int[] target = new int[order.length];
+        for (int width = 1; width < order.length; width *= 2) {
+            for (int low = 0; low < order.length; low += 2 * width) {
+                int middle = Math.min(low + width, order.length);
+                int high = Math.min(low + 2 * width, order.length);
+                int left = low;
+                int right = middle;
+                for (int i = low; i < high; i++) {
+                    if (left < middle && (right >= high || keys[source[left]] <= keys[source[right]])) {
+                        target[i] = source[left++];
+                    } else {
+                        target[i] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != order) {
+            System.arraycopy(source, 0, order, 0, order.length);
+        }
+    }
 
-        int x1a = connection.getStartIsland().getX();
-        int x1e = connection.getEndIsland().getX();
-        int y2a = other.getStartIsland().getY();
-        int y2e = other.getEndIsland().getY();
-        return x1a < x2 && x2 < x1e && y2a < y1 && y1 < y2e;
+    /**
+     * Packs the ids of two islands into a single key. Comparing two keys gives the same result as comparing the
+     * start ids first and the end ids second.
+     */
+    private static long connectionKey(int startId, int endId) {
+        return ((long) startId << 32) | ((endId ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
     }
 
     /**
-     * Creates all missing {@link Connection} objects, so that each island is connected to its neighbors.
+     * Builds the crossing index and the bridge counts of the islands, attaches all connections to this puzzle
+     * and counts crossing connections as well as over-filled and unsatisfied islands. Afterwards all of them are
+     * kept up to date by {@link BridgesPuzzle#bridgeCountChanged(Connection, int)}.
      */
-    public void fillMissingConnections() {
-        for (Island island : this.islands.getAsList()) {
-            Map<Direction, Connection> connections = new EnumMap<>(Direction.class);
+    private void buildIndex() {
+        indexCrossings();
+        countBridges();
+
+        this.crossed = new boolean[this.connections.size()];
+        this.crossingCount = 0;
+        for (int i = 0; i < this.connections.size(); i++) {
+            updateValidity(i);
+        }
 
-            connections.put(Direction.NORTH, findConnectionInDirection(island, 0, -1));
-            connections.put(Direction.EAST, findConnectionInDirection(island, 1, 0));
-            connections.put(Direction.SOUTH, findConnectionInDirection(island, 0, 1));
-            connections.put(Direction.WEST, findConnectionInDirection(island, -1, 0));
+        this.overfilledCount = 0;
+        this.unsatisfiedCount = 0;
+        for (Island island : this.islands.getAsList()) {
+            if (this.islands.getById(island.getId()) == island) {
+                countIsland(island, 1);
+            }
+        }
+        this.modificationCount++;
+    }
 
-            this.bridgeConnections.put(island.getId(), connections);
+    /**
+     * Determines for every connection the perpendicular connections it crosses and counts how many of them
+     * hold bridges. Connections running in the same direction never overlap, so the cells between the islands
+     * of all horizontal connections are marked on a grid first. Each vertical connection then only has to look
+     * up the cells it runs across.
+     */
+    private void indexCrossings() {
+        int columns = 1;
+        int rows = 1;
+        for (Connection connection : this.connections) {
+            columns = Math.max(columns, Math.max(connection.getStartIsland().getX(), connection.getEndIsland().getX()) + 1);
+            rows = Math.max(rows, Math.max(connection.getStartIsland().getY(), connection.getEndIsland().getY()) + 1);
         }
 
-        this.connections.sort((o1, o2) -> {
-            int diff = o1.getStartIsland().getId() - o2.getStartIsland().getId();
-            if (diff != 0) {
-                return diff;
+        int[] horizontal = new int[columns * rows];
+        Arrays.fill(horizontal, -1);
+        for (int i = 0; i < this.connections.size(); i++) {
+            Connection connection = this.connections.get(i);
+            connection.setIndex(i);
+            if (isStraightHorizontal(connection)) {
+                int y = connection.getStartIsland().getY();
+                for (int x = minX(connection) + 1; x < maxX(connection); x++) {
+                    horizontal[y * columns + x] = i;
+                }
             }
+        }
 
-            return o1.getEndIsland().getId() - o2.getEndIsland().getId();
+        int[] crossingCount = new int[this.connections.size()];
+        forEachCrossing(horizontal, columns, (vertical, other) -> {
+            crossingCount[vertical]++;
+            crossingCount[other]++;
         });
+
+        this.crossings = new int[this.connections.size()][];
+        for (int i = 0; i < this.crossings.length; i++) {
+            this.crossings[i] = new int[crossingCount[i]];
+            crossingCount[i] = 0;
+        }
+        forEachCrossing(horizontal, columns, (vertical, other) -> {
+            this.crossings[vertical][crossingCount[vertical]++] = other;
+            this.crossings[other][crossingCount[other]++] = vertical;
+        });
+
+        this.crossingBridges = new int[this.connections.size()];
+        for (int i = 0; i < this.crossings.length; i++) {
+            for (int other : this.crossings[i]) {
+                if (this.connections.get(other).getBridgeCount() > 0) {
+                    this.crossingBridges[i]++;
+                }
+            }
+        }
     }
 
     /**
-     * Seeks the next island in the specified direction, then checks if the two islands are connected.
-     * If there is no connection a new one is created.
+     * Calls the consumer for every pair of a vertical connection and a horizontal connection crossing it.
      */
-    private Connection findConnectionInDirection(Island island, int dx, int dy) {
-        Island neighbor = findIslandInDirection(island.getX(), island.getY(), dx, dy);
-        if (neighbor == null) {
-            return null;
-        }
-        Connection existingConnection = getExistingConnection(island, neighbor);
-        if (existingConnection != null) {
-            return existingConnection;
+    private void forEachCrossing(int[] horizontal, int columns, IntBiConsumer consumer) {
+        for (int i = 0; i < this.connections.size(); i++) {
+            Connection connection = this.connections.get(i);
+            if (!isStraightVertical(connection)) {
+                continue;
+            }
+            int x = connection.getStartIsland().getX();
+            for (int y = minY(connection) + 1; y < maxY(connection); y++) {
+                int other = horizontal[y * columns + x];
+                if (other >= 0) {
+                    consumer.accept(i, other);
+                }
+            }
         }
+    }
 
-        int min = Math.min(island.getId(), neighbor.getId());
-        int max = Math.max(island.getId(), neighbor.getId());
-        Connection connection = new Connection(islands.getById(min), islands.getById(max));
-        this.connections.add(connection);
-        return connection;
+    private static boolean isStraightHorizontal(Connection connection) {
+        return connection.isHorizontal() && !connection.isVertical();
+    }
+
+    private static boolean isStraightVertical(Connection connection) {
+        return connection.isVertical() && !connection.isHorizontal();
+    }
+
+    private static int minX(Connection connection) {
+        return Math.min(connection.getStartIsland().getX(), connection.getEndIsland().getX());
+    }
+
+    private static int maxX(Connection connection) {
+        return Math.max(connection.getStartIsland().getX(), connection.getEndIsland().getX());
+    }
+
+    private static int minY(Connection connection) {
+        return Math.min(connection.getStartIsland().getY(), connection.getEndIsland().getY());
+    }
+
+    private static int maxY(Connection connection) {
+        return Math.max(connection.getStartIsland().getY(), connection.getEndIsland().getY());
     }
 
     /**
-     * Returns the connection between the two given islands, if there is one.
+     * A consumer for a pair of connection indices.
      */
-    private Connection getExistingConnection(Island island, Island other) {
-        int a = Math.min(island.getId(), other.getId());
-        int b = Math.max(island.getId(), other.getId());
+    private interface IntBiConsumer {
+        void accept(int a, int b);
+    }
 
+    /**
+     * Attaches all connections to this puzzle and counts the bridges of every island from scratch. Afterwards
+     * the counts are kept up to date by {@link BridgesPuzzle#bridgeCountChanged(Connection, int)}.
+     */
+    private void countBridges() {
+        int maxId = this.islands.getAsList().stream().mapToInt(Island::getId).max().orElse(-1);
         for (Connection connection : this.connections) {
-            if (connection.getStartIsland().getId() == a && connection.getEndIsland().getId() == b) {
-                return connection;
-            }
+            maxId = Math.max(maxId, Math.max(connection.getStartIsland().getId(), connection.getEndIsland().getId()));
+        }
+        this.bridgeCounts = new int[maxId + 1];
+
+        for (Connection connection : this.connections) {
+            connection.setPuzzle(this);
+            this.bridgeCounts[connection.getStartIsland().getId()] += connection.getBridgeCount();
+            this.bridgeCounts[connection.getEndIsland().getId()] += connection.getBridgeCount();
         }
-        return null;
     }
 
     /**
-     * Seeks islands from the given starting coordinates. Either <code>dx</code> or <code>dy</code>
-     * should be 0, otherwise this method searches along a diagonal path.
+     * Seeks the next island in the specified direction, then checks if the two islands are connected.
+     * If there is no connection a new one is created.
      *
-     * @param x  the x starting coordinate
-     * @param y  the y starting coordinate
-     * @param dx use -1 to search on the left, +1 to search on the right
-     * @param dy use -1 to search on the top, +1 to search on the bottom
-     * @return the first island found
-     */
-    private Island findIslandInDirection(int x, int y, int dx, int dy) {
-        x += dx;
-        y += dy;
-        while (x >= 0 && y >= 0 && x < this.width && y < this.height) {
-            Island island = this.islands.getByCoordinates(x, y);
-            if (island != null) {
-                return island;
-            }
-            x += dx;
-            y += dy;
+     * @return the position of the connection in the list of connections, -1 if there is no neighbor
+     */
+    private int findConnectionInDirection(Island island, Direction direction, LongIntHashMap existing) {
+        Island neighbor = this.islands.getNeighbor(island, direction);
+        if (neighbor == null || !isOnField(neighbor)) {
+            return -1;
+        }
+
+        int min = Math.min(island.getId(), neighbor.getId());
+        int max = Math.max(island.getId(), neighbor.getId());
+        long key = connectionKey(min, max);
+        int index = existing.get(key);
+        if (index >= 0) {
+            return index;
         }
-        return null;
+
+        index = this.connections.size();
+        this.connections.add(new Connection(islands.getById(min), islands.getById(max)));
+        existing.putIfAbsent(key, index);
+        return index;
+    }
+
+    /**
+     * @return true if the given island lies within the bounds of this puzzle
+     */
+    private boolean isOnField(Island island) {
+        return island.getX() >= 0 && island.getY() >= 0 && island.getX() < this.width && island.getY() < this.height;
     }
 }
@@ -12,7 +12,8 @@ public class Connection {
     private final Island endIsland;
     private boolean valid;
     private boolean emphasized;
-
+    private BridgesPuzzle puzzle;
+    private int index;
 
     /**
      * Creates a new connection between two islands without any bridges.
@@ -64,7 +65,9 @@ public class Connection {
      * @param count the number of bridges
      */
     public void setBridgeCount(int count) {
+        int oldCount = this.bridgeCount;
         this.bridgeCount = count;
+        notifyPuzzle(oldCount);
     }
 
     /**
@@ -127,6 +130,7 @@ public class Connection {
      */
     public void addBridge() {
         this.bridgeCount++;
+        notifyPuzzle(this.bridgeCount - 1);
     }
 
     /**
@@ -134,6 +138,53 @@ public class Connection {
      */
     public void removeBridge() {
         this.bridgeCount--;
+        notifyPuzzle(this.bridgeCount + 1);
+    }
+
+    /**
+     * Attaches this connection to the puzzle it belongs to. The puzzle gets notified about every change
+     * of the bridge count, so it can keep its aggregated values up to date.
+     *
+     * @param puzzle the puzzle this connection belongs to
+     */
+    void setPuzzle(BridgesPuzzle puzzle) {
+        this.puzzle = puzzle;
+    }
+
+    /**
+     * Returns the puzzle this connection belongs to.
+     *
+     * @return the puzzle, null if the connection does not belong to a puzzle yet
+     */
+    BridgesPuzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * Returns the position of this connection in the connection list of its puzzle.
+     *
+     * @return the index of this connection
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Sets the position of this connection in the connection list of its puzzle.
+     *
+     * @param index the index of this connection
+     */
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    /**
+     * Informs the attached puzzle about a changed bridge count.
+     */
+    private void notifyPuzzle(int oldCount) {
+        if (this.puzzle != null && oldCount != this.bridgeCount) {
+            this.puzzle.bridgeCountChanged(this, oldCount);
+        }
     }
 
     /**
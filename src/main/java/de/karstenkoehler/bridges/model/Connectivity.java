@@ -0,0 +1,134 @@
+package de.karstenkoehler.bridges.model;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Keeps track of which islands of a {@link BridgesPuzzle} are connected by bridges. Added bridges are merged into
+ * a union-find structure right away. Removing a bridge may split a component, which union-find can not express,
+ * so the components are only marked as outdated and recomputed by an iterative breadth-first search on the next
+ * query.
+ */
+final class Connectivity {
+    private static final int DIRECTIONS = Direction.values().length;
+
+    private final List<Connection> connections;
+    private final int[] start;
+    private final int[] end;
+    private final int[] adjacency;
+
+    private final int[] parent;
+    private final int[] size;
+    private final int[] queue;
+    private final BitSet visited;
+    private int components;
+    private boolean valid;
+
+    /**
+     * Creates the connectivity tracking for a puzzle.
+     *
+     * @param connections the connections of the puzzle
+     * @param start       the index of the start island of every connection
+     * @param end         the index of the end island of every connection
+     * @param adjacency   four connection indices for every island, -1 if there is no connection
+     */
+    Connectivity(List<Connection> connections, int[] start, int[] end, int[] adjacency) {
+        this.connections = connections;
+        this.start = start;
+        this.end = end;
+        this.adjacency = adjacency;
+
+        int islandCount = adjacency.length / DIRECTIONS;
+        this.parent = new int[islandCount];
+        this.size = new int[islandCount];
+        this.queue = new int[islandCount];
+        this.visited = new BitSet(islandCount);
+        this.valid = false;
+    }
+
+    /**
+     * Is called when the connection with the given index gets its first bridge.
+     *
+     * @param c the index of the connection
+     */
+    void bridgeAdded(int c) {
+        if (!this.valid) {
+            return;
+        }
+
+        int a = find(this.start[c]);
+        int b = find(this.end[c]);
+        if (a == b) {
+            return;
+        }
+        if (this.size[a] < this.size[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        this.parent[b] = a;
+        this.size[a] += this.size[b];
+        this.components--;
+    }
+
+    /**
+     * Is called when the connection with the given index loses its last bridge.
+     */
+    void bridgeRemoved() {
+        this.valid = false;
+    }
+
+    /**
+     * @return true if all islands are connected to each other by bridges
+     */
+    boolean isConnected() {
+        if (!this.valid) {
+            recompute();
+        }
+        return this.components <= 1;
+    }
+
+    private int find(int island) {
+        while (this.parent[island] != island) {
+            this.parent[island] = this.parent[this.parent[island]];
+            island = this.parent[island];
+        }
+        return island;
+    }
+
+    /**
+     * Labels all components from scratch with a breadth-first search. Every island of a component points
+     * directly to the first island found, which is the root of the component.
+     */
+    private void recompute() {
+        this.visited.clear();
+        this.components = 0;
+
+        for (int root = this.visited.nextClearBit(0); root < this.parent.length; root = this.visited.nextClearBit(root + 1)) {
+            this.components++;
+            this.visited.set(root);
+            this.queue[0] = root;
+            int head = 0;
+            int tail = 1;
+
+            while (head < tail) {
+                int island = this.queue[head++];
+                this.parent[island] = root;
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    int c = this.adjacency[island * DIRECTIONS + d];
+                    if (c < 0 || this.connections.get(c).getBridgeCount() == 0) {
+                        continue;
+                    }
+                    int other = this.start[c] == island ? this.end[c] : this.start[c];
+                    if (!this.visited.get(other)) {
+                        this.visited.set(other);
+                        this.queue[tail++] = other;
+                    }
+                }
+            }
+            this.size[root] = tail;
+        }
+
+        this.valid = true;
+    }
+}
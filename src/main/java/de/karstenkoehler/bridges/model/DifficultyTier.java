@@ -0,0 +1,26 @@
+package de.karstenkoehler.bridges.model;
+
+/**
+ * This enum contains the tiers of deductions needed to solve a puzzle, from the easiest to the hardest. The
+ * difficulty of a puzzle is the hardest tier that is needed to solve it.
+ */
+public enum DifficultyTier {
+    /**
+     * The two basic rules: an island needs all bridges its connections can still take, or it can spare exactly
+     * one of them.
+     */
+    BASIC,
+    /**
+     * A connection needs a bridge, because it is the only possible link between two groups of islands.
+     */
+    ISOLATION,
+    /**
+     * A number of bridges is excluded for a connection, because assuming it leads to a contradiction or
+     * isolates a group of islands after propagation.
+     */
+    LOOKAHEAD,
+    /**
+     * No more deductions are possible, the solution has to be found by trial and error.
+     */
+    SEARCH
+}
@@ -1,5 +1,7 @@
 package de.karstenkoehler.bridges.model;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -10,6 +12,7 @@ public class Island {
     private int id;
     private final int x, y;
     private int requiredBridges;
+    private List<BridgesPuzzle> puzzles;
 
     /**
      * Creates a new island.
@@ -45,12 +48,32 @@ public class Island {
     }
 
     /**
-     * Sets a new number of required bridges for this island.
+     * Sets a new number of required bridges for this island. All puzzles the island belongs to are notified,
+     * so that their states and topologies reflect the new number.
      *
      * @param count the new number of required bridges
      */
     public void setRequiredBridges(int count) {
+        int oldCount = this.requiredBridges;
         this.requiredBridges = count;
+        if (this.puzzles != null && oldCount != count) {
+            for (BridgesPuzzle puzzle : this.puzzles) {
+                puzzle.requiredBridgesChanged(this, oldCount);
+            }
+        }
+    }
+
+    /**
+     * Attaches this island to a puzzle it belongs to. All puzzles of the island get notified about every change
+     * of the number of required bridges.
+     *
+     * @param puzzle a puzzle this island belongs to
+     */
+    void addPuzzle(BridgesPuzzle puzzle) {
+        if (this.puzzles == null) {
+            this.puzzles = new ArrayList<>(1);
+        }
+        this.puzzles.add(puzzle);
     }
 
     /**
@@ -1,5 +1,7 @@
 package de.karstenkoehler.bridges.model;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -7,11 +9,30 @@ import java.util.Map;
 /**
  * A container class for storing the islands of a {@link BridgesPuzzle}. It offers several methods for
  * efficiently requesting island references by specific parameters.
+ * <p>
+ * The islands are kept in two arrays, one sorted by rows and one sorted by columns. The next island in any
+ * direction is therefore found with a single binary search. Additionally, the islands are placed on a flat grid
+ * covering the area between the outermost islands, so that a lookup by coordinates is a single array read.
+ * Only if the islands are spread too far for such a grid, the lookup falls back to a binary search as well.
  */
 public class IslandStore {
+    private static final int MAX_GRID_CELLS = 1 << 16;
+
+    private static final Comparator<Island> ROW_ORDER = Comparator.comparingInt(Island::getY).thenComparingInt(Island::getX);
+    private static final Comparator<Island> COLUMN_ORDER = Comparator.comparingInt(Island::getX).thenComparingInt(Island::getY);
+
     private final List<Island> asList;
-    private final Map<Integer, Island> byId;
-    private final Map<Integer, Map<Integer, Island>> byCoordinates;
+    private final Island[] byRow;
+    private final Island[] byColumn;
+
+    private final int[] indexById;
+    private final Map<Integer, Integer> indexByIdFallback;
+
+    private final Island[] grid;
+    private final int originX;
+    private final int originY;
+    private final int gridWidth;
+    private final int gridHeight;
 
     /**
      * Creates a new island store.
@@ -20,17 +41,56 @@ public class IslandStore {
      */
     public IslandStore(List<Island> islands) {
         this.asList = islands;
-        this.byId = new HashMap<>();
-        this.byCoordinates = new HashMap<>();
 
+        this.byRow = islands.toArray(new Island[0]);
+        Arrays.sort(this.byRow, ROW_ORDER);
+        this.byColumn = islands.toArray(new Island[0]);
+        Arrays.sort(this.byColumn, COLUMN_ORDER);
+
+        int minId = 0;
+        int maxId = -1;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
         for (Island island : islands) {
-            byId.put(island.getId(), island);
+            minId = Math.min(minId, island.getId());
+            maxId = Math.max(maxId, island.getId());
+            minX = Math.min(minX, island.getX());
+            minY = Math.min(minY, island.getY());
+            maxX = Math.max(maxX, island.getX());
+            maxY = Math.max(maxY, island.getY());
+        }
 
-            if (!this.byCoordinates.containsKey(island.getX())) {
-                this.byCoordinates.put(island.getX(), new HashMap<>());
+        if (minId >= 0 && maxId < 2 * islands.size() + 16) {
+            this.indexById = new int[maxId + 1];
+            this.indexByIdFallback = null;
+            Arrays.fill(this.indexById, -1);
+            for (int i = 0; i < islands.size(); i++) {
+                this.indexById[islands.get(i).getId()] = i;
             }
+        } else {
+            this.indexById = null;
+            this.indexByIdFallback = new HashMap<>();
+            for (int i = 0; i < islands.size(); i++) {
+                this.indexByIdFallback.put(islands.get(i).getId(), i);
+            }
+        }
 
-            this.byCoordinates.get(island.getX()).put(island.getY(), island);
+        long cells = islands.isEmpty() ? 0 : ((long) maxX - minX + 1) * ((long) maxY - minY + 1);
+        if (cells > 0 && cells <= MAX_GRID_CELLS) {
+            this.originX = minX;
+            this.originY = minY;
+            this.gridWidth = maxX - minX + 1;
+            this.gridHeight = maxY - minY + 1;
+            this.grid = new Island[this.gridWidth * this.gridHeight];
+            for (Island island : islands) {
+                this.grid[(island.getY() - minY) * this.gridWidth + (island.getX() - minX)] = island;
+            }
+        } else {
+            this.originX = 0;
+            this.originY = 0;
+            this.gridWidth = 0;
+            this.gridHeight = 0;
+            this.grid = null;
         }
     }
 
@@ -41,7 +101,21 @@ public class IslandStore {
      * @return the island with the given id
      */
     public Island getById(int id) {
-        return this.byId.get(id);
+        int index = getIndex(id);
+        return index < 0 ? null : this.asList.get(index);
+    }
+
+    /**
+     * Returns the position of the island with the given id in {@link IslandStore#getAsList()}.
+     *
+     * @param id the id of the island
+     * @return the position of the island, or -1 if there is no island with the given id
+     */
+    public int getIndex(int id) {
+        if (this.indexById == null) {
+            return this.indexByIdFallback.getOrDefault(id, -1);
+        }
+        return id >= 0 && id < this.indexById.length ? this.indexById[id] : -1;
     }
 
     /**
@@ -52,10 +126,37 @@ public class IslandStore {
      * @return the island with the given coordinates
      */
     public Island getByCoordinates(int x, int y) {
-        if (!this.byCoordinates.containsKey(x)) {
+        if (this.grid == null) {
+            int index = search(this.byRow, y, x, false);
+            return index >= 0 ? this.byRow[index] : null;
+        }
+
+        int gx = x - this.originX;
+        int gy = y - this.originY;
+        if (gx < 0 || gy < 0 || gx >= this.gridWidth || gy >= this.gridHeight) {
             return null;
         }
-        return this.byCoordinates.get(x).get(y);
+        return this.grid[gy * this.gridWidth + gx];
+    }
+
+    /**
+     * Returns the closest island in the given direction, which is in the same row or column as the given island.
+     *
+     * @param island    the island to start from
+     * @param direction the direction to look for the neighbor
+     * @return the neighbor, or null if there is no island in that direction
+     */
+    public Island getNeighbor(Island island, Direction direction) {
+        switch (direction) {
+            case NORTH:
+                return neighbor(this.byColumn, island.getX(), island.getY(), false, true);
+            case SOUTH:
+                return neighbor(this.byColumn, island.getX(), island.getY(), true, true);
+            case WEST:
+                return neighbor(this.byRow, island.getY(), island.getX(), false, false);
+            default:
+                return neighbor(this.byRow, island.getY(), island.getX(), true, false);
+        }
     }
 
     /**
@@ -66,4 +167,65 @@ public class IslandStore {
     public List<Island> getAsList() {
         return this.asList;
     }
+
+    /**
+     * Looks up the next island in a sorted array, which shares the primary coordinate with the given position
+     * and has a higher or lower secondary coordinate.
+     *
+     * @param sorted    the islands sorted by primary coordinate, then by secondary coordinate
+     * @param primary   the row (for horizontal lookups) or column (for vertical lookups)
+     * @param secondary the position within the row or column
+     * @param forward   true to look for a higher secondary coordinate, false to look for a lower one
+     * @param byColumn  true if the array is sorted by columns
+     * @return the neighbor, or null if there is none
+     */
+    private static Island neighbor(Island[] sorted, int primary, int secondary, boolean forward, boolean byColumn) {
+        int index = forward
+                ? lowerBound(sorted, primary, secondary + 1, byColumn)
+                : lowerBound(sorted, primary, secondary, byColumn) - 1;
+
+        if (index < 0 || index >= sorted.length || primaryOf(sorted[index], byColumn) != primary) {
+            return null;
+        }
+        return sorted[index];
+    }
+
+    /**
+     * Returns the index of the first island with the given coordinates, or <code>-(insertion point) - 1</code>
+     * if there is none.
+     */
+    private static int search(Island[] sorted, int primary, int secondary, boolean byColumn) {
+        int index = lowerBound(sorted, primary, secondary, byColumn);
+        if (index < sorted.length && primaryOf(sorted[index], byColumn) == primary
+                && secondaryOf(sorted[index], byColumn) == secondary) {
+            return index;
+        }
+        return -index - 1;
+    }
+
+    /**
+     * Returns the index of the first island that is not placed before the given coordinates.
+     */
+    private static int lowerBound(Island[] sorted, int primary, int secondary, boolean byColumn) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int p = primaryOf(sorted[middle], byColumn);
+            if (p < primary || (p == primary && secondaryOf(sorted[middle], byColumn) < secondary)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int primaryOf(Island island, boolean byColumn) {
+        return byColumn ? island.getX() : island.getY();
+    }
+
+    private static int secondaryOf(Island island, boolean byColumn) {
+        return byColumn ? island.getY() : island.getX();
+    }
 }
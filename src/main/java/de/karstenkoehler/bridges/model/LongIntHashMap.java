@@ -0,0 +1,94 @@
+package de.karstenkoehler.bridges.model;
+
+/**
+ * A minimal hash map from primitive <code>long</code> keys to non-negative <code>int</code> values. It uses open
+ * addressing with linear probing, so neither keys nor values are boxed. Entries can not be removed.
+ */
+final class LongIntHashMap {
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates a new map, which can hold the given number of entries without growing.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Returns the value stored for the given key.
+     *
+     * @param key the key to look up
+     * @return the value, or -1 if the key is not contained
+     */
+    int get(long key) {
+        int slot = slot(key);
+        while (this.values[slot] != 0) {
+            if (this.keys[slot] == key) {
+                return this.values[slot] - 1;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Stores the value for the given key, unless the key is already contained.
+     *
+     * @param key   the key
+     * @param value the value, must not be negative
+     * @return the value previously stored for the key, or -1 if the value was stored
+     */
+    int putIfAbsent(long key, int value) {
+        int slot = slot(key);
+        while (this.values[slot] != 0) {
+            if (this.keys[slot] == key) {
+                return this.values[slot] - 1;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        this.keys[slot] = key;
+        this.values[slot] = value + 1;
+        if (++this.size * 2 > this.keys.length) {
+            grow();
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        long hash = key * MIX;
+        return (int) (hash ^ (hash >>> 32)) & this.mask;
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private void grow() {
+        long[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == 0) {
+                continue;
+            }
+            int slot = slot(oldKeys[i]);
+            while (this.values[slot] != 0) {
+                slot = (slot + 1) & this.mask;
+            }
+            this.keys[slot] = oldKeys[i];
+            this.values[slot] = oldValues[i];
+        }
+    }
+}
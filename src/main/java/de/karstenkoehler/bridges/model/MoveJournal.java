@@ -0,0 +1,135 @@
+package de.karstenkoehler.bridges.model;
+
+import java.util.Arrays;
+
+/**
+ * Records the moves made on a {@link BridgesPuzzle}. Every move adds or removes a single bridge and is stored as
+ * one <code>int</code>, which holds the index of the connection and a flag for the kind of move. Undone moves stay
+ * in the journal until a new move is recorded, so they can be redone.
+ * <p>
+ * Several moves can be joined into a single step, like the removal of all bridges by a restart. A joined move is
+ * flagged as belonging to the same step as the move recorded before it, so undo and redo handle the whole step.
+ */
+final class MoveJournal {
+    private static final int ADD_FLAG = 1;
+    private static final int JOINED_FLAG = 2;
+
+    private int[] entries;
+    private int size;
+    private int limit;
+
+    /**
+     * Creates a new empty journal.
+     */
+    MoveJournal() {
+        this.entries = new int[16];
+    }
+
+    /**
+     * Records a move and discards all moves that could be redone.
+     *
+     * @param connection the index of the changed connection
+     * @param add        true if a bridge was added, false if it was removed
+     */
+    void record(int connection, boolean add) {
+        record(connection, add, false);
+    }
+
+    /**
+     * Records a move and discards all moves that could be redone.
+     *
+     * @param connection the index of the changed connection
+     * @param add        true if a bridge was added, false if it was removed
+     * @param joined     true if the move belongs to the same step as the move recorded before it
+     */
+    void record(int connection, boolean add, boolean joined) {
+        if (this.size == this.entries.length) {
+            this.entries = Arrays.copyOf(this.entries, this.entries.length * 2);
+        }
+        this.entries[this.size++] = connection << 2 | (joined ? JOINED_FLAG : 0) | (add ? ADD_FLAG : 0);
+        this.limit = this.size;
+    }
+
+    /**
+     * Steps back over the latest move.
+     *
+     * @return the encoded move, or -1 if there is nothing to undo
+     */
+    int undo() {
+        return this.size == 0 ? -1 : this.entries[--this.size];
+    }
+
+    /**
+     * Steps forward over the latest undone move.
+     *
+     * @return the encoded move, or -1 if there is nothing to redo
+     */
+    int redo() {
+        return this.size == this.limit ? -1 : this.entries[this.size++];
+    }
+
+    /**
+     * Returns the number of moves that can be undone.
+     *
+     * @return the number of moves
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns true if there is an undone move that can be redone.
+     *
+     * @return true if a move can be redone
+     */
+    boolean canRedo() {
+        return this.size < this.limit;
+    }
+
+    /**
+     * Returns true if the next move to redo belongs to the same step as the move redone before it.
+     *
+     * @return true if the next move to redo is joined
+     */
+    boolean isRedoJoined() {
+        return canRedo() && isJoined(this.entries[this.size]);
+    }
+
+    /**
+     * Removes all moves.
+     */
+    void clear() {
+        this.size = 0;
+        this.limit = 0;
+    }
+
+    /**
+     * Returns the index of the connection of an encoded move.
+     *
+     * @param move the encoded move
+     * @return the index of the connection
+     */
+    static int connection(int move) {
+        return move >>> 2;
+    }
+
+    /**
+     * Returns true if the encoded move added a bridge.
+     *
+     * @param move the encoded move
+     * @return true for an added bridge, false for a removed bridge
+     */
+    static boolean isAdd(int move) {
+        return (move & ADD_FLAG) != 0;
+    }
+
+    /**
+     * Returns true if the encoded move belongs to the same step as the move recorded before it.
+     *
+     * @param move the encoded move
+     * @return true for a joined move
+     */
+    static boolean isJoined(int move) {
+        return (move & JOINED_FLAG) != 0;
+    }
+}
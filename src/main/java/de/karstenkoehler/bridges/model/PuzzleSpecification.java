@@ -2,23 +2,33 @@ package de.karstenkoehler.bridges.model;
 
 import de.karstenkoehler.bridges.model.generator.Generator;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class stores the specification for creating a new random {@link BridgesPuzzle} using the
  * {@link Generator} interface. It offers no public constructor and thus can only be instantiated
  * by its static methods.
+ * <p>
+ * Every specification carries a seed for the generator. Generating a puzzle twice from specifications with
+ * the same properties and seed results in the same puzzle. The static methods choose a random seed, which can
+ * be replaced with {@link PuzzleSpecification#withSeed(long)}. For parallel runs,
+ * {@link PuzzleSpecification#derive(long)} creates independent seeds for every worker or puzzle.
+ * <p>
+ * Optionally, a specification carries a difficulty target and the requirement of a unique solution, see
+ * {@link PuzzleSpecification#withDifficulty(DifficultyTier, boolean)}.
  */
 public class PuzzleSpecification {
     private static final int MIN_SIZE = 4;
     private static final int MAX_SIZE = 25;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
 
     private final boolean solution;
     private final int width;
     private final int height;
     private final int islandCount;
-
-    private static final Random random = new Random(System.nanoTime());
+    private final long seed;
+    private final DifficultyTier difficulty;
+    private final boolean unique;
 
     /**
      * Creates a new specification where the width, height and number of islands are chosen randomly.
@@ -30,7 +40,7 @@ public class PuzzleSpecification {
         int width = intBetween(MIN_SIZE, MAX_SIZE);
         int height = intBetween(MIN_SIZE, MAX_SIZE);
 
-        return new PuzzleSpecification(solution, width, height, randomIslandCount(width, height));
+        return new PuzzleSpecification(solution, width, height, randomIslandCount(width, height), randomSeed(), null, false);
     }
 
     /**
@@ -46,7 +56,7 @@ public class PuzzleSpecification {
     public static PuzzleSpecification withBounds(boolean solution, int width, int height) {
         checkBounds(width, height);
 
-        return new PuzzleSpecification(solution, width, height, randomIslandCount(width, height));
+        return new PuzzleSpecification(solution, width, height, randomIslandCount(width, height), randomSeed(), null, false);
     }
 
     /**
@@ -67,17 +77,60 @@ public class PuzzleSpecification {
             throw new IllegalArgumentException("Number of islands must be in range [2, (Width*Height) / 5]");
         }
 
-        return new PuzzleSpecification(solution, width, height, islandCount);
+        return new PuzzleSpecification(solution, width, height, islandCount, randomSeed(), null, false);
     }
 
     /**
      * A private constructor, so that this class can only be instantiated by its static methods.
      */
-    private PuzzleSpecification(boolean solution, int width, int height, int islandCount) {
+    private PuzzleSpecification(boolean solution, int width, int height, int islandCount, long seed,
+                                DifficultyTier difficulty, boolean unique) {
         this.solution = solution;
         this.width = width;
         this.height = height;
         this.islandCount = islandCount;
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.unique = unique;
+    }
+
+    /**
+     * Returns a copy of this specification with the given seed.
+     *
+     * @param seed the seed for the generator
+     * @return a new specification instance
+     */
+    public PuzzleSpecification withSeed(long seed) {
+        return new PuzzleSpecification(this.solution, this.width, this.height, this.islandCount, seed,
+                this.difficulty, this.unique);
+    }
+
+    /**
+     * Returns a copy of this specification with the given difficulty target. The generated puzzle's hardest
+     * tier of deductions is the given tier. Puzzles of the tiers below {@link DifficultyTier#SEARCH} always have
+     * a unique solution. If the generator can not meet the target, it fails with a
+     * {@link de.karstenkoehler.bridges.model.generator.TargetNotReachedException} instead of returning a
+     * puzzle that misses it.
+     *
+     * @param difficulty the desired difficulty, or null for any difficulty
+     * @param unique     true if the generated puzzle must have exactly one solution
+     * @return a new specification instance
+     */
+    public PuzzleSpecification withDifficulty(DifficultyTier difficulty, boolean unique) {
+        return new PuzzleSpecification(this.solution, this.width, this.height, this.islandCount, this.seed,
+                difficulty, unique);
+    }
+
+    /**
+     * Returns a copy of this specification with a seed derived from this seed and the given index. The derived
+     * seeds of different indices are statistically independent, so every worker of a parallel run (or every
+     * puzzle of a series) can use its own index to get a reproducible seed.
+     *
+     * @param index the index of the worker or puzzle
+     * @return a new specification instance
+     */
+    public PuzzleSpecification derive(long index) {
+        return withSeed(mix64(this.seed + (index + 1) * GOLDEN_GAMMA));
     }
 
     /**
@@ -116,6 +169,42 @@ public class PuzzleSpecification {
         return islandCount;
     }
 
+    /**
+     * Returns the desired difficulty of the puzzle to generate.
+     *
+     * @return the desired difficulty, or null if any difficulty is fine
+     */
+    public DifficultyTier getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns true if the generated puzzle must have exactly one solution.
+     *
+     * @return true if the generated puzzle must have a unique solution
+     */
+    public boolean isUniqueSolutionRequired() {
+        return unique;
+    }
+
+    /**
+     * Returns true if the generated puzzle has to meet a difficulty target or has to have a unique solution.
+     *
+     * @return true if the generated puzzle has to be rated
+     */
+    public boolean hasRatingTarget() {
+        return difficulty != null || unique;
+    }
+
+    /**
+     * Returns the seed for the generator.
+     *
+     * @return the seed for the generator
+     */
+    public long getSeed() {
+        return seed;
+    }
+
     /**
      * Returns a random integer between {@param min} (inclusive) and {@param max} (inclusive).
      *
@@ -124,7 +213,28 @@ public class PuzzleSpecification {
      * @return a random integer
      */
     private static int intBetween(int min, int max) {
-        return min + random.nextInt(max - min + 1);
+        return ThreadLocalRandom.current().nextInt(min, max + 1);
+    }
+
+    /**
+     * Returns a random seed for new specifications.
+     *
+     * @return a random seed
+     */
+    private static long randomSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Scrambles the bits of the given value, like the finalizer of the SplitMix64 generator.
+     *
+     * @param z the value to scramble
+     * @return the scrambled value
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
     }
 
     /**
@@ -174,6 +284,9 @@ public class PuzzleSpecification {
                 "width=" + width +
                 ", height=" + height +
                 ", islandCount=" + islandCount +
+                ", seed=" + seed +
+                ", difficulty=" + difficulty +
+                ", unique=" + unique +
                 '}';
     }
 }
@@ -0,0 +1,150 @@
+package de.karstenkoehler.bridges.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The immutable structure of a {@link BridgesPuzzle}: its islands, the connections between them, the adjacency of
+ * each island and the connections crossing each other. Islands and connections are addressed by their position in
+ * {@link BridgesPuzzle#getIslands()} and {@link BridgesPuzzle#getConnections()}.
+ * <p>
+ * The topology does not contain any bridges, so it can be shared by any number of {@link BridgeState} instances
+ * and threads.
+ */
+public final class PuzzleTopology {
+    private static final int DIRECTIONS = Direction.values().length;
+
+    private final List<Island> islands;
+    private final List<Connection> connections;
+    private final int[] required;
+    private final int[] start;
+    private final int[] end;
+    private final int[] adjacency;
+    private final int[][] crossings;
+
+    /**
+     * Creates a new topology. The arrays are taken over without copying, so they must not be modified afterwards.
+     */
+    PuzzleTopology(List<Island> islands, List<Connection> connections, int[] start, int[] end, int[] adjacency, int[][] crossings) {
+        this.islands = Collections.unmodifiableList(Arrays.asList(islands.toArray(new Island[0])));
+        this.connections = Collections.unmodifiableList(Arrays.asList(connections.toArray(new Connection[0])));
+        this.required = islands.stream().mapToInt(Island::getRequiredBridges).toArray();
+        this.start = start;
+        this.end = end;
+        this.adjacency = adjacency;
+        this.crossings = crossings;
+    }
+
+    /**
+     * Returns the number of islands.
+     *
+     * @return the number of islands
+     */
+    public int islandCount() {
+        return this.required.length;
+    }
+
+    /**
+     * Returns the number of connections.
+     *
+     * @return the number of connections
+     */
+    public int connectionCount() {
+        return this.start.length;
+    }
+
+    /**
+     * Returns the island with the given index.
+     *
+     * @param island the index of the island
+     * @return the island
+     */
+    public Island getIsland(int island) {
+        return this.islands.get(island);
+    }
+
+    /**
+     * Returns the model object of the connection with the given index. Its bridge count belongs to the puzzle
+     * and is unrelated to any {@link BridgeState}.
+     *
+     * @param c the index of the connection
+     * @return the connection
+     */
+    public Connection getConnection(int c) {
+        return this.connections.get(c);
+    }
+
+    /**
+     * Returns the number of bridges the given island needs. The value is taken when the topology is created.
+     *
+     * @param island the index of the island
+     * @return the number of required bridges
+     */
+    public int required(int island) {
+        return this.required[island];
+    }
+
+    /**
+     * Returns the index of the start island of the given connection.
+     *
+     * @param c the index of the connection
+     * @return the index of the start island
+     */
+    public int start(int c) {
+        return this.start[c];
+    }
+
+    /**
+     * Returns the index of the end island of the given connection.
+     *
+     * @param c the index of the connection
+     * @return the index of the end island
+     */
+    public int end(int c) {
+        return this.end[c];
+    }
+
+    /**
+     * Returns the index of the island on the other side of the connection.
+     *
+     * @param c      the index of the connection
+     * @param island the index of one of the islands of the connection
+     * @return the index of the other island
+     */
+    public int other(int c, int island) {
+        return this.start[c] == island ? this.end[c] : this.start[c];
+    }
+
+    /**
+     * Returns the index of the connection attached to the island in the given direction.
+     *
+     * @param island    the index of the island
+     * @param direction the direction to look for the connection
+     * @return the index of the connection, -1 if there is none
+     */
+    public int adjacent(int island, Direction direction) {
+        return this.adjacency[island * DIRECTIONS + direction.ordinal()];
+    }
+
+    /**
+     * Returns the number of connections that geometrically cross the given connection.
+     *
+     * @param c the index of the connection
+     * @return the number of crossing connections
+     */
+    public int crossingCount(int c) {
+        return this.crossings[c].length;
+    }
+
+    /**
+     * Returns the index of a connection that geometrically crosses the given connection.
+     *
+     * @param c the index of the connection
+     * @param i the position in the list of crossing connections, between 0 and {@link #crossingCount(int)}
+     * @return the index of the crossing connection
+     */
+    public int crossing(int c, int i) {
+        return this.crossings[c][i];
+    }
+}
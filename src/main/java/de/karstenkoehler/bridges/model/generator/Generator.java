@@ -6,10 +6,14 @@ import de.karstenkoehler.bridges.model.PuzzleSpecification;
 /**
  * A generator is responsible for creating random {@link BridgesPuzzle}s. The generated puzzle must always have
  * at least one valid solution. Implementations of this interface should be reusable to create multiple puzzles.
+ * <p>
+ * The generated puzzle must only depend on the given specification, so that generating a puzzle twice from
+ * the same specification and seed yields the same puzzle.
  */
 public interface Generator {
     /**
-     * Generates a new random {@link BridgesPuzzle} from the given specification.
+     * Generates a new random {@link BridgesPuzzle} from the given specification. The randomness is taken
+     * from the seed of the specification.
      *
      * @param spec the specification for the generated puzzle
      * @return the generated puzzle
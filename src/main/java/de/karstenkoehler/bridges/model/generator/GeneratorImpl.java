@@ -2,10 +2,17 @@ package de.karstenkoehler.bridges.model.generator;
 
 import de.karstenkoehler.bridges.io.validator.ValidateException;
 import de.karstenkoehler.bridges.io.validator.Validator;
+import de.karstenkoehler.bridges.model.BridgeState;
 import de.karstenkoehler.bridges.model.BridgesPuzzle;
 import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.DifficultyTier;
+import de.karstenkoehler.bridges.model.Direction;
 import de.karstenkoehler.bridges.model.Island;
 import de.karstenkoehler.bridges.model.PuzzleSpecification;
+import de.karstenkoehler.bridges.model.solver.DifficultyRater;
+import de.karstenkoehler.bridges.model.solver.DifficultyRating;
+import de.karstenkoehler.bridges.model.solver.RatingSession;
+import de.karstenkoehler.bridges.model.solver.SolutionCounter;
 
 import java.util.*;
 
@@ -18,14 +25,35 @@ import java.util.*;
  * If no new island can be added during a step, an attempt is made to split an existing bridge. This creates a new
  * island in the middle of this bridge. If this is not possible, all existing islands are discarded and the
  * generator starts from scratch.
+ * <p>
+ * If the specification has a difficulty target or requires a unique solution, the generated candidate is edited
+ * until it meets them. All edits keep the solution valid: the number of bridges of a connection of the solution
+ * is switched between one and two, a bridge is added between two islands or removed, or an island with a single
+ * bridge is moved to another island. Switching the bridges of a connection is applied to the candidate itself and
+ * rated by a {@link RatingSession}, which only repeats the work that depends on the changed islands. The other
+ * edits change the connections of the puzzle, so a new candidate is built and rated. Edits that move the candidate
+ * away from the target are reverted. Only if a candidate does not reach the target within a limited number of
+ * edits, a new candidate is generated. The target is a hard constraint: if none of a limited number of candidates
+ * reaches it, a {@link TargetNotReachedException} reports the closest candidate instead of returning a puzzle that
+ * does not meet the specification.
+ * <p>
+ * All random decisions are drawn from a {@link SplittableRandom} seeded with the seed of the specification,
+ * so the generated puzzle is reproducible. Every instance has its own working state. Instances must not be
+ * shared between threads; use {@link ParallelGenerator} to generate puzzles on multiple threads.
  */
 public class GeneratorImpl implements Generator {
-    private static final Random random = new Random(System.nanoTime());
+    private static final int MAX_EDITS = 1000;
+    private static final int MAX_CANDIDATES = 10;
+    private static final DifficultyTier[] TIERS = DifficultyTier.values();
 
     private final Validator validator;
     private final List<Island> islands;
     private final List<Connection> connections;
     private final Counter counter;
+    private final OccupancyGrid grid;
+    private final DifficultyRater rater;
+    private final SolutionCounter solutionCounter;
+    private SplittableRandom random;
 
     /**
      * @param validator a validator to check if the generated puzzles are correct
@@ -35,24 +63,44 @@ public class GeneratorImpl implements Generator {
         this.islands = new ArrayList<>();
         this.connections = new ArrayList<>();
         this.counter = new Counter();
+        this.grid = new OccupancyGrid();
+        this.rater = new DifficultyRater();
+        this.solutionCounter = new SolutionCounter();
     }
 
     /**
+     * @throws TargetNotReachedException if the specification has a difficulty target or requires a unique
+     *                                   solution, and no candidate could be edited to meet it
      * @see Generator#generate(PuzzleSpecification)
      */
     @Override
     public BridgesPuzzle generate(PuzzleSpecification spec) {
+        this.random = new SplittableRandom(spec.getSeed());
+        Candidate closest = null;
+        int candidates = 0;
         while (true) {
             try {
-                // The generateNewPuzzle-method still has a bug that allows the
-                // last set bridge to cross other islands/connections, therefore another
-                // validation step is needed.
+                // The islands are only checked incrementally while generating, so the
+                // finished puzzle is validated once more as a safety net.
                 BridgesPuzzle puzzle = generateNewPuzzle(spec);
                 if (isInvalid(puzzle)) {
                     continue;
                 }
+                if (spec.hasRatingTarget()) {
+                    Candidate candidate = steer(puzzle, spec);
+                    if (candidate.distance > 0) {
+                        if (closest == null || candidate.distance < closest.distance) {
+                            closest = candidate;
+                        }
+                        if (++candidates < MAX_CANDIDATES) {
+                            continue;
+                        }
+                        throw missedTarget(closest, spec);
+                    }
+                    puzzle = candidate.puzzle;
+                }
                 if (!spec.generateSolution()) {
-                    puzzle.restart();
+                    removeSolution(puzzle);
                 }
                 return puzzle;
             } catch (RetryException ignored) {
@@ -69,7 +117,6 @@ public class GeneratorImpl implements Generator {
      */
     private BridgesPuzzle generateNewPuzzle(PuzzleSpecification spec) throws RetryException {
         this.resetGenerator(spec);
-        BridgesPuzzle puzzle = new BridgesPuzzle(getIslandList(), getBridgeList(), spec.getWidth(), spec.getHeight());
 
         while (this.islands.size() < spec.getIslandCount()) {
             if (counter.shouldReset()) {
@@ -84,40 +131,402 @@ public class GeneratorImpl implements Generator {
                 continue;
             }
 
-            puzzle = tryNextIsland(spec);
+            tryNextIsland(spec);
         }
 
+        return buildPuzzle(spec);
+    }
+
+    /**
+     * Creates a puzzle from the current islands and connections of the generator. The required bridges of the
+     * islands are computed from the connections. The puzzle gets its own copies of the islands and connections,
+     * so later edits of the generator do not change it.
+     *
+     * @param spec the specification for the generated puzzle
+     * @return a puzzle with all connections filled in
+     */
+    private BridgesPuzzle buildPuzzle(PuzzleSpecification spec) {
+        List<Island> islands = getIslandList();
+        BridgesPuzzle puzzle = new BridgesPuzzle(islands, getBridgeList(islands), spec.getWidth(), spec.getHeight());
         puzzle.fillMissingConnections();
         return puzzle;
     }
 
     /**
-     * Tries to add a new island to the existing puzzle. To do so, this method randomly selects an existing
-     * island and connects a new island with a bridge to it.
+     * Edits the generated islands and connections until the candidate meets the difficulty target and the
+     * uniqueness requirement of the specification, or the maximum number of edits is reached. Three out of four
+     * edits switch the number of bridges of one of the generator's connections between one and two, the others
+     * add, remove or move bridges and islands, see {@link GeneratorImpl#editIslands(PuzzleSpecification)}. Edits that
+     * increase the distance to the target are reverted. On return, the islands and connections of the generator
+     * match the returned candidate.
+     *
+     * @param puzzle the puzzle built from the current islands and connections
+     * @param spec   the specification for the generated puzzle
+     * @return the closest candidate reached
+     */
+    private Candidate steer(BridgesPuzzle puzzle, PuzzleSpecification spec) {
+        List<List<Connection>> incident = incidentConnections();
+        Candidate candidate = rate(puzzle, spec);
+
+        for (int edit = 0; edit < MAX_EDITS && candidate.distance > 0; edit++) {
+            if (random.nextInt(4) > 0) {
+                candidate = switchBridgeCount(candidate, spec, incident);
+                continue;
+            }
+
+            List<Island> islands = new ArrayList<>(this.islands);
+            List<Connection> connections = new ArrayList<>(this.connections);
+            if (!editIslands(spec)) {
+                continue;
+            }
+
+            Candidate edited = rate(buildPuzzle(spec), spec);
+            if (edited.distance <= candidate.distance) {
+                candidate = edited;
+                incident = incidentConnections();
+            } else {
+                restore(islands, connections);
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Switches the number of bridges of a connection selected by
+     * {@link GeneratorImpl#selectEdit(Candidate, PuzzleSpecification, List)} between one and two, both in the
+     * generator and in the candidate, and rates the candidate again. If the candidate moves away from the target,
+     * the edit is reverted.
+     *
+     * @return the edited candidate, or the given one if the edit was reverted
+     */
+    private Candidate switchBridgeCount(Candidate candidate, PuzzleSpecification spec,
+                                        List<List<Connection>> incident) {
+        Connection connection = selectEdit(candidate, spec, incident);
+        switchBridgeCount(connection, candidate.puzzle);
+
+        Candidate edited = rate(candidate.puzzle, candidate.session, spec);
+        if (edited.distance <= candidate.distance) {
+            return edited;
+        }
+        switchBridgeCount(connection, candidate.puzzle);
+        return candidate;
+    }
+
+    private Candidate rate(BridgesPuzzle puzzle, PuzzleSpecification spec) {
+        return rate(puzzle, rater.startSession(puzzle, spec.getDifficulty() == DifficultyTier.SEARCH), spec);
+    }
+
+    private Candidate rate(BridgesPuzzle puzzle, RatingSession session, PuzzleSpecification spec) {
+        DifficultyRating rating = session.rate();
+        return new Candidate(puzzle, session, rating, distance(puzzle, rating, session.getLookaheadChoices(), spec));
+    }
+
+    /**
+     * Removes the bridges of the solution from the puzzle. Unlike a restart, restoring an empty state is not
+     * recorded in the move journal, so the solution can not be revealed by undoing.
+     */
+    private static void removeSolution(BridgesPuzzle puzzle) {
+        puzzle.restore(new BridgeState(puzzle.getTopology()));
+    }
+
+    /**
+     * Creates the exception for a specification whose target was missed by all candidates.
+     */
+    private TargetNotReachedException missedTarget(Candidate closest, PuzzleSpecification spec) {
+        boolean unique = closest.rating.getHardestTier() != DifficultyTier.SEARCH
+                || solutionCounter.isUnique(closest.puzzle);
+        if (!spec.generateSolution()) {
+            removeSolution(closest.puzzle);
+        }
+        return new TargetNotReachedException(spec, closest.puzzle, closest.rating, unique);
+    }
+
+    /**
+     * Returns the distance of the rated candidate to the target of the specification. A missing unique solution
+     * weighs more than any difference in difficulty, which weighs more than the number of connections that are
+     * left open by the tiers up to the target. The open connections give the edits a direction towards puzzles
+     * that are easier or less ambiguous, long before the hardest tier changes.
+     * <p>
+     * For puzzles that are too easy, the only target with such a direction is {@link DifficultyTier#SEARCH}: the
+     * fewer conclusions the lookahead can choose from, the closer the puzzle is to needing a search. This is what
+     * finds puzzles with a unique solution that still need a search, which are far too rare to be found by chance.
+     *
+     * @param candidate the rated puzzle
+     * @param rating    the rating of the candidate
+     * @param choices   the choices of the lookahead, see {@link RatingSession#getLookaheadChoices()}
+     * @param spec      the specification for the generated puzzle
+     * @return the distance to the target, 0 if the target is met
+     */
+    private int distance(BridgesPuzzle candidate, DifficultyRating rating, int choices, PuzzleSpecification spec) {
+        DifficultyTier tier = rating.getHardestTier();
+        DifficultyTier target = spec.getDifficulty();
+        int tierWeight = candidate.getConnections().size() + 1;
+
+        int distance = 0;
+        if (target != null && tier != target) {
+            distance += Math.abs(tier.ordinal() - target.ordinal()) * tierWeight;
+            if (tier.compareTo(target) > 0) {
+                distance += rating.getOpenConnections(TIERS[target.ordinal() + 1]);
+            } else if (target == DifficultyTier.SEARCH) {
+                distance += choices < 0 ? candidate.getConnections().size() : choices;
+            }
+        }
+        if (spec.isUniqueSolutionRequired() && tier == DifficultyTier.SEARCH && !solutionCounter.isUnique(candidate)) {
+            distance += TIERS.length * tierWeight + rating.getOpenConnections(DifficultyTier.SEARCH);
+        }
+        return distance;
+    }
+
+    /**
+     * Selects the connection to edit next. If the candidate is too hard or ambiguous, the connection is taken
+     * from the surroundings of a connection the easier tiers left open, because edits elsewhere rarely change
+     * the outcome. Otherwise any connection is selected.
+     *
+     * @param candidate the rated candidate
+     * @param spec      the specification for the generated puzzle
+     * @param incident  the generated connections of every island, indexed by the id of the island
+     * @return a connection of the generator
+     */
+    private Connection selectEdit(Candidate candidate, PuzzleSpecification spec, List<List<Connection>> incident) {
+        DifficultyRating rating = candidate.rating;
+        DifficultyTier target = spec.getDifficulty();
+        BitSet open = new BitSet();
+        if (target != null && rating.getHardestTier().compareTo(target) > 0) {
+            open = rating.getOpenConnectionSet(TIERS[target.ordinal() + 1]);
+        } else if (spec.isUniqueSolutionRequired()) {
+            open = rating.getOpenConnectionSet(DifficultyTier.SEARCH);
+        }
+
+        if (open.isEmpty()) {
+            return this.connections.get(random.nextInt(this.connections.size()));
+        }
+
+        int c = open.nextSetBit(0);
+        for (int skip = random.nextInt(open.cardinality()); skip > 0; skip--) {
+            c = open.nextSetBit(c + 1);
+        }
+        Connection stuck = candidate.puzzle.getConnections().get(c);
+        Island island = random.nextBoolean() ? stuck.getStartIsland() : stuck.getEndIsland();
+        List<Connection> candidates = incident.get(island.getId());
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+
+    /**
+     * Returns the generated connections of every island, indexed by the id of the island.
+     */
+    private List<List<Connection>> incidentConnections() {
+        List<List<Connection>> incident = new ArrayList<>(this.islands.size());
+        for (int i = 0; i < this.islands.size(); i++) {
+            incident.add(new ArrayList<>(4));
+        }
+        for (Connection connection : this.connections) {
+            incident.get(connection.getStartIsland().getId()).add(connection);
+            incident.get(connection.getEndIsland().getId()).add(connection);
+        }
+        return incident;
+    }
+
+    /**
+     * Switches the number of bridges of a generated connection between one and two. The same connection of the
+     * puzzle built from the generator and the required bridges of its islands are changed accordingly.
+     *
+     * @param connection a connection of the generator
+     * @param puzzle     the puzzle built from the current islands and connections
+     */
+    private void switchBridgeCount(Connection connection, BridgesPuzzle puzzle) {
+        int delta = connection.getBridgeCount() == 1 ? 1 : -1;
+        connection.setBridgeCount(connection.getBridgeCount() + delta);
+
+        Island start = puzzle.getIslands().get(connection.getStartIsland().getId());
+        Island end = puzzle.getIslands().get(connection.getEndIsland().getId());
+        for (Direction direction : Direction.values()) {
+            Connection built = puzzle.getConnectedBridge(start, direction);
+            if (built != null && (built.getStartIsland() == end || built.getEndIsland() == end)) {
+                built.setBridgeCount(connection.getBridgeCount());
+            }
+        }
+        start.setRequiredBridges(start.getRequiredBridges() + delta);
+        end.setRequiredBridges(end.getRequiredBridges() + delta);
+    }
+
+    /**
+     * Applies a random edit to the islands and connections of the generator that keeps them a valid solution:
+     * <ul>
+     * <li>an island with a single bridge is moved next to another island and connected to it,</li>
+     * <li>a bridge is added between an island and the nearest island in a random direction, or</li>
+     * <li>a bridge is removed, if both islands keep another bridge and all islands stay connected.</li>
+     * </ul>
+     * Unlike switching the number of bridges, these edits change the connections of the puzzle.
+     *
+     * @param spec the specification for the generated puzzle
+     * @return true if the islands or connections changed, false if the edit was not possible
+     */
+    private boolean editIslands(PuzzleSpecification spec) {
+        fillGrid(spec);
+        switch (random.nextInt(3)) {
+            case 0:
+                return moveLeaf(spec);
+            case 1:
+                return addBridge();
+            default:
+                return removeBridge();
+        }
+    }
+
+    private boolean moveLeaf(PuzzleSpecification spec) {
+        Island leaf = selectRandomIsland();
+        Island anchor = selectRandomIsland();
+        List<Connection> bridges = incidentConnections().get(leaf.getId());
+        if (bridges.size() != 1 || bridges.get(0).getStartIsland() == anchor || bridges.get(0).getEndIsland() == anchor) {
+            return false;
+        }
+
+        // the island keeps its place in the list, which must stay in the order of the ids
+        int index = this.islands.indexOf(leaf);
+        this.islands.remove(index);
+        this.connections.remove(bridges.get(0));
+        fillGrid(spec);
+        Island moved = random.nextBoolean()
+                ? newRandomHorizontalIsland(anchor, spec.getWidth())
+                : newRandomVerticalIsland(anchor, spec.getHeight());
+        if (isForbidden(moved) || !this.grid.canConnect(anchor, moved)) {
+            this.islands.add(index, leaf);
+            this.connections.add(bridges.get(0));
+            return false;
+        }
+
+        moved.setId(leaf.getId());
+        this.islands.add(index, moved);
+        this.connections.add(newRandomBridge(anchor, moved));
+        return true;
+    }
+
+    private boolean addBridge() {
+        Island start = selectRandomIsland();
+        Direction direction = Direction.values()[random.nextInt(Direction.values().length)];
+        Island end = null;
+        for (Island island : this.islands) {
+            if (isAhead(start, island, direction) && (end == null || isAhead(island, end, direction))) {
+                end = island;
+            }
+        }
+        if (end == null || !this.grid.canBridge(start, end)) {
+            return false;
+        }
+        for (Connection connection : incidentConnections().get(start.getId())) {
+            if (connection.getStartIsland() == end || connection.getEndIsland() == end) {
+                return false;
+            }
+        }
+
+        this.connections.add(newRandomBridge(start, end));
+        return true;
+    }
+
+    /**
+     * Checks if the island lies in the given direction of the start island, on the same row or column.
+     */
+    private static boolean isAhead(Island start, Island island, Direction direction) {
+        switch (direction) {
+            case NORTH:
+                return island.getX() == start.getX() && island.getY() < start.getY();
+            case EAST:
+                return island.getY() == start.getY() && island.getX() > start.getX();
+            case SOUTH:
+                return island.getX() == start.getX() && island.getY() > start.getY();
+            default:
+                return island.getY() == start.getY() && island.getX() < start.getX();
+        }
+    }
+
+    private boolean removeBridge() {
+        Connection bridge = this.connections.get(random.nextInt(this.connections.size()));
+        List<List<Connection>> incident = incidentConnections();
+        if (incident.get(bridge.getStartIsland().getId()).size() == 1
+                || incident.get(bridge.getEndIsland().getId()).size() == 1) {
+            return false;
+        }
+
+        this.connections.remove(bridge);
+        if (!isConnected()) {
+            this.connections.add(bridge);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the connections of the generator link all islands.
+     */
+    private boolean isConnected() {
+        int[] parent = new int[this.islands.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        int groups = parent.length;
+        for (Connection connection : this.connections) {
+            int a = root(parent, connection.getStartIsland().getId());
+            int b = root(parent, connection.getEndIsland().getId());
+            if (a != b) {
+                parent[a] = b;
+                groups--;
+            }
+        }
+        return groups == 1;
+    }
+
+    private static int root(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Marks the current islands and bridges of the generator in the occupancy grid.
+     */
+    private void fillGrid(PuzzleSpecification spec) {
+        this.grid.reset(spec.getWidth(), spec.getHeight());
+        this.islands.forEach(this.grid::addIsland);
+        this.connections.forEach(connection -> this.grid.addBridge(connection.getStartIsland(), connection.getEndIsland()));
+    }
+
+    /**
+     * Reverts the islands and connections of the generator to an earlier copy, which was sorted and numbered by
+     * {@link GeneratorImpl#getIslandList()}.
+     */
+    private void restore(List<Island> islands, List<Connection> connections) {
+        this.islands.clear();
+        this.islands.addAll(islands);
+        this.connections.clear();
+        this.connections.addAll(connections);
+        for (int i = 0; i < this.islands.size(); i++) {
+            this.islands.get(i).setId(i);
+        }
+    }
+
+    /**
+     * Tries to add a new island to the existing islands. To do so, this method randomly selects an existing
+     * island and connects a new island with a bridge to it. Only the new island and its bridge are checked
+     * against the occupancy grid, the rest of the puzzle is known to be valid.
      *
      * @param spec the specification for the generated puzzle
-     * @return the generated puzzle
      */
-    private BridgesPuzzle tryNextIsland(PuzzleSpecification spec) throws RetryException {
+    private void tryNextIsland(PuzzleSpecification spec) throws RetryException {
         Island start = selectRandomIsland();
         Island newIsland = generateAdjacentIsland(start, spec.getWidth(), spec.getHeight());
         Connection bridge = newRandomBridge(start, newIsland);
 
-        this.islands.add(newIsland);
-        this.connections.add(bridge);
-
-        setRequiredBridgesForAllIslands();
-        BridgesPuzzle puzzle = new BridgesPuzzle(getIslandList(), getBridgeList(), spec.getWidth(), spec.getHeight());
-        puzzle.fillMissingConnections();
-
-        if (isInvalid(puzzle)) {
-            this.islands.remove(newIsland);
-            this.connections.remove(bridge);
-            counter.incrementSplitCounter();
-        } else {
+        if (this.grid.canConnect(start, newIsland)) {
+            this.islands.add(newIsland);
+            this.connections.add(bridge);
+            this.grid.addIsland(newIsland);
+            this.grid.addBridge(start, newIsland);
             counter.resetCounters();
+        } else {
+            counter.incrementSplitCounter();
         }
-        return puzzle;
     }
 
     private Connection getLongestBridge() {
@@ -146,17 +555,13 @@ public class GeneratorImpl implements Generator {
         int minX = Math.min(start.getX(), end.getX());
         int minY = Math.min(start.getY(), end.getY());
 
-        if (longest.isHorizontal()) {
-            Island newIsland = createNewValidIslandHorizontal(longest, minX, minY);
-            this.islands.add(newIsland);
-            this.connections.add(newRandomBridge(start, newIsland));
-            this.connections.add(newRandomBridge(newIsland, end));
-        } else {
-            Island newIsland = createNewValidIslandVertical(longest, minX, minY);
-            this.islands.add(newIsland);
-            this.connections.add(newRandomBridge(start, newIsland));
-            this.connections.add(newRandomBridge(newIsland, end));
-        }
+        Island newIsland = longest.isHorizontal()
+                ? createNewValidIslandHorizontal(longest, minX, minY)
+                : createNewValidIslandVertical(longest, minX, minY);
+        this.islands.add(newIsland);
+        this.connections.add(newRandomBridge(start, newIsland));
+        this.connections.add(newRandomBridge(newIsland, end));
+        this.grid.addIsland(newIsland);
     }
 
     private Island createNewValidIslandHorizontal(Connection longest, int minX, int minY) throws RetryException {
@@ -186,14 +591,18 @@ public class GeneratorImpl implements Generator {
     }
 
     private boolean isForbidden(Island island) {
-        return this.islands.stream().anyMatch(other -> Math.abs(island.getX() - other.getX()) + Math.abs(island.getY() - other.getY()) <= 1);
+        return this.grid.isNearIsland(island);
     }
 
     private void resetGenerator(PuzzleSpecification spec) {
         counter.resetCounters();
         this.islands.clear();
         this.connections.clear();
-        this.islands.add(newRandomIsland(spec.getWidth(), spec.getHeight()));
+        this.grid.reset(spec.getWidth(), spec.getHeight());
+
+        Island first = newRandomIsland(spec.getWidth(), spec.getHeight());
+        this.islands.add(first);
+        this.grid.addIsland(first);
     }
 
     /**
@@ -213,6 +622,9 @@ public class GeneratorImpl implements Generator {
      * like being sorted by coordinate and having appropriate ids. Because in this implementation new
      * islands are created randomly without any order, we need to prepare the existing list to match those
      * conditions.
+     * <p>
+     * The returned list contains copies of the islands, so that the generated puzzles are not affected when
+     * this generator continues working.
      *
      * @return the prepared list of all existing islands
      */
@@ -232,7 +644,11 @@ public class GeneratorImpl implements Generator {
             this.islands.get(i).setId(i);
         }
 
-        return this.islands;
+        List<Island> result = new ArrayList<>(this.islands.size());
+        for (Island island : this.islands) {
+            result.add(new Island(island.getId(), island.getX(), island.getY(), island.getRequiredBridges()));
+        }
+        return result;
     }
 
     /**
@@ -241,14 +657,15 @@ public class GeneratorImpl implements Generator {
      * connections are created randomly without any order, we need to prepare the existing list to match those
      * conditions.
      *
+     * @param islands the copies of the islands returned by {@link GeneratorImpl#getIslandList()}
      * @return the prepared list of all existing connections
      */
-    private List<Connection> getBridgeList() {
+    private List<Connection> getBridgeList(List<Island> islands) {
         List<Connection> result = new ArrayList<>(this.connections.size());
 
         for (Connection connection : this.connections) {
-            Island a = connection.getStartIsland();
-            Island b = connection.getEndIsland();
+            Island a = islands.get(connection.getStartIsland().getId());
+            Island b = islands.get(connection.getEndIsland().getId());
             if (a.getId() > b.getId()) {
                 result.add(new Connection(b, a, connection.getBridgeCount()));
             } else {
@@ -339,6 +756,23 @@ public class GeneratorImpl implements Generator {
         return new Island(0, random.nextInt(width), random.nextInt(height), 0);
     }
 
+    /**
+     * A rated candidate puzzle, the session that rated it and its distance to the target of the specification.
+     */
+    private static class Candidate {
+        private final BridgesPuzzle puzzle;
+        private final RatingSession session;
+        private final DifficultyRating rating;
+        private final int distance;
+
+        Candidate(BridgesPuzzle puzzle, RatingSession session, DifficultyRating rating, int distance) {
+            this.puzzle = puzzle;
+            this.session = session;
+            this.rating = rating;
+            this.distance = distance;
+        }
+    }
+
     private static class RetryException extends Exception {
     }
 }
@@ -0,0 +1,116 @@
+package de.karstenkoehler.bridges.model.generator;
+
+import de.karstenkoehler.bridges.model.Island;
+
+import java.util.Arrays;
+
+/**
+ * This is a utility class for {@link GeneratorImpl}. It records for every field of the puzzle whether it is
+ * empty, holds an island or is crossed by a bridge. This allows the generator to check a new island and its
+ * bridge in time proportional to the length of the bridge, instead of validating the whole puzzle again.
+ */
+class OccupancyGrid {
+    private static final byte EMPTY = 0;
+    private static final byte ISLAND = 1;
+    private static final byte HORIZONTAL = 2;
+    private static final byte VERTICAL = 3;
+
+    private int width;
+    private int height;
+    private byte[] cells = new byte[0];
+
+    /**
+     * Removes all islands and bridges and adjusts the grid to the given size.
+     *
+     * @param width  width of the puzzle
+     * @param height height of the puzzle
+     */
+    void reset(int width, int height) {
+        this.width = width;
+        this.height = height;
+        if (this.cells.length < width * height) {
+            this.cells = new byte[width * height];
+        } else {
+            Arrays.fill(this.cells, EMPTY);
+        }
+    }
+
+    /**
+     * Checks if there is an island on the position of the given island or directly next to it.
+     *
+     * @param island the island to check
+     * @return true if the island is too close to an existing island
+     */
+    boolean isNearIsland(Island island) {
+        int x = island.getX();
+        int y = island.getY();
+        return isIsland(x, y) || isIsland(x - 1, y) || isIsland(x + 1, y) || isIsland(x, y - 1) || isIsland(x, y + 1);
+    }
+
+    /**
+     * Checks if the given island and a bridge from the start island to it can be added. This is the case if
+     * neither the position of the island nor any field between the two islands is occupied.
+     *
+     * @param start  the existing island
+     * @param island the new island
+     * @return true if the island and the bridge do not overlap anything
+     */
+    boolean canConnect(Island start, Island island) {
+        return cell(island.getX(), island.getY()) == EMPTY && canBridge(start, island);
+    }
+
+    /**
+     * Checks if a bridge between the two islands can be added. This is the case if no field between the two
+     * islands is occupied.
+     *
+     * @param start the first island
+     * @param end   the second island
+     * @return true if the bridge does not overlap anything
+     */
+    boolean canBridge(Island start, Island end) {
+        int dx = Integer.signum(end.getX() - start.getX());
+        int dy = Integer.signum(end.getY() - start.getY());
+        for (int x = start.getX() + dx, y = start.getY() + dy; x != end.getX() || y != end.getY(); x += dx, y += dy) {
+            if (cell(x, y) != EMPTY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks the position of the island as occupied. The island may be placed on an existing bridge, if that
+     * bridge is split up.
+     *
+     * @param island the island to add
+     */
+    void addIsland(Island island) {
+        this.cells[island.getY() * this.width + island.getX()] = ISLAND;
+    }
+
+    /**
+     * Marks all fields between the two islands as occupied by a bridge.
+     *
+     * @param start the first island
+     * @param end   the second island
+     */
+    void addBridge(Island start, Island end) {
+        int dx = Integer.signum(end.getX() - start.getX());
+        int dy = Integer.signum(end.getY() - start.getY());
+        byte marker = dy == 0 ? HORIZONTAL : VERTICAL;
+        for (int x = start.getX() + dx, y = start.getY() + dy; x != end.getX() || y != end.getY(); x += dx, y += dy) {
+            this.cells[y * this.width + x] = marker;
+        }
+    }
+
+    private boolean isIsland(int x, int y) {
+        return cell(x, y) == ISLAND;
+    }
+
+    private byte cell(int x, int y) {
+        if (x < 0 || y < 0 || x >= this.width || y >= this.height) {
+            return EMPTY;
+        }
+        return this.cells[y * this.width + x];
+    }
+}
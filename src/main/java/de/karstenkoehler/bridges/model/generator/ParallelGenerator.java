@@ -0,0 +1,145 @@
+package de.karstenkoehler.bridges.model.generator;
+
+import de.karstenkoehler.bridges.io.validator.DefaultValidator;
+import de.karstenkoehler.bridges.io.validator.Validator;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.PuzzleSpecification;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A thread-safe service for generating many puzzles at once. The puzzles are supplied as a parallel stream.
+ * Whenever the stream is split up for another worker thread, the worker gets its own {@link GeneratorImpl}
+ * with its own validator. The workers share no mutable state, so the throughput grows with the number of
+ * available cores.
+ * <p>
+ * The puzzle with index <code>i</code> is generated from {@link PuzzleSpecification#derive(long)} with that
+ * index. The stream is therefore reproducible: the same specification and seed always yield the same puzzles
+ * in the same encounter order, no matter how the work is distributed between the threads.
+ * <p>
+ * If the specification has a difficulty target or requires a unique solution, some indices may miss it, see
+ * {@link GeneratorImpl#generate(PuzzleSpecification)}. These indices are left out of the stream instead of
+ * failing it, so the stream may contain fewer puzzles than requested.
+ */
+public class ParallelGenerator {
+    private final Supplier<Validator> validators;
+
+    /**
+     * Creates a service that validates the generated puzzles with a {@link DefaultValidator}.
+     */
+    public ParallelGenerator() {
+        this(DefaultValidator::new);
+    }
+
+    /**
+     * @param validators creates a new validator for every worker
+     */
+    public ParallelGenerator(Supplier<Validator> validators) {
+        this.validators = validators;
+    }
+
+    /**
+     * Returns a parallel stream of the given number of puzzles, all generated from the same specification
+     * with derived seeds. The puzzles are generated lazily when the stream is consumed.
+     *
+     * @param spec  the specification for the generated puzzles
+     * @param count the number of puzzles to generate
+     * @return a parallel stream of new puzzles
+     */
+    public Stream<BridgesPuzzle> generate(PuzzleSpecification spec, long count) {
+        return generate(spec, count, (miss, index) -> {
+        });
+    }
+
+    /**
+     * Returns a parallel stream of the given number of puzzles, all generated from the same specification
+     * with derived seeds. Every index that missed the target of the specification is left out of the stream
+     * and reported instead. The misses are reported from the worker threads, so the consumer must be
+     * thread-safe.
+     *
+     * @param spec   the specification for the generated puzzles
+     * @param count  the number of puzzles to generate
+     * @param misses receives the exception and the index of every missed puzzle
+     * @return a parallel stream of new puzzles
+     */
+    public Stream<BridgesPuzzle> generate(PuzzleSpecification spec, long count,
+                                          ObjLongConsumer<TargetNotReachedException> misses) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+        return StreamSupport.stream(new PuzzleSpliterator(spec, misses, 0, count), true);
+    }
+
+    /**
+     * Generates the puzzles of the index range [index, fence). Splitting hands half of the range to a new
+     * spliterator with its own generator. Indices that miss the target of the specification are skipped.
+     */
+    private class PuzzleSpliterator implements Spliterator<BridgesPuzzle> {
+        private final PuzzleSpecification spec;
+        private final ObjLongConsumer<TargetNotReachedException> misses;
+        private final long fence;
+        private long index;
+        private Generator generator;
+
+        PuzzleSpliterator(PuzzleSpecification spec, ObjLongConsumer<TargetNotReachedException> misses,
+                          long index, long fence) {
+            this.spec = spec;
+            this.misses = misses;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super BridgesPuzzle> action) {
+            if (generator == null && index < fence) {
+                generator = new GeneratorImpl(validators.get());
+            }
+
+            while (index < fence) {
+                long current = index++;
+                BridgesPuzzle puzzle;
+                try {
+                    puzzle = generator.generate(spec.derive(current));
+                } catch (TargetNotReachedException e) {
+                    misses.accept(e, current);
+                    continue;
+                }
+                action.accept(puzzle);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<BridgesPuzzle> trySplit() {
+            long middle = (index + fence) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+
+            PuzzleSpliterator prefix = new PuzzleSpliterator(spec, misses, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        /**
+         * Returns the number of remaining indices. If some of them may miss the target, this is only an upper
+         * bound, and the spliterator does not report to be sized.
+         */
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            int characteristics = ORDERED | NONNULL | IMMUTABLE;
+            return spec.hasRatingTarget() ? characteristics : characteristics | SIZED | SUBSIZED;
+        }
+    }
+}
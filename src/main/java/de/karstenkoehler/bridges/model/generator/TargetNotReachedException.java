@@ -0,0 +1,56 @@
+package de.karstenkoehler.bridges.model.generator;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.PuzzleSpecification;
+import de.karstenkoehler.bridges.model.solver.DifficultyRating;
+
+/**
+ * This exception indicates that the generator could not create a puzzle with the difficulty or the unique
+ * solution required by the specification. It carries the candidate that came closest to the target, so that
+ * a caller can decide to accept it anyway or to retry with another seed.
+ */
+public class TargetNotReachedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient BridgesPuzzle closest;
+    private final transient DifficultyRating rating;
+    private final boolean unique;
+
+    public TargetNotReachedException(PuzzleSpecification spec, BridgesPuzzle closest, DifficultyRating rating,
+                                     boolean unique) {
+        super(String.format("no puzzle with difficulty %s%s found, closest candidate was %s%s",
+                spec.getDifficulty() == null ? "any" : spec.getDifficulty(),
+                spec.isUniqueSolutionRequired() ? " and a unique solution" : "",
+                rating.getHardestTier(), unique ? " with a unique solution" : " with several solutions"));
+        this.closest = closest;
+        this.rating = rating;
+        this.unique = unique;
+    }
+
+    /**
+     * Returns the candidate that came closest to the target of the specification.
+     *
+     * @return the closest puzzle
+     */
+    public BridgesPuzzle getClosest() {
+        return closest;
+    }
+
+    /**
+     * Returns the rating of the closest candidate.
+     *
+     * @return the rating of the closest puzzle
+     */
+    public DifficultyRating getRating() {
+        return rating;
+    }
+
+    /**
+     * Returns whether the closest candidate has a unique solution.
+     *
+     * @return true if the closest puzzle has exactly one solution
+     */
+    public boolean hasUniqueSolution() {
+        return unique;
+    }
+}
@@ -30,8 +30,6 @@ public class MergerImpl implements Merger {
         // choose an appropriate island as merge point
         Pair<Island, Island> pair = getMergeIslands(left, right);
         int yOffset = pair.getKey().getY() - pair.getValue().getY();
-        pair.getKey().setRequiredBridges(pair.getKey().getRequiredBridges() + 1);
-        pair.getValue().setRequiredBridges(pair.getValue().getRequiredBridges() + 1);
 
         if (yOffset > 0) {
             // apply vertical offset to right puzzle
@@ -47,6 +45,12 @@ public class MergerImpl implements Merger {
             addIslandsAndConnections(islands, connections, right.getIslands(), right.getConnections(), left.getWidth() + 1, 0);
         }
 
+        // the copies of the merge islands need one more bridge, the given puzzles stay untouched
+        Island leftCopy = islands.get(pair.getKey().getId());
+        Island rightCopy = islands.get(left.getIslands().size() + pair.getValue().getId());
+        leftCopy.setRequiredBridges(leftCopy.getRequiredBridges() + 1);
+        rightCopy.setRequiredBridges(rightCopy.getRequiredBridges() + 1);
+
         BridgesPuzzle puzzle = new BridgesPuzzle(islands, connections, width, height);
         puzzle.fillMissingConnections();
         return puzzle;
@@ -0,0 +1,246 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+
+/**
+ * A complete solver that combines logical deductions with a depth-first search. In every node of the search,
+ * the bounds of all connections are propagated until no more conclusions can be drawn (see
+ * {@link SearchState#propagate()}). States where the islands can no longer be connected to a single group
+ * are pruned. If there are still undecided connections, the solver branches on one of them and tries every
+ * possible number of bridges.
+ * <p>
+ * In contrast to {@link SolverImpl} this solver always finds a solution if there is one. The existing bridges
+ * of the puzzle are never removed, so a puzzle with wrongly placed bridges has no solution.
+ * <p>
+ * States that turned out to have no solution are remembered in a bounded {@link TranspositionTable}. When the
+ * search reaches the same situation again after different decisions elsewhere in the puzzle, the subtree is
+ * skipped instead of being refuted a second time.
+ */
+public class BacktrackingSolver implements Solver {
+    /**
+     * The number of states without solution a solver remembers unless specified otherwise.
+     */
+    public static final int DEFAULT_DEAD_STATES = 1 << 16;
+
+    private final int deadStates;
+
+    /**
+     * Creates a solver that remembers up to {@link BacktrackingSolver#DEFAULT_DEAD_STATES} states without solution
+     * during a search.
+     */
+    public BacktrackingSolver() {
+        this(DEFAULT_DEAD_STATES);
+    }
+
+    /**
+     * Creates a solver that remembers up to the given number of states without solution during a search. The
+     * number is rounded up to a power of two of at least 64.
+     *
+     * @param deadStates the maximum number of states to remember, 0 to explore every state
+     * @throws IllegalArgumentException if the number is negative
+     */
+    public BacktrackingSolver(int deadStates) {
+        if (deadStates < 0) {
+            throw new IllegalArgumentException("number of dead states must not be negative, but was " + deadStates);
+        }
+        this.deadStates = deadStates == 0 ? 0 : TranspositionTable.capacity(deadStates);
+    }
+
+    /**
+     * Returns the maximum number of states without solution this solver remembers during a search, after the
+     * rounding applied by the constructor.
+     *
+     * @return the number of states, 0 if the solver does not remember states
+     */
+    public int getDeadStates() {
+        return deadStates;
+    }
+
+    /**
+     * Returns a connection that holds more bridges in every solution of the puzzle than it holds now. Such a
+     * bridge is safe even if the puzzle has more than one solution. Returns null if the puzzle has no solution
+     * or none of its connections needs more bridges in all of its solutions.
+     *
+     * @see Solver#nextSafeBridge(BridgesPuzzle)
+     */
+    @Override
+    public Connection nextSafeBridge(BridgesPuzzle puzzle) {
+        SearchGraph graph = new SearchGraph(puzzle);
+        int[] forced = forcedBridges(graph, true);
+        int c = forced == null ? -1 : nextMissing(graph, forced, 0);
+        return c < 0 ? null : graph.connection(c);
+    }
+
+    /**
+     * Starts a session that determines the bridges of all solutions only once and searches again only if the
+     * puzzle is changed in other ways than by building the returned bridges.
+     *
+     * @see Solver#startSession(BridgesPuzzle)
+     */
+    @Override
+    public SolvingSession startSession(BridgesPuzzle puzzle) {
+        return new SearchSession(this, puzzle);
+    }
+
+    /**
+     * Solves the puzzle completely and adds the missing bridges as moves of the puzzle, so they can be undone.
+     * If the puzzle has no solution, the puzzle is not modified.
+     *
+     * @param puzzle the puzzle to solve
+     * @return true if a solution was found, false otherwise
+     */
+    public boolean solve(BridgesPuzzle puzzle) {
+        SearchGraph graph = new SearchGraph(puzzle);
+        int[] solution = solve(graph);
+        if (solution == null) {
+            return false;
+        }
+
+        for (int c = 0; c < graph.connectionCount(); c++) {
+            Connection connection = graph.connection(c);
+            while (connection.getBridgeCount() < solution[c]) {
+                puzzle.addBridge(connection);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Searches a solution for the given graph.
+     *
+     * @param graph the graph to solve
+     * @return the number of bridges for every connection, null if there is no solution
+     */
+    int[] solve(SearchGraph graph) {
+        SearchState state = new SearchState(graph);
+        if (!state.initialize() || !search(state, createTable())) {
+            return null;
+        }
+        return state.bridges();
+    }
+
+    /**
+     * Determines for every connection the number of bridges it holds in all solutions of the graph, taking the
+     * existing bridges into account. The propagated lower bounds are part of all solutions. For every connection
+     * that holds more bridges in the solutions found so far, a search for a solution with fewer bridges on it
+     * either finds one, which may lower the numbers of other connections too, or proves the number.
+     *
+     * @param graph the graph to solve
+     * @param first true to stop at the first connection that is known to need more bridges than it holds now,
+     *              the numbers from this connection on are not final then
+     * @return the number of bridges every connection holds in all solutions, null if there is no solution
+     */
+    int[] forcedBridges(SearchGraph graph, boolean first) {
+        SearchState state = new SearchState(graph);
+        if (!state.initialize() || !state.propagate() || !state.connectable()) {
+            return null;
+        }
+
+        int[] minimum = searchWithLimit(state.fork(), -1, 0);
+        if (minimum == null) {
+            return null;
+        }
+
+        int[] forced = state.bridges();
+        for (int c = 0; c < graph.connectionCount(); c++) {
+            while (minimum[c] > forced[c]) {
+                if (first && forced[c] > graph.connection(c).getBridgeCount()) {
+                    return forced;
+                }
+                int[] other = searchWithLimit(state.fork(), c, minimum[c] - 1);
+                if (other == null) {
+                    forced[c] = minimum[c];
+                } else {
+                    for (int d = 0; d < minimum.length; d++) {
+                        minimum[d] = Math.min(minimum[d], other[d]);
+                    }
+                }
+            }
+            if (first && forced[c] > graph.connection(c).getBridgeCount()) {
+                return forced;
+            }
+        }
+        return forced;
+    }
+
+    /**
+     * Searches a solution from the given state with at most the given number of bridges on a connection.
+     *
+     * @param state   the propagated state to search from, which is modified by the search
+     * @param c       the connection to limit, -1 to search without a limit
+     * @param bridges the maximum number of bridges on the connection
+     * @return the number of bridges for every connection, null if there is no solution
+     */
+    private int[] searchWithLimit(SearchState state, int c, int bridges) {
+        if (c >= 0 && !state.restrict(c, state.lower(c), bridges)) {
+            return null;
+        }
+        return search(state, createTable()) ? state.bridges() : null;
+    }
+
+    /**
+     * Returns the first connection from the given index on that holds fewer bridges than the given numbers.
+     *
+     * @param graph   the graph of the puzzle
+     * @param bridges the number of bridges for every connection
+     * @param from    the index of the first connection to check
+     * @return the index of the connection, -1 if there is none
+     */
+    static int nextMissing(SearchGraph graph, int[] bridges, int from) {
+        for (int c = from; c < graph.connectionCount(); c++) {
+            if (graph.connection(c).getBridgeCount() < bridges[c]) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Creates the table for the states without solution of a single search.
+     *
+     * @return the table, null if this solver does not remember states
+     */
+    TranspositionTable createTable() {
+        return this.deadStates == 0 ? null : new TranspositionTable(this.deadStates);
+    }
+
+    /**
+     * Propagates the current state and branches on an undecided connection. On return, the state holds the
+     * solution if one was found.
+     *
+     * @param state      the state to search from
+     * @param deadStates the states known to have no solution, null to explore every state
+     * @return true if a solution was found, false otherwise
+     */
+    private boolean search(SearchState state, TranspositionTable deadStates) {
+        if (!state.propagate() || !state.connectable()) {
+            return false;
+        }
+
+        int c = state.selectUndecided();
+        if (c < 0) {
+            return true;
+        }
+
+        long key = deadStates == null ? 0 : state.key();
+        if (deadStates != null && deadStates.contains(key)) {
+            return false;
+        }
+
+        int mark = state.mark();
+        int min = state.lower(c);
+        int max = state.upper(c);
+        for (int bridges = max; bridges >= min; bridges--) {
+            if (state.restrict(c, bridges, bridges) && search(state, deadStates)) {
+                return true;
+            }
+            state.undo(mark);
+        }
+
+        if (deadStates != null) {
+            deadStates.add(key);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,119 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Direction;
+import de.karstenkoehler.bridges.model.PuzzleTopology;
+
+import java.util.BitSet;
+
+/**
+ * The solving session of {@link SolverImpl}. It keeps the set of dirty islands, whose surroundings changed
+ * since they were examined last. Islands that did not yield a safe bridge are only examined again after a
+ * bridge was built next to them, or on a crossing connection.
+ * <p>
+ * Dirty islands are examined in the order of the island list, so the session returns exactly the same
+ * bridges as repeated calls of {@link SolverImpl#nextSafeBridge(BridgesPuzzle)}. Changes the session can not
+ * attribute to the bridge it returned last make all islands dirty again.
+ */
+class DeductionSession implements SolvingSession {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final SolverImpl solver;
+    private final BridgesPuzzle puzzle;
+    private final PuzzleTopology topology;
+    private final BitSet dirty;
+
+    private int lastConnection;
+    private int lastBridgeCount;
+    private int modificationCount;
+
+    /**
+     * Creates a new session, in which all islands are dirty.
+     *
+     * @param solver the solver that applies the rules
+     * @param puzzle the puzzle to solve
+     */
+    DeductionSession(SolverImpl solver, BridgesPuzzle puzzle) {
+        this.solver = solver;
+        this.puzzle = puzzle;
+        this.topology = puzzle.getTopology();
+        this.dirty = new BitSet(this.topology.islandCount());
+        this.dirty.set(0, this.topology.islandCount());
+        this.lastConnection = -1;
+        this.modificationCount = puzzle.getModificationCount();
+    }
+
+    /**
+     * @see SolvingSession#nextSafeBridge()
+     */
+    @Override
+    public Connection nextSafeBridge() {
+        long start = this.solver.startStep();
+        synchronize();
+
+        for (int island = this.dirty.nextSetBit(0); island >= 0; island = this.dirty.nextSetBit(island + 1)) {
+            Connection safe = this.solver.findSafeBridge(this.topology.getIsland(island), this.puzzle);
+            if (safe != null) {
+                this.lastConnection = indexOf(island, safe);
+                this.lastBridgeCount = safe.getBridgeCount();
+                this.solver.finishStep(start);
+                return safe;
+            }
+            this.dirty.clear(island);
+        }
+
+        this.solver.finishStep(start);
+        return null;
+    }
+
+    /**
+     * Marks the islands affected by the changes since the last step as dirty.
+     */
+    private void synchronize() {
+        int modifications = this.puzzle.getModificationCount();
+        if (modifications == this.modificationCount + 1 && this.lastConnection >= 0
+                && this.topology.getConnection(this.lastConnection).getBridgeCount() == this.lastBridgeCount + 1) {
+            bridgeAdded(this.lastConnection);
+        } else if (modifications != this.modificationCount) {
+            this.dirty.set(0, this.topology.islandCount());
+        }
+
+        this.lastConnection = -1;
+        this.modificationCount = modifications;
+    }
+
+    /**
+     * Marks all islands as dirty whose safe bridges may depend on the given connection: both islands of the
+     * connection, all of their neighbors and the islands of all crossing connections.
+     */
+    private void bridgeAdded(int c) {
+        markWithNeighbors(this.topology.start(c));
+        markWithNeighbors(this.topology.end(c));
+        for (int i = 0; i < this.topology.crossingCount(c); i++) {
+            int crossing = this.topology.crossing(c, i);
+            this.dirty.set(this.topology.start(crossing));
+            this.dirty.set(this.topology.end(crossing));
+        }
+    }
+
+    private void markWithNeighbors(int island) {
+        this.dirty.set(island);
+        for (Direction direction : DIRECTIONS) {
+            int c = this.topology.adjacent(island, direction);
+            if (c >= 0) {
+                this.dirty.set(this.topology.other(c, island));
+            }
+        }
+    }
+
+    private int indexOf(int island, Connection connection) {
+        for (Direction direction : DIRECTIONS) {
+            int c = this.topology.adjacent(island, direction);
+            if (c >= 0 && this.topology.getConnection(c) == connection) {
+                return c;
+            }
+        }
+        return -1;
+    }
+}
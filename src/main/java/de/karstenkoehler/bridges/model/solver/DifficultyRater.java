@@ -0,0 +1,414 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.DifficultyTier;
+import de.karstenkoehler.bridges.model.Direction;
+import de.karstenkoehler.bridges.model.PuzzleTopology;
+
+import java.util.BitSet;
+
+/**
+ * Rates the difficulty of puzzles by solving them like a human would: the easiest tier of deductions is always
+ * tried first, harder tiers are only used when the easier ones are stuck, and after every progress of a harder
+ * tier the rater returns to the easiest one. A round of {@link DifficultyTier#BASIC} applies its rules until
+ * nothing changes any more, a round of a harder tier stops at the first conclusion. Only if no tier makes
+ * progress, the remaining puzzle is solved by a search like in {@link BacktrackingSolver}.
+ * <p>
+ * Like the {@link SolutionCounter}, the rater ignores the bridges currently built and never modifies the
+ * puzzle. It keeps no state between calls, so one instance can be shared by several threads. To rate a puzzle
+ * repeatedly while it is being edited, start a {@link RatingSession} instead.
+ */
+public class DifficultyRater {
+    private static final DifficultyTier[] TIERS = DifficultyTier.values();
+    private static final int DIRECTIONS = Direction.values().length;
+
+    /**
+     * Rates the difficulty of the given puzzle. Make sure that {@link BridgesPuzzle#fillMissingConnections()}
+     * has been called before.
+     *
+     * @param puzzle the puzzle to rate
+     * @return the rating of the puzzle
+     */
+    public DifficultyRating rate(BridgesPuzzle puzzle) {
+        return new Rating(new SearchGraph(puzzle), false).rate();
+    }
+
+    /**
+     * Starts a session for rating the given puzzle repeatedly while the number of bridges its islands require
+     * changes. Make sure that {@link BridgesPuzzle#fillMissingConnections()} has been called before.
+     *
+     * @param puzzle       the puzzle to rate
+     * @param countChoices true to count the choices of the lookahead, see
+     *                     {@link RatingSession#getLookaheadChoices()}
+     * @return a new session for the puzzle
+     */
+    public RatingSession startSession(BridgesPuzzle puzzle, boolean countChoices) {
+        return new IncrementalSession(puzzle, countChoices);
+    }
+
+    /**
+     * A session that keeps the rating of the previous call. If only the required bridges of some islands changed
+     * since, the new rating starts from the state the first round of {@link DifficultyTier#BASIC} had reached
+     * before its first deduction that involved one of them or one of their neighbors. The conclusions of the
+     * basic rules do not depend on the order in which they are drawn, so the result is the same as rating from
+     * scratch. The harder tiers look at the whole puzzle, so their rounds are always repeated.
+     */
+    private static class IncrementalSession implements RatingSession {
+        private final BridgesPuzzle puzzle;
+        private final boolean countChoices;
+        private Rating rating;
+        private DifficultyRating result;
+
+        IncrementalSession(BridgesPuzzle puzzle, boolean countChoices) {
+            this.puzzle = puzzle;
+            this.countChoices = countChoices;
+        }
+
+        @Override
+        public DifficultyRating rate() {
+            PuzzleTopology topology = this.puzzle.getTopology();
+            if (this.rating == null || !this.rating.graph.hasConnectionsOf(topology)) {
+                this.rating = new Rating(new SearchGraph(this.puzzle), this.countChoices);
+                this.result = this.rating.rate();
+                return this.result;
+            }
+
+            SearchGraph graph = new SearchGraph(this.rating.graph, topology);
+            BitSet changed = new BitSet(graph.islandCount());
+            for (int island = 0; island < graph.islandCount(); island++) {
+                if (graph.required(island) != this.rating.graph.required(island)) {
+                    changed.set(island);
+                }
+            }
+            if (!changed.isEmpty()) {
+                Rating next = this.rating.resume(graph, changed);
+                this.rating = next != null ? next : new Rating(graph, this.countChoices);
+                this.result = next != null ? next.resume() : this.rating.rate();
+            }
+            return this.result;
+        }
+
+        @Override
+        public int getLookaheadChoices() {
+            return this.rating == null ? -1 : this.rating.fewestChoices;
+        }
+    }
+
+    /**
+     * The state of a single rating.
+     */
+    private static class Rating {
+        private final SearchGraph graph;
+        private final SearchState state;
+        private final boolean countChoices;
+        private final int[] rounds;
+        private final BitSet[] openConnections;
+        private final BitSet unchanged;
+        private final BitSet changed;
+        private TranspositionTable deadStates;
+
+        private int initialMark = -1;
+        private int basicEnd = -1;
+        private int basicMark;
+        private int isolationMark = -1;
+        private int lookaheadMark;
+        private int nextProbe;
+        private int searchNodes;
+        private int fewestChoices = -1;
+        private boolean resumed;
+
+        Rating(SearchGraph graph, boolean countChoices) {
+            this(graph, new SearchState(graph), countChoices);
+        }
+
+        private Rating(SearchGraph graph, SearchState state, boolean countChoices) {
+            this.graph = graph;
+            this.state = state;
+            this.countChoices = countChoices;
+            this.rounds = new int[TIERS.length];
+            this.openConnections = new BitSet[TIERS.length];
+            this.unchanged = new BitSet(graph.connectionCount());
+            this.changed = new BitSet(graph.islandCount());
+        }
+
+        DifficultyRating rate() {
+            if (!state.initialize(false)) {
+                return rating(false, DifficultyTier.BASIC);
+            }
+            initialMark = state.mark();
+            openConnections[DifficultyTier.BASIC.ordinal()] = openConnections();
+            return resume();
+        }
+
+        /**
+         * Prepares the rating of a graph that only differs from the graph of this rating in the required bridges of
+         * the given islands. The new rating continues the first round of {@link DifficultyTier#BASIC} right before
+         * this rating examined one of these islands or one of their neighbors for the first time, because the basic
+         * rules of an island also look at the bridges its neighbors still need. Up to this point, both ratings draw
+         * the same conclusions in the same order. This rating can not be continued afterwards.
+         *
+         * @param graph   the graph to rate
+         * @param changed the islands whose required bridges changed
+         * @return the new rating, to be continued with {@link Rating#resume()}, or null if it has to start from
+         * scratch
+         */
+        Rating resume(SearchGraph graph, BitSet changed) {
+            if (basicEnd < 0) {
+                return null;
+            }
+
+            BitSet affected = new BitSet(graph.islandCount());
+            for (int island = changed.nextSetBit(0); island >= 0; island = changed.nextSetBit(island + 1)) {
+                affected.set(island);
+                for (int direction = 0; direction < DIRECTIONS; direction++) {
+                    int c = graph.adjacent(island, direction);
+                    if (c >= 0 && graph.maxBridges(c) != this.graph.maxBridges(c)) {
+                        // the initial bounds differ
+                        return null;
+                    }
+                    if (c >= 0) {
+                        affected.set(graph.other(c, island));
+                    }
+                }
+            }
+
+            Rating next = new Rating(graph, state.fork(graph, state.firstExamination(affected)), countChoices);
+            next.initialMark = initialMark;
+            next.openConnections[DifficultyTier.BASIC.ordinal()] = openConnections[DifficultyTier.BASIC.ordinal()];
+            next.resumed = true;
+            return next;
+        }
+
+        /**
+         * Rates the puzzle from the state after {@link SearchState#initialize(boolean)}, or continues the first round
+         * of {@link DifficultyTier#BASIC} of a resumed rating.
+         */
+        DifficultyRating resume() {
+            if (!resumed) {
+                state.enqueueAll();
+                state.startRecording();
+            }
+
+            DifficultyTier hardest = DifficultyTier.BASIC;
+            DifficultyTier tier = DifficultyTier.BASIC;
+            int mark = initialMark;
+            // a resumed rating may have decided everything before it was interrupted, but the first round still counts
+            boolean first = resumed;
+            while ((first || state.selectUndecided() >= 0) && tier != DifficultyTier.SEARCH) {
+                first = false;
+                if (!deduce(tier)) {
+                    return rating(false, max(hardest, tier));
+                }
+                if (basicEnd < 0) {
+                    basicEnd = state.mark();
+                    state.stopRecording();
+                }
+
+                if (state.mark() == mark) {
+                    tier = TIERS[tier.ordinal() + 1];
+                    if (openConnections[tier.ordinal()] == null) {
+                        openConnections[tier.ordinal()] = openConnections();
+                    }
+                } else {
+                    rounds[tier.ordinal()]++;
+                    hardest = max(hardest, tier);
+                    tier = DifficultyTier.BASIC;
+                }
+                mark = state.mark();
+            }
+
+            if (tier != DifficultyTier.SEARCH) {
+                state.enqueueAll();
+                return rating(state.propagate() && state.connectable(), hardest);
+            }
+
+            rounds[DifficultyTier.SEARCH.ordinal()]++;
+            return rating(search(), DifficultyTier.SEARCH);
+        }
+
+        private DifficultyRating rating(boolean solvable, DifficultyTier hardest) {
+            return new DifficultyRating(solvable, hardest, rounds, openConnections, searchNodes);
+        }
+
+        private BitSet openConnections() {
+            BitSet open = new BitSet(graph.connectionCount());
+            for (int c = 0; c < graph.connectionCount(); c++) {
+                if (state.lower(c) != state.upper(c)) {
+                    open.set(c);
+                }
+            }
+            return open;
+        }
+
+        /**
+         * Applies a round of the given tier.
+         *
+         * @return false if a contradiction was found, true otherwise
+         */
+        private boolean deduce(DifficultyTier tier) {
+            switch (tier) {
+                case BASIC:
+                    return deduceBasic();
+                case ISOLATION:
+                    return deduceIsolation();
+                case LOOKAHEAD:
+                    return deduceLookahead();
+                default:
+                    throw new IllegalArgumentException("no deductions for tier " + tier);
+            }
+        }
+
+        /**
+         * Applies the basic rules until no more bounds change. All islands are examined in the first round,
+         * later rounds only examine the surroundings of the connections changed by harder tiers since.
+         */
+        private boolean deduceBasic() {
+            if (basicEnd >= 0) {
+                state.enqueueChangedSince(basicMark);
+            }
+            boolean consistent = state.propagateBasic();
+            basicMark = state.mark();
+            return consistent;
+        }
+
+        /**
+         * Builds a bridge on a connection that is the only possible link between two groups of islands. After the
+         * first round, the connectivity is only checked for the connections closed since the previous round.
+         */
+        private boolean deduceIsolation() {
+            if (isolationMark < 0 ? !state.connectable() : !state.connectableSince(isolationMark)) {
+                return false;
+            }
+            isolationMark = state.mark();
+            int c = state.findCutConnection();
+            return c < 0 || state.restrict(c, 1, state.upper(c));
+        }
+
+        /**
+         * Tries the lowest and the highest number of bridges of every undecided connection. The first
+         * assumption that leads to a contradiction after full propagation is excluded. The probing continues
+         * with the connection where the previous round stopped, because the connections before it rarely
+         * change their outcome and would be probed in vain over and over again.
+         * <p>
+         * Like a human, the rater only looks again at a connection that survived both assumptions in an earlier
+         * round if the bounds in its neighborhood changed since, see
+         * {@link SearchState#collectChangedSince(int, BitSet)}.
+         * <p>
+         * If the choices are counted, the round goes on after the first conclusion and counts the other connections
+         * the lookahead could draw a conclusion from. These connections are not marked as unchanged, so the
+         * rating stays the same.
+         */
+        private boolean deduceLookahead() {
+            changed.clear();
+            state.collectChangedSince(lookaheadMark, changed);
+            for (int c = unchanged.nextSetBit(0); c >= 0; c = unchanged.nextSetBit(c + 1)) {
+                if (changed.get(graph.start(c)) || changed.get(graph.end(c))) {
+                    unchanged.clear(c);
+                }
+            }
+            lookaheadMark = state.mark();
+
+            int count = graph.connectionCount();
+            for (int i = 0; i < count; i++) {
+                int c = (nextProbe + i) % count;
+                int lower = state.lower(c);
+                int upper = state.upper(c);
+                if (lower == upper || unchanged.get(c)) {
+                    continue;
+                }
+
+                if (!possible(c, lower)) {
+                    return conclude(i, c, lower + 1, upper);
+                }
+                if (!possible(c, upper)) {
+                    return conclude(i, c, lower, upper - 1);
+                }
+                unchanged.set(c);
+            }
+            countChoices(0);
+            return true;
+        }
+
+        /**
+         * Applies the conclusion the lookahead drew from the i-th connection of the current round.
+         */
+        private boolean conclude(int i, int c, int lower, int upper) {
+            if (countChoices) {
+                int choices = 1;
+                int count = graph.connectionCount();
+                for (int k = i + 1; k < count; k++) {
+                    int other = (nextProbe + k) % count;
+                    int min = state.lower(other);
+                    int max = state.upper(other);
+                    if (min != max && !unchanged.get(other) && (!possible(other, min) || !possible(other, max))) {
+                        choices++;
+                    }
+                }
+                countChoices(choices);
+            }
+            nextProbe = c;
+            return state.restrict(c, lower, upper);
+        }
+
+        private void countChoices(int choices) {
+            if (countChoices && (fewestChoices < 0 || choices < fewestChoices)) {
+                fewestChoices = choices;
+            }
+        }
+
+        /**
+         * Checks if the connection can hold the given number of bridges without an immediate contradiction.
+         * The state is the same as before the call. Since the lookahead only runs after a round of
+         * {@link DifficultyTier#ISOLATION} found the islands connectable, only the connections closed by the
+         * assumption have to be checked, see {@link SearchState#connectableSince(int)}.
+         */
+        private boolean possible(int c, int bridges) {
+            int mark = state.mark();
+            boolean possible = state.restrict(c, bridges, bridges) && state.propagate() && state.connectableSince(mark);
+            state.undo(mark);
+            return possible;
+        }
+
+        /**
+         * Searches a solution from the current state and counts the visited nodes. Like in
+         * {@link BacktrackingSolver}, states without solution are remembered, so that they are not explored and
+         * counted again. The table for them is only created when the first one is found.
+         */
+        private boolean search() {
+            searchNodes++;
+            if (!state.propagate() || !state.connectable()) {
+                return false;
+            }
+
+            int c = state.selectUndecided();
+            if (c < 0) {
+                return true;
+            }
+
+            long key = state.key();
+            if (deadStates != null && deadStates.contains(key)) {
+                return false;
+            }
+
+            int mark = state.mark();
+            int min = state.lower(c);
+            int max = state.upper(c);
+            for (int bridges = max; bridges >= min; bridges--) {
+                if (state.restrict(c, bridges, bridges) && search()) {
+                    return true;
+                }
+                state.undo(mark);
+            }
+
+            if (deadStates == null) {
+                deadStates = new TranspositionTable(BacktrackingSolver.DEFAULT_DEAD_STATES);
+            }
+            deadStates.add(key);
+            return false;
+        }
+    }
+
+    private static DifficultyTier max(DifficultyTier a, DifficultyTier b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
@@ -0,0 +1,174 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import de.karstenkoehler.bridges.model.DifficultyTier;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The difficulty of a puzzle as determined by a {@link DifficultyRater}. The most important property is the
+ * hardest {@link DifficultyTier} of deductions needed to solve the puzzle. Ratings of solvable puzzles come before
+ * those of unsolvable ones. Then they are ordered by the hardest tier, by the number of search nodes, by the number
+ * of rounds of the hardest tier and by the total number of rounds, so that sorting a list of ratings sorts the
+ * puzzles from easy to hard. Ratings that are still equal are ordered by their remaining properties, so that the
+ * order is consistent with {@link DifficultyRating#equals(Object)}.
+ */
+public final class DifficultyRating implements Comparable<DifficultyRating> {
+
+    private final boolean solvable;
+    private final DifficultyTier hardestTier;
+    private final int[] rounds;
+    private final BitSet[] openConnections;
+    private final int searchNodes;
+
+    DifficultyRating(boolean solvable, DifficultyTier hardestTier, int[] rounds, BitSet[] openConnections,
+                     int searchNodes) {
+        this.solvable = solvable;
+        this.hardestTier = hardestTier;
+        this.rounds = rounds;
+        this.openConnections = openConnections;
+        this.searchNodes = searchNodes;
+    }
+
+    /**
+     * Returns whether the rater found a solution. All other properties of an unsolvable puzzle describe
+     * the work done until the contradiction was found.
+     *
+     * @return true if the puzzle has a solution, false otherwise
+     */
+    public boolean isSolvable() {
+        return solvable;
+    }
+
+    /**
+     * Returns the hardest tier of deductions that was needed to solve the puzzle.
+     *
+     * @return the hardest tier
+     */
+    public DifficultyTier getHardestTier() {
+        return hardestTier;
+    }
+
+    /**
+     * Returns the number of rounds in which the given tier made progress.
+     *
+     * @param tier the tier
+     * @return the number of rounds of the tier
+     */
+    public int getRounds(DifficultyTier tier) {
+        return rounds[tier.ordinal()];
+    }
+
+    /**
+     * Returns the number of deduction rounds of all tiers. The search counts as a single round.
+     *
+     * @return the total number of rounds
+     */
+    public int getRounds() {
+        return Arrays.stream(rounds).sum();
+    }
+
+    /**
+     * Returns the number of undecided connections at the moment the given tier was needed for the first time.
+     * This tells how far the easier tiers got, e.g. the open connections of {@link DifficultyTier#SEARCH} are the
+     * ones left to the search.
+     *
+     * @param tier the tier
+     * @return the number of undecided connections, 0 if the tier was never needed
+     */
+    public int getOpenConnections(DifficultyTier tier) {
+        BitSet open = openConnections[tier.ordinal()];
+        return open == null ? 0 : open.cardinality();
+    }
+
+    /**
+     * Returns the undecided connections at the moment the given tier was needed for the first time, by their
+     * index in {@link de.karstenkoehler.bridges.model.BridgesPuzzle#getConnections()}. These are the places
+     * where the easier tiers got stuck.
+     *
+     * @param tier the tier
+     * @return a copy of the set of undecided connections, empty if the tier was never needed
+     */
+    public BitSet getOpenConnectionSet(DifficultyTier tier) {
+        BitSet open = openConnections[tier.ordinal()];
+        return open == null ? new BitSet() : (BitSet) open.clone();
+    }
+
+    /**
+     * Returns the number of nodes the search needed to find the solution.
+     *
+     * @return the number of search nodes, 0 if the puzzle was solved by deductions only
+     */
+    public int getSearchNodes() {
+        return searchNodes;
+    }
+
+    @Override
+    public int compareTo(DifficultyRating other) {
+        int result = Boolean.compare(other.solvable, solvable);
+        if (result == 0) {
+            result = hardestTier.compareTo(other.hardestTier);
+        }
+        if (result == 0) {
+            result = Integer.compare(searchNodes, other.searchNodes);
+        }
+        if (result == 0) {
+            result = Integer.compare(getRounds(hardestTier), other.getRounds(hardestTier));
+        }
+        if (result == 0) {
+            result = Integer.compare(getRounds(), other.getRounds());
+        }
+        for (int tier = 0; result == 0 && tier < rounds.length; tier++) {
+            result = Integer.compare(rounds[tier], other.rounds[tier]);
+        }
+        for (int tier = 0; result == 0 && tier < openConnections.length; tier++) {
+            result = compare(openConnections[tier], other.openConnections[tier]);
+        }
+        return result;
+    }
+
+    /**
+     * Orders sets of open connections by their size first, a missing set being the smallest, and then by their
+     * bits. The order has no meaning for the difficulty, it only separates sets that are not equal.
+     */
+    private static int compare(BitSet a, BitSet b) {
+        if (a == null || b == null) {
+            return Boolean.compare(a != null, b != null);
+        }
+        int result = Integer.compare(a.cardinality(), b.cardinality());
+        long[] aWords = a.toLongArray();
+        long[] bWords = b.toLongArray();
+        for (int i = 0; result == 0 && i < Math.min(aWords.length, bWords.length); i++) {
+            result = Long.compare(aWords[i], bWords[i]);
+        }
+        return result == 0 ? Integer.compare(aWords.length, bWords.length) : result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DifficultyRating that = (DifficultyRating) o;
+        return solvable == that.solvable && searchNodes == that.searchNodes && hardestTier == that.hardestTier
+                && Arrays.equals(rounds, that.rounds) && Arrays.equals(openConnections, that.openConnections);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * hardestTier.hashCode() + Arrays.hashCode(rounds)) + searchNodes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(solvable ? "" : "unsolvable ");
+        builder.append(hardestTier);
+        for (DifficultyTier tier : DifficultyTier.values()) {
+            builder.append(' ').append(tier.name().toLowerCase()).append('=').append(getRounds(tier));
+        }
+        return builder.append(" nodes=").append(searchNodes).toString();
+    }
+}
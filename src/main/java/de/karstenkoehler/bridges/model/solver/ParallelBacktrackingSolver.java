@@ -0,0 +1,180 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link BacktrackingSolver} that searches the branches of the search tree in parallel on a {@link ForkJoinPool}.
+ * At a branching point, every alternative but the first is forked as a separate task with its own copy of the
+ * search state, while the current task continues with the first one. Idle workers steal the forked branches.
+ * Branches are only forked while few tasks are waiting in the queue of the current worker, deeper in the tree
+ * the tasks search sequentially like the {@link BacktrackingSolver}.
+ * <p>
+ * The first solution found stops all other tasks. A puzzle without a solution is proven so once all tasks
+ * have finished. If the puzzle has several solutions, it depends on the timing which one is found. All tasks
+ * share one table of the states without solution, so a state refuted by one task is skipped by all others.
+ * <p>
+ * When called from a task of a fork join pool, for example by the batch solver, the search runs in that pool.
+ * Otherwise it runs in the pool given to the constructor.
+ */
+public class ParallelBacktrackingSolver extends BacktrackingSolver {
+    private static final int MAX_SURPLUS_TASKS = 2;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a solver that searches in the common fork join pool.
+     */
+    public ParallelBacktrackingSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a solver that searches in the given pool.
+     *
+     * @param pool the pool to run the search in
+     */
+    public ParallelBacktrackingSolver(ForkJoinPool pool) {
+        this(pool, DEFAULT_DEAD_STATES);
+    }
+
+    /**
+     * Creates a solver that searches in the given pool and remembers up to the given number of states without
+     * solution during a search.
+     *
+     * @param pool       the pool to run the search in
+     * @param deadStates the maximum number of states to remember, 0 to explore every state
+     * @throws IllegalArgumentException if the number is negative
+     */
+    public ParallelBacktrackingSolver(ForkJoinPool pool, int deadStates) {
+        super(deadStates);
+        this.pool = pool;
+    }
+
+    /**
+     * Searches a solution for the given graph in parallel.
+     *
+     * @param graph the graph to solve
+     * @return the number of bridges for every connection, null if there is no solution
+     */
+    @Override
+    int[] solve(SearchGraph graph) {
+        SearchState state = new SearchState(graph);
+        if (!state.initialize()) {
+            return null;
+        }
+
+        AtomicReference<int[]> solution = new AtomicReference<>();
+        SearchTask task = new SearchTask(state, createTable(), solution);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+        return solution.get();
+    }
+
+    /**
+     * Searches the subtree below a state. The state belongs to the task alone. Tasks are never serialized, so
+     * their fields are transient.
+     */
+    private static class SearchTask extends RecursiveTask<Boolean> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient SearchState state;
+        private final transient TranspositionTable deadStates;
+        private final transient AtomicReference<int[]> solution;
+
+        SearchTask(SearchState state, TranspositionTable deadStates, AtomicReference<int[]> solution) {
+            this.state = state;
+            this.deadStates = deadStates;
+            this.solution = solution;
+        }
+
+        @Override
+        protected Boolean compute() {
+            return search();
+        }
+
+        /**
+         * Propagates the current state and branches on an undecided connection, like
+         * {@link BacktrackingSolver}. Returns as soon as any task has found a solution. A state is only added to
+         * the table of states without solution if no task has found a solution, because otherwise the subtasks
+         * may have stopped before exploring their subtree completely.
+         *
+         * @return true if this task or one of its subtasks found the solution
+         */
+        private boolean search() {
+            if (solution.get() != null || !state.propagate() || !state.connectable()) {
+                return false;
+            }
+
+            int c = state.selectUndecided();
+            if (c < 0) {
+                return solution.compareAndSet(null, state.bridges());
+            }
+
+            long key = deadStates == null ? 0 : state.key();
+            if (deadStates != null && deadStates.contains(key)) {
+                return false;
+            }
+
+            boolean found = getSurplusQueuedTaskCount() <= MAX_SURPLUS_TASKS ? split(c) : branch(c);
+            if (!found && deadStates != null && solution.get() == null) {
+                deadStates.add(key);
+            }
+            return found;
+        }
+
+        /**
+         * Tries every number of bridges for the connection in the current task.
+         */
+        private boolean branch(int c) {
+            int mark = state.mark();
+            int min = state.lower(c);
+            int max = state.upper(c);
+            for (int bridges = max; bridges >= min; bridges--) {
+                if (state.restrict(c, bridges, bridges) && search()) {
+                    return true;
+                }
+                state.undo(mark);
+            }
+            return false;
+        }
+
+        /**
+         * Forks a task for every alternative but the highest number of bridges, which is searched by the current
+         * task. Forked tasks that have not started yet are cancelled once a solution is found.
+         */
+        private boolean split(int c) {
+            int min = state.lower(c);
+            int max = state.upper(c);
+            List<SearchTask> forks = new ArrayList<>(max - min);
+            for (int bridges = min; bridges < max; bridges++) {
+                SearchState fork = state.fork();
+                if (fork.restrict(c, bridges, bridges)) {
+                    SearchTask task = new SearchTask(fork, deadStates, solution);
+                    task.fork();
+                    forks.add(task);
+                }
+            }
+
+            int mark = state.mark();
+            boolean found = state.restrict(c, max, max) && search();
+            state.undo(mark);
+
+            for (int i = forks.size() - 1; i >= 0; i--) {
+                SearchTask task = forks.get(i);
+                if (solution.get() != null && task.cancel(false)) {
+                    continue;
+                }
+                found |= task.join();
+            }
+            return found;
+        }
+    }
+}
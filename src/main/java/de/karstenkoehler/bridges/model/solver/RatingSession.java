@@ -0,0 +1,31 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+
+/**
+ * A session of a {@link DifficultyRater} rating a single {@link BridgesPuzzle} again and again while the number of
+ * bridges its islands require changes, e.g. while a generator edits the puzzle. Unlike the rater itself, a session
+ * may keep the deductions of the previous rating that do not depend on the changed islands.
+ */
+public interface RatingSession {
+    /**
+     * Rates the difficulty of the puzzle of this session in its current state. The rating is the same as the
+     * one of {@link DifficultyRater#rate(BridgesPuzzle)}.
+     *
+     * @return the rating of the puzzle
+     */
+    DifficultyRating rate();
+
+    /**
+     * Returns the smallest number of conclusions {@link de.karstenkoehler.bridges.model.DifficultyTier#LOOKAHEAD}
+     * could choose from in one of its rounds during the last call of {@link RatingSession#rate()}. A puzzle with
+     * a single choice is about to need a search, a puzzle that needs a search had no choice at all. This number
+     * is only counted if the session was started for it, since it takes a lookahead on every connection in every
+     * round.
+     *
+     * @return the smallest number of choices, 0 if the lookahead got stuck and -1 if it was never needed or the
+     * choices are not counted
+     * @see DifficultyRater#startSession(BridgesPuzzle, boolean)
+     */
+    int getLookaheadChoices();
+}
@@ -0,0 +1,71 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import de.karstenkoehler.bridges.model.Connection;
+
+import java.util.Objects;
+
+/**
+ * A deduced bridge placement: the connection and the number of bridges that can safely be added to it.
+ */
+public final class SafeBridge {
+    private final Connection connection;
+    private final int count;
+
+    /**
+     * Creates a new safe bridge placement.
+     *
+     * @param connection the connection to add the bridges to
+     * @param count      the number of bridges that can safely be added, 1 or 2
+     */
+    public SafeBridge(Connection connection, int count) {
+        this.connection = connection;
+        this.count = count;
+    }
+
+    /**
+     * Returns the connection to add the bridges to.
+     *
+     * @return the connection
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Returns the number of bridges that can safely be added to the connection.
+     *
+     * @return the number of safe bridges
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Adds the safe bridges to the connection. The change is not recorded as a move, so the move journal of the
+     * puzzle is cleared.
+     */
+    public void apply() {
+        this.connection.setBridgeCount(this.connection.getBridgeCount() + this.count);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SafeBridge that = (SafeBridge) o;
+        return count == that.count && connection == that.connection;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(connection), count);
+    }
+
+    @Override
+    public String toString() {
+        return "SafeBridge{" +
+                "connection=" + connection +
+                ", count=" + count +
+                '}';
+    }
+}
@@ -0,0 +1,201 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Direction;
+import de.karstenkoehler.bridges.model.PuzzleTopology;
+
+/**
+ * An immutable, array based copy of the {@link PuzzleTopology} of a {@link BridgesPuzzle}. Islands and connections
+ * are addressed by their index in {@link BridgesPuzzle#getIslands()} and {@link BridgesPuzzle#getConnections()},
+ * so that the search does not need to touch any model objects while exploring states.
+ */
+class SearchGraph {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Connection[] connections;
+    private final int[] required;
+    private final int[] start;
+    private final int[] end;
+    private final int[] adjacency;
+    private final int[][] crossings;
+
+    /**
+     * Creates the search graph for the given puzzle. Make sure that {@link BridgesPuzzle#fillMissingConnections()}
+     * has been called before.
+     *
+     * @param puzzle the puzzle to create the graph from
+     */
+    SearchGraph(BridgesPuzzle puzzle) {
+        PuzzleTopology topology = puzzle.getTopology();
+
+        this.connections = new Connection[topology.connectionCount()];
+        this.required = new int[topology.islandCount()];
+        this.start = new int[this.connections.length];
+        this.end = new int[this.connections.length];
+        this.adjacency = new int[this.required.length * DIRECTIONS.length];
+        this.crossings = new int[this.connections.length][];
+
+        for (int i = 0; i < this.required.length; i++) {
+            this.required[i] = topology.getIsland(i).getRequiredBridges();
+            for (Direction direction : DIRECTIONS) {
+                this.adjacency[i * DIRECTIONS.length + direction.ordinal()] = topology.adjacent(i, direction);
+            }
+        }
+
+        for (int c = 0; c < this.connections.length; c++) {
+            this.connections[c] = topology.getConnection(c);
+            this.start[c] = topology.start(c);
+            this.end[c] = topology.end(c);
+            this.crossings[c] = new int[topology.crossingCount(c)];
+            for (int k = 0; k < this.crossings[c].length; k++) {
+                this.crossings[c][k] = topology.crossing(c, k);
+            }
+        }
+    }
+
+    /**
+     * Creates a graph with the connections of the given graph and the required bridges of the given topology. The
+     * arrays describing the connections are shared, since neither graph ever modifies them.
+     *
+     * @param graph    the graph to take the connections from
+     * @param topology a topology with the same connections as the graph, see
+     *                 {@link SearchGraph#hasConnectionsOf(PuzzleTopology)}
+     */
+    SearchGraph(SearchGraph graph, PuzzleTopology topology) {
+        this.connections = graph.connections;
+        this.required = new int[graph.required.length];
+        this.start = graph.start;
+        this.end = graph.end;
+        this.adjacency = graph.adjacency;
+        this.crossings = graph.crossings;
+
+        for (int i = 0; i < this.required.length; i++) {
+            this.required[i] = topology.getIsland(i).getRequiredBridges();
+        }
+    }
+
+    /**
+     * Checks if the given topology has the same islands and connections as this graph. If so, the two can only
+     * differ in the number of bridges the islands require.
+     *
+     * @param topology the topology to compare with
+     * @return true if the topology has the same connections, false otherwise
+     */
+    boolean hasConnectionsOf(PuzzleTopology topology) {
+        if (topology.islandCount() != this.required.length || topology.connectionCount() != this.connections.length) {
+            return false;
+        }
+        for (int c = 0; c < this.connections.length; c++) {
+            if (topology.getConnection(c) != this.connections[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of islands in the graph.
+     *
+     * @return the number of islands
+     */
+    int islandCount() {
+        return this.required.length;
+    }
+
+    /**
+     * Returns the number of connections in the graph.
+     *
+     * @return the number of connections
+     */
+    int connectionCount() {
+        return this.connections.length;
+    }
+
+    /**
+     * Returns the model object of the connection with the given index.
+     *
+     * @param c the index of the connection
+     * @return the connection of the puzzle
+     */
+    Connection connection(int c) {
+        return this.connections[c];
+    }
+
+    /**
+     * Returns the number of bridges the given island needs.
+     *
+     * @param island the index of the island
+     * @return the number of required bridges
+     */
+    int required(int island) {
+        return this.required[island];
+    }
+
+    /**
+     * Returns the highest number of bridges the given connection can hold, no matter what the other connections
+     * hold. Two islands that both need one bridge must not be connected by a single bridge and two islands that
+     * both need two bridges must not be connected by a double bridge, unless these are the only islands of the
+     * puzzle.
+     *
+     * @param c the index of the connection
+     * @return the highest possible number of bridges
+     */
+    int maxBridges(int c) {
+        int a = this.required[this.start[c]];
+        int b = this.required[this.end[c]];
+        return this.required.length > 2 && a == b && (a == 1 || a == 2) ? a - 1 : 2;
+    }
+
+    /**
+     * Returns the index of the start island of the given connection.
+     *
+     * @param c the index of the connection
+     * @return the index of the start island
+     */
+    int start(int c) {
+        return this.start[c];
+    }
+
+    /**
+     * Returns the index of the end island of the given connection.
+     *
+     * @param c the index of the connection
+     * @return the index of the end island
+     */
+    int end(int c) {
+        return this.end[c];
+    }
+
+    /**
+     * Returns the index of the island on the other side of the connection.
+     *
+     * @param c      the index of the connection
+     * @param island the index of one of the islands of the connection
+     * @return the index of the other island
+     */
+    int other(int c, int island) {
+        return this.start[c] == island ? this.end[c] : this.start[c];
+    }
+
+    /**
+     * Returns the index of the connection attached to the island in the given direction.
+     *
+     * @param island    the index of the island
+     * @param direction the ordinal of the {@link Direction}
+     * @return the index of the connection, -1 if there is none
+     */
+    int adjacent(int island, int direction) {
+        return this.adjacency[island * DIRECTIONS.length + direction];
+    }
+
+    /**
+     * Returns the indices of all connections that geometrically cross the given connection.
+     *
+     * @param c the index of the connection
+     * @return the indices of the crossing connections
+     */
+    int[] crossings(int c) {
+        return this.crossings[c];
+    }
+}
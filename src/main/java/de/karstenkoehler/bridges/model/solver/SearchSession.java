@@ -0,0 +1,76 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+
+/**
+ * The solving session of {@link BacktrackingSolver}. It determines the bridges that are part of all solutions
+ * once and returns them one after another, in the order of the connections. Building one of these bridges does
+ * not change the solutions of the puzzle, so no further search is needed for them. Changes the session can not
+ * attribute to the bridge it returned last make it search again.
+ */
+class SearchSession implements SolvingSession {
+    private final BacktrackingSolver solver;
+    private final BridgesPuzzle puzzle;
+
+    private SearchGraph graph;
+    private int[] forced;
+    private int next;
+
+    private int lastConnection;
+    private int lastBridgeCount;
+    private int modificationCount;
+
+    /**
+     * Creates a new session. The search starts with the first step.
+     *
+     * @param solver the solver that searches the solutions
+     * @param puzzle the puzzle to solve
+     */
+    SearchSession(BacktrackingSolver solver, BridgesPuzzle puzzle) {
+        this.solver = solver;
+        this.puzzle = puzzle;
+        this.lastConnection = -1;
+    }
+
+    /**
+     * @see SolvingSession#nextSafeBridge()
+     */
+    @Override
+    public Connection nextSafeBridge() {
+        synchronize();
+        if (this.forced == null) {
+            return null;
+        }
+
+        int c = BacktrackingSolver.nextMissing(this.graph, this.forced, this.next);
+        if (c < 0) {
+            this.next = this.forced.length;
+            return null;
+        }
+
+        this.next = c;
+        this.lastConnection = c;
+        this.lastBridgeCount = this.graph.connection(c).getBridgeCount();
+        return this.graph.connection(c);
+    }
+
+    /**
+     * Searches the bridges of all solutions again, unless the only change since the last step is the bridge
+     * returned by it.
+     */
+    private void synchronize() {
+        int modifications = this.puzzle.getModificationCount();
+        boolean expected = modifications == this.modificationCount + 1 && this.lastConnection >= 0
+                && this.graph.connection(this.lastConnection).getBridgeCount() == this.lastBridgeCount + 1;
+
+        if (this.graph == null || (!expected && modifications != this.modificationCount)) {
+            this.graph = new SearchGraph(this.puzzle);
+            this.forced = this.solver.forcedBridges(this.graph, false);
+            this.next = 0;
+        }
+
+        this.lastConnection = -1;
+        this.modificationCount = modifications;
+    }
+}
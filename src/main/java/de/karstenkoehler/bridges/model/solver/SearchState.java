@@ -0,0 +1,844 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The mutable state of a search on a {@link SearchGraph}. For every connection the state keeps a lower and an
+ * upper bound for its number of bridges. The lower bound is the number of bridges that are known to be built,
+ * the upper bound is the number of bridges that may still be built. A connection is decided once both bounds
+ * are equal.
+ * <p>
+ * Every change of a bound is recorded on a trail, so that the search can return to an earlier state by
+ * calling {@link SearchState#undo(int)} instead of copying the whole state.
+ * <p>
+ * Along with the bounds, the state maintains a Zobrist hash of the undecided connections and of the bridges on
+ * the decided connections of every island, which is updated with every change of a bound. Together with the
+ * groups of islands that are already linked, it identifies the part of the state the rest of the search depends
+ * on, see {@link SearchState#key()}.
+ */
+class SearchState {
+    private static final int DIRECTIONS = 4;
+
+    private final SearchGraph graph;
+    private final byte[] lower;
+    private final byte[] upper;
+    private final byte[] decided;
+    private long hash;
+
+    private int[] trail;
+    private int trailSize;
+
+    private final int[] queue;
+    private final boolean[] queued;
+    private int queueHead;
+    private int queueSize;
+
+    private final int[] stack;
+    private final boolean[] visited;
+
+    private int[] discovery;
+    private int[] low;
+    private int[] parentConnection;
+    private int[] nextDirection;
+
+    private int[] marks;
+    private int[] backQueue;
+    private int stamp;
+
+    private int[] groups;
+    private int[] representatives;
+
+    private boolean recording;
+    private int[] scheduled;
+    private int scheduledCount;
+    private int[] examinations;
+    private int examinationCount;
+
+    /**
+     * Creates a new state where every connection may hold zero to two bridges.
+     *
+     * @param graph the graph to search on
+     */
+    SearchState(SearchGraph graph) {
+        this.graph = graph;
+        this.lower = new byte[graph.connectionCount()];
+        this.upper = new byte[graph.connectionCount()];
+        this.decided = new byte[graph.islandCount()];
+        this.trail = new int[Math.max(16, graph.connectionCount() * 2)];
+        this.queue = new int[graph.islandCount()];
+        this.queued = new boolean[graph.islandCount()];
+        this.stack = new int[graph.islandCount()];
+        this.visited = new boolean[graph.islandCount()];
+
+        Arrays.fill(this.upper, (byte) 2);
+        for (int c = 0; c < graph.connectionCount(); c++) {
+            this.hash ^= ZobristKeys.connection(c, 0, 2);
+        }
+        for (int island = 0; island < graph.islandCount(); island++) {
+            this.hash ^= ZobristKeys.island(island, 0);
+        }
+    }
+
+    /**
+     * Creates an independent copy of this state with the same bounds. The trail of the copy is empty, so the copy
+     * can not return to states before the fork, and islands scheduled for propagation are not copied.
+     *
+     * @return a new state with the same bounds
+     */
+    SearchState fork() {
+        return fork(this.graph);
+    }
+
+    /**
+     * Returns this state to the given examination of its recording and creates a copy of it on another graph with
+     * the same connections, see {@link SearchGraph#hasConnectionsOf(de.karstenkoehler.bridges.model.PuzzleTopology)}.
+     * Unlike {@link SearchState#fork()}, the copy keeps the trail, the scheduled islands and the recording as they
+     * were right before the examination, so {@link SearchState#propagateBasic()} continues exactly like this state
+     * did. The caller is responsible for everything before the examination being valid on the other graph.
+     *
+     * @param graph       the graph of the copy
+     * @param examination the index of the examination, see {@link SearchState#firstExamination(BitSet)}
+     * @return a new state that continues the recording with the given examination
+     */
+    SearchState fork(SearchGraph graph, int examination) {
+        int mark = this.examinations[2 * examination];
+        int scheduledCount = this.examinations[2 * examination + 1];
+        undo(mark);
+
+        SearchState copy = fork(graph);
+        copy.trail = Arrays.copyOf(this.trail, this.trail.length);
+        copy.trailSize = mark;
+        for (int i = examination; i < scheduledCount; i++) {
+            copy.enqueue(this.scheduled[i]);
+        }
+        copy.recording = true;
+        copy.scheduled = Arrays.copyOf(this.scheduled, this.scheduled.length);
+        copy.scheduledCount = scheduledCount;
+        copy.examinations = Arrays.copyOf(this.examinations, this.examinations.length);
+        copy.examinationCount = examination;
+        return copy;
+    }
+
+    private SearchState fork(SearchGraph graph) {
+        SearchState copy = new SearchState(graph);
+        System.arraycopy(this.lower, 0, copy.lower, 0, this.lower.length);
+        System.arraycopy(this.upper, 0, copy.upper, 0, this.upper.length);
+        System.arraycopy(this.decided, 0, copy.decided, 0, this.decided.length);
+        copy.hash = this.hash;
+        return copy;
+    }
+
+    /**
+     * Applies the rules that hold regardless of the current bridges and takes the existing bridges of the
+     * puzzle as lower bounds. Two islands that both need one bridge must not be connected by a single bridge
+     * and two islands that both need two bridges must not be connected by a double bridge, unless these are
+     * the only islands of the puzzle.
+     *
+     * @return false if the existing bridges already violate the rules, true otherwise
+     */
+    boolean initialize() {
+        return initialize(true);
+    }
+
+    /**
+     * Applies the rules that hold regardless of the current bridges, like {@link SearchState#initialize()}.
+     *
+     * @param existingBridges true to take the existing bridges of the puzzle as lower bounds, false to search
+     *                        as if no bridges had been built yet
+     * @return false if the existing bridges already violate the rules, true otherwise
+     */
+    boolean initialize(boolean existingBridges) {
+        for (int island = 0; island < graph.islandCount(); island++) {
+            enqueue(island);
+        }
+
+        for (int c = 0; c < graph.connectionCount(); c++) {
+            if (!restrict(c, 0, graph.maxBridges(c))) {
+                return false;
+            }
+            if (existingBridges && !restrict(c, graph.connection(c).getBridgeCount(), 2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the lower bound of the given connection.
+     *
+     * @param c the index of the connection
+     * @return the number of bridges known to be built
+     */
+    int lower(int c) {
+        return this.lower[c];
+    }
+
+    /**
+     * Returns the upper bound of the given connection.
+     *
+     * @param c the index of the connection
+     * @return the number of bridges that may be built
+     */
+    int upper(int c) {
+        return this.upper[c];
+    }
+
+    /**
+     * Returns the current size of the trail. Pass this value to {@link SearchState#undo(int)} to restore
+     * the current state.
+     *
+     * @return the current size of the trail
+     */
+    int mark() {
+        return this.trailSize;
+    }
+
+    /**
+     * Reverts all changes that were made after the given mark was taken.
+     *
+     * @param mark the mark to return to
+     */
+    void undo(int mark) {
+        while (this.trailSize > mark) {
+            int entry = this.trail[--this.trailSize];
+            int c = entry >>> 4;
+            int oldLower = (entry >>> 2) & 3;
+            int oldUpper = entry & 3;
+            rehash(c, this.lower[c], this.upper[c], oldLower, oldUpper);
+            this.lower[c] = (byte) oldLower;
+            this.upper[c] = (byte) oldUpper;
+        }
+        clearQueue();
+    }
+
+    /**
+     * Narrows the bounds of the connection to the given range. Both endpoints of the connection are scheduled
+     * for propagation. If the connection receives its first bridge, all crossing connections are closed.
+     *
+     * @param c   the index of the connection
+     * @param min the new minimum number of bridges
+     * @param max the new maximum number of bridges
+     * @return false if the range contradicts the current bounds, true otherwise
+     */
+    boolean restrict(int c, int min, int max) {
+        int oldLower = this.lower[c];
+        int oldUpper = this.upper[c];
+        int newLower = Math.max(oldLower, min);
+        int newUpper = Math.min(oldUpper, max);
+
+        if (newLower > newUpper) {
+            return false;
+        }
+        if (newLower == oldLower && newUpper == oldUpper) {
+            return true;
+        }
+
+        record(c, oldLower, oldUpper);
+        rehash(c, oldLower, oldUpper, newLower, newUpper);
+        this.lower[c] = (byte) newLower;
+        this.upper[c] = (byte) newUpper;
+        enqueue(graph.start(c));
+        enqueue(graph.end(c));
+
+        if (oldLower == 0 && newLower > 0) {
+            for (int other : graph.crossings(c)) {
+                if (!restrict(other, 0, 0)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies the counting rules to all scheduled islands until no more bounds change. An island must be able
+     * to reach its required number of bridges with the upper bounds and must not exceed it with the lower
+     * bounds. From the difference of both sums, tighter bounds for each attached connection are derived.
+     * This generalizes the exact-fit and the slack-of-one rule of {@link SolverImpl}.
+     *
+     * @return false if a contradiction was found, true otherwise
+     */
+    boolean propagate() {
+        while (this.queueSize > 0) {
+            int island = dequeue();
+            if (!propagate(island)) {
+                clearQueue();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean propagate(int island) {
+        int required = graph.required(island);
+        int sumLower = 0;
+        int sumUpper = 0;
+
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            int c = graph.adjacent(island, direction);
+            if (c >= 0) {
+                sumLower += this.lower[c];
+                sumUpper += this.upper[c];
+            }
+        }
+
+        if (sumLower > required || sumUpper < required) {
+            return false;
+        }
+
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            int c = graph.adjacent(island, direction);
+            if (c < 0 || this.lower[c] == this.upper[c]) {
+                continue;
+            }
+            int min = required - (sumUpper - this.upper[c]);
+            int max = required - (sumLower - this.lower[c]);
+            if (!restrict(c, min, max)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies only the exact-fit and the slack-of-one rule of {@link SolverImpl} to all scheduled islands until
+     * no more bounds change. In contrast to {@link SearchState#propagate()}, an island only draws conclusions
+     * from the bridges it still needs and the bridges its neighbors can still take. Since these depend on the
+     * neighbors of both islands of a changed connection, the neighbors are scheduled as well.
+     *
+     * @return false if a contradiction was found, true otherwise
+     */
+    boolean propagateBasic() {
+        while (this.queueSize > 0) {
+            if (this.recording) {
+                recordExamination();
+            }
+            int island = dequeue();
+            int mark = this.trailSize;
+            if (!propagateBasic(island)) {
+                clearQueue();
+                return false;
+            }
+            enqueueChangedSince(mark);
+        }
+        return true;
+    }
+
+    /**
+     * Starts recording the order in which the islands are scheduled and examined by
+     * {@link SearchState#propagateBasic()}, beginning with the islands scheduled right now. The basic rules do not
+     * always come to the same conclusions if the islands are examined in a different order, so this order is
+     * needed to continue the propagation from one of the examinations, see
+     * {@link SearchState#fork(SearchGraph, int)}. No other propagation may take place while recording.
+     */
+    void startRecording() {
+        this.recording = true;
+        this.scheduled = new int[graph.islandCount() * 2];
+        this.scheduledCount = 0;
+        this.examinations = new int[graph.islandCount() * 4];
+        this.examinationCount = 0;
+        for (int i = 0; i < this.queueSize; i++) {
+            recordScheduled(this.queue[(this.queueHead + i) % this.queue.length]);
+        }
+    }
+
+    /**
+     * Stops recording. The recording is kept for {@link SearchState#fork(SearchGraph, int)}.
+     */
+    void stopRecording() {
+        this.recording = false;
+    }
+
+    /**
+     * Returns the first examination of one of the given islands in the recording.
+     *
+     * @param islands the indices of the islands
+     * @return the index of the examination, -1 if none of the islands was examined
+     */
+    int firstExamination(BitSet islands) {
+        // the islands are examined in the order they were scheduled
+        for (int k = 0; k < this.examinationCount; k++) {
+            if (islands.get(this.scheduled[k])) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    private void recordScheduled(int island) {
+        if (this.scheduledCount == this.scheduled.length) {
+            this.scheduled = Arrays.copyOf(this.scheduled, this.scheduled.length * 2);
+        }
+        this.scheduled[this.scheduledCount++] = island;
+    }
+
+    private void recordExamination() {
+        if (2 * this.examinationCount == this.examinations.length) {
+            this.examinations = Arrays.copyOf(this.examinations, this.examinations.length * 2);
+        }
+        this.examinations[2 * this.examinationCount] = this.trailSize;
+        this.examinations[2 * this.examinationCount + 1] = this.scheduledCount;
+        this.examinationCount++;
+    }
+
+    /**
+     * Schedules the islands of all connections whose bounds changed after the given mark was taken, together
+     * with their neighbors.
+     *
+     * @param mark the mark taken before the changes
+     */
+    void enqueueChangedSince(int mark) {
+        for (int i = mark; i < this.trailSize; i++) {
+            int c = this.trail[i] >>> 4;
+            enqueue(graph.start(c));
+            enqueueNeighbors(graph.start(c));
+            enqueue(graph.end(c));
+            enqueueNeighbors(graph.end(c));
+        }
+    }
+
+    /**
+     * Adds the islands of all connections whose bounds changed after the given mark was taken, together with
+     * their neighbors, to the given set. These are the islands {@link SearchState#enqueueChangedSince(int)}
+     * schedules for propagation.
+     *
+     * @param mark    the mark taken before the changes
+     * @param islands the set to add the indices of the islands to
+     */
+    void collectChangedSince(int mark, BitSet islands) {
+        for (int i = mark; i < this.trailSize; i++) {
+            int c = this.trail[i] >>> 4;
+            collectNeighborhood(graph.start(c), islands);
+            collectNeighborhood(graph.end(c), islands);
+        }
+    }
+
+    private void collectNeighborhood(int island, BitSet islands) {
+        if (islands.get(island)) {
+            return;
+        }
+        islands.set(island);
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            int c = graph.adjacent(island, direction);
+            if (c >= 0) {
+                islands.set(graph.other(c, island));
+            }
+        }
+    }
+
+    private void enqueueNeighbors(int island) {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            int c = graph.adjacent(island, direction);
+            if (c >= 0) {
+                enqueue(graph.other(c, island));
+            }
+        }
+    }
+
+    private boolean propagateBasic(int island) {
+        int needed = needed(island);
+        int capacity = 0;
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            int c = graph.adjacent(island, direction);
+            if (c >= 0) {
+                capacity += capacity(c, island);
+            }
+        }
+
+        if (needed < 0 || capacity < needed) {
+            return false;
+        }
+        if (capacity != needed && capacity != needed + 1) {
+            return true;
+        }
+
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            int c = graph.adjacent(island, direction);
+            if (c < 0 || this.lower[c] == this.upper[c]) {
+                continue;
+            }
+            int add = capacity == needed ? capacity(c, island) : (capacity(c, island) == 2 ? 1 : 0);
+            int max = needed == 0 ? this.lower[c] : this.upper[c];
+            if (!restrict(c, this.lower[c] + add, max)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns how many bridges the island needs in addition to the lower bounds of its connections.
+     */
+    private int needed(int island) {
+        int needed = graph.required(island);
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            int c = graph.adjacent(island, direction);
+            if (c >= 0) {
+                needed -= this.lower[c];
+            }
+        }
+        return needed;
+    }
+
+    /**
+     * Returns how many bridges can still be added to the connection, seen from the given island.
+     */
+    private int capacity(int c, int island) {
+        return Math.max(0, Math.min(this.upper[c] - this.lower[c], needed(graph.other(c, island))));
+    }
+
+    /**
+     * Schedules all islands for propagation.
+     */
+    void enqueueAll() {
+        for (int island = 0; island < graph.islandCount(); island++) {
+            enqueue(island);
+        }
+    }
+
+    /**
+     * Checks if all islands can still be connected to a single group, i.e. if the graph of all connections
+     * that may hold a bridge is connected. Since satisfied islands close all their open connections during
+     * propagation, this also detects groups of islands that have been isolated from the rest.
+     *
+     * @return true if all islands can still be connected, false otherwise
+     */
+    boolean connectable() {
+        int islandCount = graph.islandCount();
+        if (islandCount == 0) {
+            return true;
+        }
+
+        Arrays.fill(this.visited, false);
+        int size = 0;
+        int reached = 1;
+        this.stack[size++] = 0;
+        this.visited[0] = true;
+
+        while (size > 0) {
+            int island = this.stack[--size];
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                int c = graph.adjacent(island, direction);
+                if (c < 0 || this.upper[c] == 0) {
+                    continue;
+                }
+                int other = graph.other(c, island);
+                if (!this.visited[other]) {
+                    this.visited[other] = true;
+                    this.stack[size++] = other;
+                    reached++;
+                }
+            }
+        }
+        return reached == islandCount;
+    }
+
+    /**
+     * Checks if all islands can still be connected to a single group, like {@link SearchState#connectable()},
+     * under the assumption that they could be connected when the given mark was taken. Only connections that
+     * lost their last possible bridge since can have split the islands, so it suffices to find another path
+     * between the islands of each of these connections. These paths are usually short, so the search rarely
+     * visits more than a few islands.
+     *
+     * @param mark the mark taken when the islands were known to be connectable
+     * @return true if all islands can still be connected, false otherwise
+     */
+    boolean connectableSince(int mark) {
+        for (int i = mark; i < this.trailSize; i++) {
+            int entry = this.trail[i];
+            int c = entry >>> 4;
+            if ((entry & 3) != 0 && this.upper[c] == 0 && !linked(graph.start(c), graph.end(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if there is a path between the two islands over connections that may hold a bridge. The search
+     * alternates between both islands and expands the side with the fewer open islands, so that a small group of
+     * islands that has been cut off is found quickly.
+     */
+    private boolean linked(int from, int to) {
+        if (this.marks == null) {
+            this.marks = new int[graph.islandCount()];
+            this.backQueue = new int[graph.islandCount()];
+        }
+        if (this.stamp > Integer.MAX_VALUE - 2) {
+            Arrays.fill(this.marks, 0);
+            this.stamp = 0;
+        }
+        int fromMark = ++this.stamp;
+        int toMark = ++this.stamp;
+        this.marks[from] = fromMark;
+        this.marks[to] = toMark;
+
+        int[] frontQueue = this.stack;
+        int frontHead = 0;
+        int frontTail = 0;
+        int backHead = 0;
+        int backTail = 0;
+        frontQueue[frontTail++] = from;
+        this.backQueue[backTail++] = to;
+
+        while (frontHead < frontTail && backHead < backTail) {
+            boolean forward = frontTail - frontHead <= backTail - backHead;
+            int island = forward ? frontQueue[frontHead++] : this.backQueue[backHead++];
+            int own = forward ? fromMark : toMark;
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                int c = graph.adjacent(island, direction);
+                if (c < 0 || this.upper[c] == 0) {
+                    continue;
+                }
+                int other = graph.other(c, island);
+                if (this.marks[other] == (forward ? toMark : fromMark)) {
+                    return true;
+                }
+                if (this.marks[other] != own) {
+                    this.marks[other] = own;
+                    if (forward) {
+                        frontQueue[frontTail++] = other;
+                    } else {
+                        this.backQueue[backTail++] = other;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches a connection without a bridge that is the only link between two groups of islands in the graph of
+     * all connections that may hold a bridge. Such a connection needs at least one bridge, otherwise the groups
+     * can not be connected. The search is a depth-first search that tracks the earliest island reachable from
+     * every subtree, so it takes linear time.
+     *
+     * @return the index of such a connection, -1 if there is none
+     */
+    int findCutConnection() {
+        int islandCount = graph.islandCount();
+        if (this.discovery == null) {
+            this.discovery = new int[islandCount];
+            this.low = new int[islandCount];
+            this.parentConnection = new int[islandCount];
+            this.nextDirection = new int[islandCount];
+        }
+        Arrays.fill(this.discovery, 0);
+
+        int time = 0;
+        for (int root = 0; root < islandCount; root++) {
+            if (this.discovery[root] != 0) {
+                continue;
+            }
+
+            int size = 0;
+            this.stack[size++] = root;
+            this.discovery[root] = this.low[root] = ++time;
+            this.parentConnection[root] = -1;
+            this.nextDirection[root] = 0;
+
+            while (size > 0) {
+                int island = this.stack[size - 1];
+                if (this.nextDirection[island] < DIRECTIONS) {
+                    int c = graph.adjacent(island, this.nextDirection[island]++);
+                    if (c < 0 || this.upper[c] == 0 || c == this.parentConnection[island]) {
+                        continue;
+                    }
+                    int other = graph.other(c, island);
+                    if (this.discovery[other] == 0) {
+                        this.discovery[other] = this.low[other] = ++time;
+                        this.parentConnection[other] = c;
+                        this.nextDirection[other] = 0;
+                        this.stack[size++] = other;
+                    } else {
+                        this.low[island] = Math.min(this.low[island], this.discovery[other]);
+                    }
+                    continue;
+                }
+
+                size--;
+                int c = this.parentConnection[island];
+                if (c >= 0) {
+                    int parent = graph.other(c, island);
+                    this.low[parent] = Math.min(this.low[parent], this.low[island]);
+                    if (this.low[island] > this.discovery[parent] && this.lower[c] == 0) {
+                        return c;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Selects the next connection to branch on. The connection is taken from the island with the fewest
+     * undecided connections, because this keeps the branching factor small.
+     *
+     * @return the index of an undecided connection, -1 if all connections are decided
+     */
+    int selectUndecided() {
+        int best = -1;
+        int bestOpen = Integer.MAX_VALUE;
+
+        for (int island = 0; island < graph.islandCount(); island++) {
+            int open = 0;
+            int candidate = -1;
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                int c = graph.adjacent(island, direction);
+                if (c >= 0 && this.lower[c] != this.upper[c]) {
+                    open++;
+                    candidate = c;
+                }
+            }
+            if (open > 0 && open < bestOpen) {
+                best = candidate;
+                bestOpen = open;
+                if (open == 1) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the lower bounds of all connections. If every connection is decided, this is the solution.
+     *
+     * @return the number of bridges of every connection
+     */
+    int[] bridges() {
+        int[] result = new int[this.lower.length];
+        for (int c = 0; c < result.length; c++) {
+            result[c] = this.lower[c];
+        }
+        return result;
+    }
+
+    /**
+     * Returns a 64 bit key of the part of the state that decides if the state has a solution: the bounds of the
+     * undecided connections, the number of bridges on the decided connections of every island and the groups
+     * formed by the islands with undecided connections, where two islands belong to the same group if they are
+     * linked by connections with at least one bridge. Two states with the same key either both have a solution
+     * or both have none, even if they differ in other decided connections. This happens when the search reaches
+     * the same situation in one part of the puzzle after different decisions in another part.
+     * <p>
+     * Call this only after a successful propagation, because it relies on the islands without undecided
+     * connections being satisfied.
+     *
+     * @return the key of the state
+     */
+    long key() {
+        int islandCount = graph.islandCount();
+        if (this.groups == null) {
+            this.groups = new int[islandCount];
+            this.representatives = new int[islandCount];
+        }
+        for (int island = 0; island < islandCount; island++) {
+            this.groups[island] = island;
+        }
+        for (int c = 0; c < this.lower.length; c++) {
+            if (this.lower[c] > 0) {
+                this.groups[group(graph.start(c))] = group(graph.end(c));
+            }
+        }
+
+        long key = this.hash;
+        Arrays.fill(this.representatives, -1);
+        for (int island = 0; island < islandCount; island++) {
+            if (!hasUndecided(island)) {
+                continue;
+            }
+            int group = group(island);
+            if (this.representatives[group] < 0) {
+                this.representatives[group] = island;
+            }
+            key ^= ZobristKeys.group(island, this.representatives[group]);
+        }
+        return key;
+    }
+
+    /**
+     * Finds the root of the group of the island and shortens the path to the root on the way.
+     */
+    private int group(int island) {
+        while (this.groups[island] != island) {
+            this.groups[island] = this.groups[this.groups[island]];
+            island = this.groups[island];
+        }
+        return island;
+    }
+
+    private boolean hasUndecided(int island) {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            int c = graph.adjacent(island, direction);
+            if (c >= 0 && this.lower[c] != this.upper[c]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the hash for a change of the bounds of a connection. An undecided connection contributes the key
+     * of its bounds, a decided connection contributes its bridges to the keys of both its islands.
+     */
+    private void rehash(int c, int oldLower, int oldUpper, int newLower, int newUpper) {
+        if (oldLower != oldUpper) {
+            this.hash ^= ZobristKeys.connection(c, oldLower, oldUpper);
+        } else {
+            addDecided(c, -oldLower);
+        }
+        if (newLower != newUpper) {
+            this.hash ^= ZobristKeys.connection(c, newLower, newUpper);
+        } else {
+            addDecided(c, newLower);
+        }
+    }
+
+    private void addDecided(int c, int bridges) {
+        if (bridges != 0) {
+            addDecidedBridges(graph.start(c), bridges);
+            addDecidedBridges(graph.end(c), bridges);
+        }
+    }
+
+    private void addDecidedBridges(int island, int bridges) {
+        this.hash ^= ZobristKeys.island(island, this.decided[island]);
+        this.decided[island] += bridges;
+        this.hash ^= ZobristKeys.island(island, this.decided[island]);
+    }
+
+    private void record(int c, int oldLower, int oldUpper) {
+        if (this.trailSize == this.trail.length) {
+            this.trail = Arrays.copyOf(this.trail, this.trail.length * 2);
+        }
+        this.trail[this.trailSize++] = (c << 4) | (oldLower << 2) | oldUpper;
+    }
+
+    private void enqueue(int island) {
+        if (this.queued[island]) {
+            return;
+        }
+        this.queued[island] = true;
+        this.queue[(this.queueHead + this.queueSize) % this.queue.length] = island;
+        this.queueSize++;
+        if (this.recording) {
+            recordScheduled(island);
+        }
+    }
+
+    private int dequeue() {
+        int island = this.queue[this.queueHead];
+        this.queueHead = (this.queueHead + 1) % this.queue.length;
+        this.queueSize--;
+        this.queued[island] = false;
+        return island;
+    }
+
+    private void clearQueue() {
+        while (this.queueSize > 0) {
+            dequeue();
+        }
+    }
+}
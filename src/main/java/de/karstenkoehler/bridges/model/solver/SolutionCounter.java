@@ -0,0 +1,127 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+
+/**
+ * Counts the solutions of a puzzle, up to a limit. The search is the same as in {@link BacktrackingSolver}:
+ * bounds are propagated in every node and states that can no longer be connected are pruned. Instead of stopping
+ * at the first solution, the search continues until all solutions are enumerated or the limit is reached.
+ * States without any solution are remembered in a {@link TranspositionTable}, like in {@link BacktrackingSolver}.
+ * <p>
+ * The bridges currently built in the puzzle are ignored, so the result describes the puzzle itself and not
+ * the progress of a player. The puzzle is never modified.
+ */
+public class SolutionCounter {
+    /**
+     * The limit that is sufficient to decide if a puzzle has a unique solution.
+     */
+    public static final int UNIQUENESS_LIMIT = 2;
+
+    private final int limit;
+
+    /**
+     * Creates a counter that stops as soon as a second solution is found.
+     */
+    public SolutionCounter() {
+        this(UNIQUENESS_LIMIT);
+    }
+
+    /**
+     * Creates a counter that stops as soon as the given number of solutions is found.
+     *
+     * @param limit the maximum number of solutions to count
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public SolutionCounter(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive, but was " + limit);
+        }
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the maximum number of solutions this counter counts.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Counts the solutions of the given puzzle. Make sure that {@link BridgesPuzzle#fillMissingConnections()}
+     * has been called before.
+     *
+     * @param puzzle the puzzle to count the solutions of
+     * @return the number of solutions, but at most the limit of this counter
+     */
+    public int countSolutions(BridgesPuzzle puzzle) {
+        SearchState state = new SearchState(new SearchGraph(puzzle));
+        if (!state.initialize(false)) {
+            return 0;
+        }
+        return count(state, createTable(), limit);
+    }
+
+    /**
+     * Checks if the given puzzle has exactly one solution. This needs a limit of at least
+     * {@link SolutionCounter#UNIQUENESS_LIMIT}, regardless of the limit of this counter.
+     *
+     * @param puzzle the puzzle to check
+     * @return true if the puzzle has exactly one solution, false if it has none or several
+     */
+    public boolean isUnique(BridgesPuzzle puzzle) {
+        SearchState state = new SearchState(new SearchGraph(puzzle));
+        return state.initialize(false) && count(state, createTable(), UNIQUENESS_LIMIT) == 1;
+    }
+
+    /**
+     * Propagates the current state and counts the solutions below it by branching on an undecided connection.
+     * On return, the state is the same as before the call.
+     *
+     * @param state      the state to count from
+     * @param deadStates the states known to have no solution
+     * @param limit      the number of solutions after which the search stops
+     * @return the number of solutions found, at most the limit
+     */
+    private int count(SearchState state, TranspositionTable deadStates, int limit) {
+        int mark = state.mark();
+        if (!state.propagate() || !state.connectable()) {
+            state.undo(mark);
+            return 0;
+        }
+
+        int c = state.selectUndecided();
+        if (c < 0) {
+            state.undo(mark);
+            return 1;
+        }
+
+        long key = state.key();
+        if (deadStates.contains(key)) {
+            state.undo(mark);
+            return 0;
+        }
+
+        int found = 0;
+        int branch = state.mark();
+        int min = state.lower(c);
+        int max = state.upper(c);
+        for (int bridges = max; bridges >= min && found < limit; bridges--) {
+            if (state.restrict(c, bridges, bridges)) {
+                found += count(state, deadStates, limit - found);
+            }
+            state.undo(branch);
+        }
+
+        if (found == 0) {
+            deadStates.add(key);
+        }
+        state.undo(mark);
+        return found;
+    }
+
+    private static TranspositionTable createTable() {
+        return new TranspositionTable(BacktrackingSolver.DEFAULT_DEAD_STATES);
+    }
+}
@@ -3,6 +3,9 @@ package de.karstenkoehler.bridges.model.solver;
 import de.karstenkoehler.bridges.model.BridgesPuzzle;
 import de.karstenkoehler.bridges.model.Connection;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * A solver can calculate a safe bridge for a given {@link BridgesPuzzle}. The puzzle has to be in state
  * <code>not solved</code>, otherwise no safe bridges can be calculated. Implementations of this interface
@@ -19,4 +22,31 @@ public interface Solver {
      * @return a bridge that's count can safely be incremented
      */
     Connection nextSafeBridge(BridgesPuzzle puzzle);
+
+    /**
+     * Starts a session for building all safe bridges of the given puzzle one after another. The default
+     * session simply calls {@link Solver#nextSafeBridge(BridgesPuzzle)} in every step, implementations may
+     * provide sessions that reuse the results of earlier steps.
+     *
+     * @param puzzle the puzzle to solve
+     * @return a new session for the puzzle
+     */
+    default SolvingSession startSession(BridgesPuzzle puzzle) {
+        return () -> nextSafeBridge(puzzle);
+    }
+
+    /**
+     * Calculates all safe bridges of the given puzzle in its current state, in the order of
+     * {@link BridgesPuzzle#getConnections()}. Every connection occurs at most once, together with the number of
+     * bridges that can safely be added to it. All of them can be applied at once. The default implementation only
+     * returns the bridge of {@link Solver#nextSafeBridge(BridgesPuzzle)}, implementations may deduce more bridges
+     * in a single pass.
+     *
+     * @param puzzle the puzzle to solve
+     * @return an unmodifiable list of safe bridges, empty if there are no more safe bridges
+     */
+    default List<SafeBridge> allSafeBridges(BridgesPuzzle puzzle) {
+        Connection next = nextSafeBridge(puzzle);
+        return next == null ? Collections.emptyList() : Collections.singletonList(new SafeBridge(next, 1));
+    }
 }
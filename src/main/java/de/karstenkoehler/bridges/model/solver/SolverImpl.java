@@ -4,8 +4,10 @@ import de.karstenkoehler.bridges.model.BridgesPuzzle;
 import de.karstenkoehler.bridges.model.Connection;
 import de.karstenkoehler.bridges.model.Direction;
 import de.karstenkoehler.bridges.model.Island;
+import de.karstenkoehler.bridges.model.PuzzleTopology;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -13,22 +15,134 @@ import java.util.List;
  * where a safe bridge can be placed.
  */
 public class SolverImpl implements Solver {
+    private final SolverStatistics statistics;
+
+    /**
+     * Creates a solver that does not collect any statistics.
+     */
+    public SolverImpl() {
+        this(null);
+    }
+
+    /**
+     * Creates a solver that records its work in the given statistics. Since the statistics are not thread safe,
+     * the solver must then only be used by one thread at a time.
+     *
+     * @param statistics the statistics to record to, or null to collect no statistics
+     */
+    public SolverImpl(SolverStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns the statistics the solver records to.
+     *
+     * @return the statistics, or null if the solver collects no statistics
+     */
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
 
     /**
      * @see Solver#nextSafeBridge(BridgesPuzzle)
      */
     @Override
     public Connection nextSafeBridge(BridgesPuzzle puzzle) {
+        long start = startStep();
         for (Island island : puzzle.getIslands()) {
             Connection save = findSafeBridge(island, puzzle);
             if (save != null) {
+                finishStep(start);
                 return save;
             }
         }
 
+        finishStep(start);
         return null;
     }
 
+    /**
+     * Starts a session that only re-examines islands whose surroundings changed since the previous step.
+     *
+     * @see Solver#startSession(BridgesPuzzle)
+     */
+    @Override
+    public SolvingSession startSession(BridgesPuzzle puzzle) {
+        return new DeductionSession(this, puzzle);
+    }
+
+    /**
+     * Applies the rules of {@link SolverImpl#nextSafeBridge(BridgesPuzzle)} to every island once. Instead of the
+     * first safe bridge of an island, all bridges an island needs are collected: if the island needs every possible
+     * bridge, each of its connections gets all of them, if it can spare exactly one, each connection that could
+     * take two bridges gets one.
+     *
+     * @see Solver#allSafeBridges(BridgesPuzzle)
+     */
+    @Override
+    public List<SafeBridge> allSafeBridges(BridgesPuzzle puzzle) {
+        long start = startStep();
+        PuzzleTopology topology = puzzle.getTopology();
+        int[] safe = new int[topology.connectionCount()];
+        for (int island = 0; island < topology.islandCount(); island++) {
+            deduceSafeBridges(island, topology, puzzle, safe);
+        }
+
+        List<SafeBridge> result = new ArrayList<>();
+        for (int c = 0; c < safe.length; c++) {
+            if (safe[c] > 0) {
+                result.add(new SafeBridge(topology.getConnection(c), safe[c]));
+            }
+        }
+
+        finishStep(start);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Stores the number of safe bridges of all connections of the given island, unless another island already
+     * deduced more bridges for the same connection.
+     */
+    private void deduceSafeBridges(int island, PuzzleTopology topology, BridgesPuzzle puzzle, int[] safe) {
+        int remainingBridges = puzzle.getRemainingBridgeCount(topology.getIsland(island));
+        if (remainingBridges == 0) {
+            return;
+        }
+        if (statistics != null) {
+            statistics.islandExamined();
+        }
+
+        int possibleNeighborBridgeCount = 0;
+        for (Direction direction : Direction.values()) {
+            int c = topology.adjacent(island, direction);
+            if (c >= 0 && isConsideredSafe(topology.getConnection(c), puzzle)) {
+                possibleNeighborBridgeCount += bridgesPossible(topology.getConnection(c), puzzle);
+            }
+        }
+
+        int spare = possibleNeighborBridgeCount - remainingBridges;
+        if (spare != 0 && spare != 1) {
+            return;
+        }
+
+        boolean fired = false;
+        for (Direction direction : Direction.values()) {
+            int c = topology.adjacent(island, direction);
+            if (c < 0 || !isConsideredSafe(topology.getConnection(c), puzzle)) {
+                continue;
+            }
+
+            int possible = bridgesPossible(topology.getConnection(c), puzzle);
+            int count = spare == 0 ? possible : (possible == 2 ? 1 : 0);
+            safe[c] = Math.max(safe[c], count);
+            fired |= count > 0;
+        }
+
+        if (fired) {
+            ruleFired(spare == 0 ? SolverStatistics.Rule.EXACT_FIT : SolverStatistics.Rule.SPARE_ONE);
+        }
+    }
+
     /**
      * Checks if one of the connected bridges of the island is considered safe. Returns <code>null</code> if
      * there are no safe bridges near the island.
@@ -37,24 +151,54 @@ public class SolverImpl implements Solver {
      * @param puzzle the puzzle that contains the island
      * @return a safe bridge
      */
-    private Connection findSafeBridge(Island island, BridgesPuzzle puzzle) {
+    Connection findSafeBridge(Island island, BridgesPuzzle puzzle) {
         int remainingBridges = puzzle.getRemainingBridgeCount(island);
         if (remainingBridges == 0) {
             return null;
         }
+        if (statistics != null) {
+            statistics.islandExamined();
+        }
 
         List<Connection> possibleNeighborBridges = getPossibleNeighborBridges(island, puzzle);
         int possibleNeighborBridgeCount = possibleNeighborBridges.stream().mapToInt((bridge) -> bridgesPossible(bridge, puzzle)).sum();
 
+        Connection safe = null;
         if (possibleNeighborBridgeCount - remainingBridges == 0) {
-            return possibleNeighborBridges.stream().filter(bridge -> bridge.getBridgeCount() < 2).findFirst().orElse(null);
+            safe = possibleNeighborBridges.stream().filter(bridge -> bridge.getBridgeCount() < 2).findFirst().orElse(null);
+            if (safe != null) {
+                ruleFired(SolverStatistics.Rule.EXACT_FIT);
+            }
+        } else if (possibleNeighborBridgeCount - remainingBridges == 1) {
+            safe = possibleNeighborBridges.stream().filter(bridge -> bridgesPossible(bridge, puzzle) == 2).findFirst().orElse(null);
+            if (safe != null) {
+                ruleFired(SolverStatistics.Rule.SPARE_ONE);
+            }
         }
 
-        if (possibleNeighborBridgeCount - remainingBridges == 1) {
-            return possibleNeighborBridges.stream().filter(bridge -> bridgesPossible(bridge, puzzle) == 2).findFirst().orElse(null);
+        return safe;
+    }
+
+    /**
+     * Returns the start time of a solving step, or 0 if no statistics are collected.
+     */
+    long startStep() {
+        return statistics == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Records a solving step that started at the given time.
+     */
+    void finishStep(long start) {
+        if (statistics != null) {
+            statistics.stepFinished(System.nanoTime() - start);
         }
+    }
 
-        return null;
+    private void ruleFired(SolverStatistics.Rule rule) {
+        if (statistics != null) {
+            statistics.ruleFired(rule);
+        }
     }
 
     /**
@@ -86,12 +230,19 @@ public class SolverImpl implements Solver {
 
     private boolean isConsideredSafe(Connection connection, BridgesPuzzle puzzle) {
         return connection != null && connection.getBridgeCount() < 2
-                && !puzzle.causesCrossing(connection)
+                && !causesCrossing(connection, puzzle)
                 && !onlyTwoIslandsPuzzle(connection, puzzle)
                 && !(puzzle.getRemainingBridgeCount(connection.getStartIsland()) == 0)
                 && !(puzzle.getRemainingBridgeCount(connection.getEndIsland()) == 0);
     }
 
+    private boolean causesCrossing(Connection connection, BridgesPuzzle puzzle) {
+        if (statistics != null) {
+            statistics.crossingChecked();
+        }
+        return puzzle.causesCrossing(connection);
+    }
+
     private boolean onlyTwoIslandsPuzzle(Connection connection, BridgesPuzzle puzzle) {
         return connection.getStartIsland().getRequiredBridges() == 1
                 && connection.getEndIsland().getRequiredBridges() == 1
@@ -0,0 +1,147 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects statistics about the work done by a {@link SolverImpl}: how often each rule found safe bridges, how
+ * many islands were examined, how many connections were checked for crossings and how much time the solving
+ * steps took. A step is a single call of {@link Solver#nextSafeBridge(de.karstenkoehler.bridges.model.BridgesPuzzle)},
+ * {@link SolvingSession#nextSafeBridge()} or {@link Solver#allSafeBridges(de.karstenkoehler.bridges.model.BridgesPuzzle)}.
+ * <p>
+ * The counters are plain fields, so a collector must not be shared between solvers used by different threads.
+ * Use {@link SolverStatistics#add(SolverStatistics)} to combine the collectors of several threads.
+ */
+public final class SolverStatistics {
+    /**
+     * This enum contains the rules {@link SolverImpl} uses to find safe bridges.
+     */
+    public enum Rule {
+        /**
+         * The island needs all bridges that can still be built on its connections.
+         */
+        EXACT_FIT,
+        /**
+         * The island can spare exactly one of the bridges that can still be built, so every connection that
+         * could take two bridges needs at least one.
+         */
+        SPARE_ONE
+    }
+
+    private static final Rule[] RULES = Rule.values();
+
+    private final long[] ruleFirings = new long[RULES.length];
+    private long examinedIslands;
+    private long crossingChecks;
+    private long steps;
+    private long stepNanos;
+
+    void ruleFired(Rule rule) {
+        this.ruleFirings[rule.ordinal()]++;
+    }
+
+    void islandExamined() {
+        this.examinedIslands++;
+    }
+
+    void crossingChecked() {
+        this.crossingChecks++;
+    }
+
+    void stepFinished(long nanos) {
+        this.steps++;
+        this.stepNanos += nanos;
+    }
+
+    /**
+     * Returns how often the given rule found safe bridges.
+     *
+     * @param rule the rule
+     * @return the number of firings
+     */
+    public long getRuleFirings(Rule rule) {
+        return this.ruleFirings[rule.ordinal()];
+    }
+
+    /**
+     * Returns the number of islands whose connections were examined for safe bridges.
+     *
+     * @return the number of examined islands
+     */
+    public long getExaminedIslands() {
+        return this.examinedIslands;
+    }
+
+    /**
+     * Returns the number of connections that were checked for crossing bridges.
+     *
+     * @return the number of crossing checks
+     */
+    public long getCrossingChecks() {
+        return this.crossingChecks;
+    }
+
+    /**
+     * Returns the number of solving steps.
+     *
+     * @return the number of steps
+     */
+    public long getSteps() {
+        return this.steps;
+    }
+
+    /**
+     * Returns the total time spent in all solving steps.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getStepNanos() {
+        return this.stepNanos;
+    }
+
+    /**
+     * Returns the average time spent in a solving step.
+     *
+     * @return the average time in nanoseconds, 0 if there were no steps
+     */
+    public double getNanosPerStep() {
+        return this.steps == 0 ? 0 : this.stepNanos / (double) this.steps;
+    }
+
+    /**
+     * Adds all counters of the given statistics to these statistics.
+     *
+     * @param other the statistics to add
+     */
+    public void add(SolverStatistics other) {
+        for (int i = 0; i < this.ruleFirings.length; i++) {
+            this.ruleFirings[i] += other.ruleFirings[i];
+        }
+        this.examinedIslands += other.examinedIslands;
+        this.crossingChecks += other.crossingChecks;
+        this.steps += other.steps;
+        this.stepNanos += other.stepNanos;
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public void reset() {
+        for (int i = 0; i < this.ruleFirings.length; i++) {
+            this.ruleFirings[i] = 0;
+        }
+        this.examinedIslands = 0;
+        this.crossingChecks = 0;
+        this.steps = 0;
+        this.stepNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Rule rule : RULES) {
+            builder.append(rule.name().toLowerCase().replace('_', '-')).append('=').append(getRuleFirings(rule)).append(' ');
+        }
+        return builder.append(String.format("islands=%d crossing-checks=%d steps=%d %.3f us/step", this.examinedIslands,
+                this.crossingChecks, this.steps, getNanosPerStep() / TimeUnit.MICROSECONDS.toNanos(1))).toString();
+    }
+}
@@ -0,0 +1,21 @@
+package de.karstenkoehler.bridges.model.solver;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+
+/**
+ * A session of a {@link Solver} working on a single {@link BridgesPuzzle}. Unlike the solver itself, a session
+ * may remember what it found out in earlier steps, so that building all safe bridges one after another does not
+ * need to examine the whole puzzle in every step.
+ */
+@FunctionalInterface
+public interface SolvingSession {
+    /**
+     * Calculates the next safe bridge for the puzzle of this session. The caller is responsible for incrementing
+     * the bridge count. Returns <code>null</code> if there are no more safe bridges in the puzzle.
+     *
+     * @return a bridge that's count can safely be incremented
+     * @see Solver#nextSafeBridge(BridgesPuzzle)
+     */
+    Connection nextSafeBridge();
+}
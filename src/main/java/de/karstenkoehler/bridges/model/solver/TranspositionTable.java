@@ -0,0 +1,142 @@
+package de.karstenkoehler.bridges.model.solver;
+
+/**
+ * A bounded set of the keys of search states that are known to have no solution, see
+ * {@link SearchState#key()}. The search consults the table before it explores a state, so that subtrees that
+ * have already been refuted are not explored again when they are reached a second time.
+ * <p>
+ * The table is divided into stripes with their own lock, so that the tasks of a
+ * {@link ParallelBacktrackingSolver} rarely wait for each other. Within a stripe, a key can only be stored in
+ * one of four slots of its bucket. When all slots are taken, the clock algorithm picks the slot to reuse: every
+ * slot has a reference bit that is set when the key is found, and a hand moves over the slots, clearing set bits
+ * until it finds a slot whose bit is not set. Keys that help the search survive longer than keys that are never
+ * found again.
+ * <p>
+ * Only the 64 bit keys are stored, not the states themselves. Two different states with the same key would let
+ * the search skip a state that has a solution, but with a few million states the chance for this is far below
+ * one in a million.
+ */
+class TranspositionTable {
+    private static final int STRIPES = 16;
+    private static final int WAYS = 4;
+    private static final int MIN_CAPACITY = STRIPES * WAYS;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * Creates a table that holds at most the given number of keys, rounded as described in
+     * {@link TranspositionTable#capacity(int)}. Memory is only allocated for the parts of the table that are
+     * actually used.
+     *
+     * @param capacity the maximum number of keys
+     */
+    TranspositionTable(int capacity) {
+        int buckets = capacity(capacity) / MIN_CAPACITY;
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new Stripe(buckets);
+        }
+    }
+
+    /**
+     * Returns the number of keys a table created with the given capacity actually holds. The capacity is rounded
+     * up to the next power of two of at least 64 and at most 2^30.
+     *
+     * @param capacity the requested maximum number of keys
+     * @return the actual maximum number of keys
+     */
+    static int capacity(int capacity) {
+        if (capacity <= MIN_CAPACITY) {
+            return MIN_CAPACITY;
+        }
+        if (capacity > MAX_CAPACITY / 2) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Checks if the state with the given key is known to have no solution.
+     *
+     * @param key the key of the state
+     * @return true if the key is contained
+     */
+    boolean contains(long key) {
+        return stripe(key).contains(key == 0 ? 1 : key);
+    }
+
+    /**
+     * Stores the key of a state that has no solution. If the table is full, a key that has not been found
+     * recently is evicted.
+     *
+     * @param key the key of the state
+     */
+    void add(long key) {
+        stripe(key).add(key == 0 ? 1 : key);
+    }
+
+    private Stripe stripe(long key) {
+        return this.stripes[(int) (key >>> 60) & (STRIPES - 1)];
+    }
+
+    /**
+     * A part of the table with its own lock. The arrays are allocated when the first key is added.
+     */
+    private static class Stripe {
+        private final int buckets;
+        private long[] keys;
+        private boolean[] referenced;
+        private byte[] hands;
+
+        Stripe(int buckets) {
+            this.buckets = buckets;
+        }
+
+        synchronized boolean contains(long key) {
+            if (this.keys == null) {
+                return false;
+            }
+
+            int start = bucket(key) * WAYS;
+            for (int slot = start; slot < start + WAYS; slot++) {
+                if (this.keys[slot] == key) {
+                    this.referenced[slot] = true;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void add(long key) {
+            if (this.keys == null) {
+                this.keys = new long[this.buckets * WAYS];
+                this.referenced = new boolean[this.keys.length];
+                this.hands = new byte[this.buckets];
+            }
+
+            int bucket = bucket(key);
+            int start = bucket * WAYS;
+            for (int slot = start; slot < start + WAYS; slot++) {
+                if (this.keys[slot] == key) {
+                    return;
+                }
+                if (this.keys[slot] == 0) {
+                    this.keys[slot] = key;
+                    return;
+                }
+            }
+
+            int hand = this.hands[bucket];
+            while (this.referenced[start + hand]) {
+                this.referenced[start + hand] = false;
+                hand = (hand + 1) % WAYS;
+            }
+            this.keys[start + hand] = key;
+            this.hands[bucket] = (byte) ((hand + 1) % WAYS);
+        }
+
+        private int bucket(long key) {
+            return (int) key & (this.buckets - 1);
+        }
+    }
+}
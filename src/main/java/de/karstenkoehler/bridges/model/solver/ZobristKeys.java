@@ -0,0 +1,62 @@
+package de.karstenkoehler.bridges.model.solver;
+
+/**
+ * The random keys for the Zobrist hashing of search states. Every possible value of a part of the state has its
+ * own 64 bit key, and a state is hashed by combining the keys of its parts with XOR. A change of a single part
+ * then updates the hash in constant time by removing the old key and adding the new one.
+ * <p>
+ * Instead of a table of random numbers, the keys are derived from the index of the value by a strong bit mixing
+ * function. This gives equally well distributed keys without allocating a table for every graph.
+ */
+final class ZobristKeys {
+    private static final int BOUNDS = 9;
+    private static final long CONNECTION = 0x243F6A8885A308D3L;
+    private static final long ISLAND = 0x13198A2E03707344L;
+    private static final long GROUP = 0xA4093822299F31D0L;
+
+    private ZobristKeys() {
+    }
+
+    /**
+     * Returns the key of an undecided connection with the given bounds.
+     *
+     * @param c     the index of the connection
+     * @param lower the lower bound of the connection
+     * @param upper the upper bound of the connection
+     * @return the key
+     */
+    static long connection(int c, int lower, int upper) {
+        return mix(CONNECTION + (long) c * BOUNDS + lower * 3 + upper);
+    }
+
+    /**
+     * Returns the key of an island with the given number of bridges on its decided connections.
+     *
+     * @param island  the index of the island
+     * @param bridges the number of bridges on the decided connections, zero to eight
+     * @return the key
+     */
+    static long island(int island, int bridges) {
+        return mix(ISLAND + (long) island * BOUNDS + bridges);
+    }
+
+    /**
+     * Returns the key of an island that belongs to the group of islands identified by the given island.
+     *
+     * @param island         the index of the island
+     * @param representative the index of the island that identifies the group
+     * @return the key
+     */
+    static long group(int island, int representative) {
+        return mix(GROUP + ((long) island << 32 | representative));
+    }
+
+    /**
+     * The finalizer of the SplitMix64 generator, which maps consecutive inputs to unrelated outputs.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
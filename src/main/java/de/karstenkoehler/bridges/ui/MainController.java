@@ -266,6 +266,32 @@ public class MainController {
         this.fieldController.restartPuzzle();
     }
 
+    /**
+     * Reverts the latest move in the currently active puzzle.
+     */
+    @FXML
+    private void onUndo() {
+        if (this.fieldController.getPuzzle() == null) {
+            showError(PuzzleState.NOT_LOADED);
+            return;
+        }
+
+        this.fieldController.undoMove();
+    }
+
+    /**
+     * Repeats the latest reverted move in the currently active puzzle.
+     */
+    @FXML
+    private void onRedo() {
+        if (this.fieldController.getPuzzle() == null) {
+            showError(PuzzleState.NOT_LOADED);
+            return;
+        }
+
+        this.fieldController.redoMove();
+    }
+
     /**
      * Displays a file chooser for opening a puzzle from file.
      */
@@ -339,7 +365,7 @@ public class MainController {
         if (next == null) return;
 
         this.fieldController.getPuzzle().emphasizeBridge(next);
-        next.setBridgeCount(next.getBridgeCount() + 1);
+        this.fieldController.getPuzzle().addBridge(next);
 
         this.canvas.fireEvent(new Event(EVAL_STATE));
         this.canvas.fireEvent(new Event(REDRAW));
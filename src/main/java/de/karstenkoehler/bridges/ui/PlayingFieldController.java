@@ -8,6 +8,7 @@ import de.karstenkoehler.bridges.ui.events.EventTypes;
 import de.karstenkoehler.bridges.ui.shapes.BridgeShape;
 import de.karstenkoehler.bridges.ui.shapes.IslandShape;
 import javafx.event.Event;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.layout.Pane;
@@ -20,6 +21,10 @@ import java.util.List;
  * The controller class for the canvas. It manages everything that happens in the area
  * where the puzzle is displayed. The controller is responsible for drawing the game
  * objects on the canvas and managing the shapes for user input.
+ * <p>
+ * The controller remembers how every bridge and island looked when it was drawn last. A redraw
+ * only repaints the areas of shapes whose appearance changed since then, together with everything
+ * else that overlaps those areas.
  */
 public class PlayingFieldController {
 
@@ -35,6 +40,9 @@ public class PlayingFieldController {
     private BridgesPuzzle puzzle;
     private BridgeShape.BridgeHintsVisible bridgeHintsVisible;
     private IslandShape.NumberDisplay numberDisplay;
+    private int[] bridgeAppearances;
+    private int[] islandAppearances;
+    private boolean fullRedraw;
 
     /**
      * Creates a new playing field controller.
@@ -52,27 +60,89 @@ public class PlayingFieldController {
     }
 
     /**
-     * Draws all the islands and bridges from the current puzzle
-     * onto the canvas.
+     * Draws the islands and bridges from the current puzzle onto the canvas. Only the
+     * areas of shapes that changed since the last call are repainted.
      */
     public void draw() {
         if (this.puzzle == null) {
             return;
         }
 
-        this.puzzle.markInvalidBridges();
-
         GraphicsContext gc = canvas.getGraphicsContext2D();
+        if (this.fullRedraw) {
+            drawAll(gc);
+            return;
+        }
+
+        List<Bounds> dirty = new ArrayList<>();
+        for (int i = 0; i < this.bridges.size(); i++) {
+            int appearance = this.bridges.get(i).getAppearance(this.bridgeHintsVisible);
+            if (appearance != this.bridgeAppearances[i]) {
+                this.bridgeAppearances[i] = appearance;
+                dirty.add(this.bridges.get(i).getBounds());
+            }
+        }
+        for (int i = 0; i < this.islands.size(); i++) {
+            int appearance = this.islands.get(i).getAppearance();
+            if (appearance != this.islandAppearances[i]) {
+                this.islandAppearances[i] = appearance;
+                dirty.add(this.islands.get(i).getBounds());
+            }
+        }
+
+        for (Bounds region : dirty) {
+            drawRegion(gc, region);
+        }
+    }
+
+    /**
+     * Clears the whole canvas and draws everything from scratch.
+     *
+     * @param gc the graphics context of the canvas to draw on
+     */
+    private void drawAll(GraphicsContext gc) {
         gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
 
+        drawCanvasBorder(gc);
+        drawGrid(gc);
+        for (int i = 0; i < this.bridges.size(); i++) {
+            this.bridges.get(i).draw(this.bridgeHintsVisible);
+            this.bridgeAppearances[i] = this.bridges.get(i).getAppearance(this.bridgeHintsVisible);
+        }
+        for (int i = 0; i < this.islands.size(); i++) {
+            this.islands.get(i).draw(this.numberDisplay, this.clickAreaVisible);
+            this.islandAppearances[i] = this.islands.get(i).getAppearance();
+        }
+        this.fullRedraw = false;
+    }
+
+    /**
+     * Repaints a single area of the canvas. Drawing is clipped to the area, so that shapes
+     * overlapping its border are not drawn twice on the outside.
+     *
+     * @param gc     the graphics context of the canvas to draw on
+     * @param region the area to repaint
+     */
+    private void drawRegion(GraphicsContext gc, Bounds region) {
+        gc.save();
+        gc.beginPath();
+        gc.rect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+        gc.clip();
+        gc.clearRect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+
         drawCanvasBorder(gc);
         drawGrid(gc);
         for (BridgeShape bridge : this.bridges) {
-            bridge.draw(this.bridgeHintsVisible);
+            if (bridge.getBounds().intersects(region)) {
+                bridge.draw(this.bridgeHintsVisible);
+            }
         }
         for (IslandShape island : this.islands) {
-            island.draw(this.numberDisplay, this.clickAreaVisible);
+            if (island.getBounds().intersects(region)) {
+                island.draw(this.numberDisplay, this.clickAreaVisible);
+            }
         }
+        gc.restore();
     }
 
     /**
@@ -83,6 +153,7 @@ public class PlayingFieldController {
      */
     public void setGridVisible(boolean visible) {
         this.gridVisible = visible;
+        this.fullRedraw = true;
         this.draw();
     }
 
@@ -93,6 +164,7 @@ public class PlayingFieldController {
      */
     public void setClickAreaVisible(boolean visible) {
         this.clickAreaVisible = visible;
+        this.fullRedraw = true;
         this.draw();
     }
 
@@ -103,6 +175,7 @@ public class PlayingFieldController {
      */
     public void setNumberDisplay(IslandShape.NumberDisplay display) {
         this.numberDisplay = display;
+        this.fullRedraw = true;
     }
 
     /**
@@ -112,6 +185,7 @@ public class PlayingFieldController {
      */
     public void setBridgeHintsVisible(BridgeShape.BridgeHintsVisible visible) {
         this.bridgeHintsVisible = visible;
+        this.fullRedraw = true;
     }
 
     /**
@@ -132,6 +206,9 @@ public class PlayingFieldController {
         for (Connection connection : puzzle.getConnections()) {
             this.bridges.add(new BridgeShape(connection, canvas.getGraphicsContext2D(), dimensions, puzzle));
         }
+        this.bridgeAppearances = new int[this.bridges.size()];
+        this.islandAppearances = new int[this.islands.size()];
+        this.fullRedraw = true;
         draw();
 
         this.canvas.fireEvent(new Event(EventTypes.EVAL_STATE));
@@ -156,6 +233,36 @@ public class PlayingFieldController {
         this.draw();
     }
 
+    /**
+     * Reverts the latest move in the currently active puzzle and emphasizes the changed bridge.
+     */
+    public void undoMove() {
+        moveChanged(this.puzzle.undo());
+    }
+
+    /**
+     * Repeats the latest reverted move in the currently active puzzle and emphasizes the changed bridge.
+     */
+    public void redoMove() {
+        moveChanged(this.puzzle.redo());
+    }
+
+    /**
+     * Updates the playing field after a move has been undone or redone.
+     *
+     * @param connection the changed connection, null if nothing changed
+     */
+    private void moveChanged(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+
+        this.puzzle.emphasizeBridge(connection);
+        canvas.fireEvent(new Event(EventTypes.EVAL_STATE));
+        canvas.fireEvent(new Event(EventTypes.FILE_MODIFIED));
+        this.draw();
+    }
+
     /**
      * Returns the current puzzle state. If no puzzle is loaded, returns the {@link PuzzleState#NOT_LOADED} state.
      *
@@ -4,6 +4,8 @@ import de.karstenkoehler.bridges.model.BridgesPuzzle;
 import de.karstenkoehler.bridges.model.Connection;
 import de.karstenkoehler.bridges.model.Island;
 import de.karstenkoehler.bridges.ui.CanvasDimensions;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
@@ -12,11 +14,15 @@ import javafx.scene.paint.Color;
  * an instance of {@link Connection}. Bridges are drawn on a canvas.
  */
 public class BridgeShape {
+    private static final int VALID_FLAG = 1 << 2;
+    private static final int EMPHASIZED_FLAG = 1 << 3;
+    private static final int HINT_FLAG = 1 << 4;
 
     private final Connection connection;
     private final GraphicsContext cg;
     private final CanvasDimensions dimensions;
     private final BridgesPuzzle puzzle;
+    private final Bounds bounds;
 
     /**
      * Creates a new bridge shape and ties it to a connection.
@@ -31,6 +37,44 @@ public class BridgeShape {
         this.cg = cg;
         this.dimensions = dimensions;
         this.puzzle = puzzle;
+
+        final double margin = dimensions.getDoubleBridgeOffset() + dimensions.getBridgeLineSize() + 2;
+        final double x0 = dimensions.coordinate(Math.min(connection.getStartIsland().getX(), connection.getEndIsland().getX()));
+        final double y0 = dimensions.coordinate(Math.min(connection.getStartIsland().getY(), connection.getEndIsland().getY()));
+        final double x1 = dimensions.coordinate(Math.max(connection.getStartIsland().getX(), connection.getEndIsland().getX()));
+        final double y1 = dimensions.coordinate(Math.max(connection.getStartIsland().getY(), connection.getEndIsland().getY()));
+        this.bounds = new BoundingBox(x0 - margin, y0 - margin, x1 - x0 + 2 * margin, y1 - y0 + 2 * margin);
+    }
+
+    /**
+     * Returns the area of the canvas this bridge may paint on, including double bridges and the line width.
+     *
+     * @return the area covered by the bridge
+     */
+    public Bounds getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Returns a compact value of everything that determines how this bridge looks: the number of bridges,
+     * whether they are valid or emphasized and whether a bridge hint is shown. The bridge only needs to be
+     * redrawn if this value changes.
+     *
+     * @param hintsVisible the configuration for bridge hints
+     * @return the appearance of the bridge
+     */
+    public int getAppearance(BridgeHintsVisible hintsVisible) {
+        int appearance = connection.getBridgeCount();
+        if (connection.isValid()) {
+            appearance |= VALID_FLAG;
+        }
+        if (connection.isEmphasized()) {
+            appearance |= EMPHASIZED_FLAG;
+        }
+        if (connection.getBridgeCount() == 0 && hintsVisible != BridgeHintsVisible.NEVER && showBridgeHint(hintsVisible)) {
+            appearance |= HINT_FLAG;
+        }
+        return appearance;
     }
 
     /**
@@ -7,6 +7,8 @@ import de.karstenkoehler.bridges.model.Island;
 import de.karstenkoehler.bridges.ui.CanvasDimensions;
 import de.karstenkoehler.bridges.ui.events.EventTypes;
 import javafx.event.Event;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.geometry.VPos;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.input.MouseButton;
@@ -17,7 +19,6 @@ import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
 
 import java.util.function.Consumer;
-import java.util.function.Function;
 
 import static de.karstenkoehler.bridges.ui.events.EventTypes.EVAL_STATE;
 
@@ -34,6 +35,7 @@ public class IslandShape {
     private final GraphicsContext gc;
     private final CanvasDimensions dimensions;
     private final BridgesPuzzle puzzle;
+    private final Bounds bounds;
 
     /**
      * Creates a new island shape and binds it to an island.
@@ -51,9 +53,31 @@ public class IslandShape {
         this.dimensions = dimensions;
         this.puzzle = puzzle;
 
+        final double radius = Math.max(dimensions.getIslandOffset(), dimensions.getClickAreaSize()) + 2;
+        this.bounds = new BoundingBox(dimensions.coordinate(island.getX()) - radius, dimensions.coordinate(island.getY()) - radius, 2 * radius, 2 * radius);
+
         initControls(dimensions.coordinate(island.getX()), dimensions.coordinate(island.getY()));
     }
 
+    /**
+     * Returns the area of the canvas this island may paint on, including the outline of the click area.
+     *
+     * @return the area covered by the island
+     */
+    public Bounds getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Returns a value that determines how this island looks. Both the color and the displayed number only
+     * depend on the remaining number of bridges, so the island only needs to be redrawn if it changes.
+     *
+     * @return the appearance of the island
+     */
+    public int getAppearance() {
+        return puzzle.getRemainingBridgeCount(island);
+    }
+
     /**
      * Redraws the island on the canvas.
      *
@@ -154,7 +178,7 @@ public class IslandShape {
      * @param direction the direction of the triangle
      */
     private void onLeftClick(Polygon poly, Direction direction) {
-        onClick(poly, direction, Connection::canAddBridge, Connection::addBridge);
+        onClick(poly, direction, this.puzzle::addBridge);
     }
 
     /**
@@ -164,27 +188,25 @@ public class IslandShape {
      * @param direction the direction of the triangle
      */
     private void onRightClick(Polygon poly, Direction direction) {
-        onClick(poly, direction, Connection::canRemoveBridge, Connection::removeBridge);
+        onClick(poly, direction, this.puzzle::removeBridge);
     }
 
     /**
      * Generic handler for both left and right click. Checks if there exists a connection
-     * for the clicked direction and executes the appropriate bridge operation.
+     * for the clicked direction and executes the appropriate bridge operation. The puzzle only
+     * executes and records the operation if it is possible.
      *
      * @param poly      the triangle clicked
      * @param direction the direction of the triangle
-     * @param canExec   a method that checks if the bridge operation can be executed
      * @param exec      a method that executes the bridge operation
      */
-    private void onClick(Polygon poly, Direction direction, Function<Connection, Boolean> canExec, Consumer<Connection> exec) {
+    private void onClick(Polygon poly, Direction direction, Consumer<Connection> exec) {
         Connection connection = this.puzzle.getConnectedBridge(this.island, direction);
         if (connection == null) {
             return;
         }
 
-        if (canExec.apply(connection)) {
-            exec.accept(connection);
-        }
+        exec.accept(connection);
         this.puzzle.emphasizeBridge(connection);
 
         poly.fireEvent(new Event(EventTypes.FILE_MODIFIED));
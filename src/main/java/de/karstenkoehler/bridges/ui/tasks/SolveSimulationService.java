@@ -2,6 +2,7 @@ package de.karstenkoehler.bridges.ui.tasks;
 
 import de.karstenkoehler.bridges.model.Connection;
 import de.karstenkoehler.bridges.model.solver.Solver;
+import de.karstenkoehler.bridges.model.solver.SolvingSession;
 import de.karstenkoehler.bridges.ui.PlayingFieldController;
 import de.karstenkoehler.bridges.ui.events.EventTypes;
 import javafx.application.Platform;
@@ -84,14 +85,15 @@ public class SolveSimulationService extends Service<Void> {
          */
         @Override
         protected Void call() throws InterruptedException {
+            SolvingSession session = puzzleSolver.startSession(fieldController.getPuzzle());
             while (!isCancelled()) {
-                Connection next = puzzleSolver.nextSafeBridge(fieldController.getPuzzle());
+                Connection next = session.nextSafeBridge();
                 if (next == null) {
                     return null;
                 }
 
                 this.fieldController.getPuzzle().emphasizeBridge(next);
-                next.setBridgeCount(next.getBridgeCount() + 1);
+                this.fieldController.getPuzzle().addBridge(next);
 
                 Platform.runLater(() -> {
                     this.eventNode.fireEvent(new Event(EventTypes.EVAL_STATE));
@@ -0,0 +1,130 @@
+package de.karstenkoehler.bridges.test.batch;
+
+import de.karstenkoehler.bridges.batch.BatchResult;
+import de.karstenkoehler.bridges.batch.BatchSolver;
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BatchSolverTest {
+    private static final String DATA_DIR = "src/main/resources/data/";
+    private static final List<String> PUZZLES = Arrays.asList("bsp_5x5.bgs", "bsp_8x8.bgs", "bsp_14x14.bgs", "bsp_25x25.bgs", "test_isolation_4.bgs");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSolveAll() throws Exception {
+        List<Path> files = copyPuzzles();
+        List<BatchResult> reported = Collections.synchronizedList(new ArrayList<>());
+
+        List<BatchResult> results = new BatchSolver(false, false, null).solveAll(files, 3, reported::add);
+
+        assertEquals(files.size(), results.size());
+        assertEquals(files.size(), reported.size());
+        for (int i = 0; i < files.size(); i++) {
+            BatchResult result = results.get(i);
+            assertEquals(files.get(i), result.getInput());
+            assertEquals(BatchResult.Status.SOLVED, result.getStatus());
+            assertEquals(PuzzleState.SOLVED, new BridgesFileReader().readFile(result.getOutput().toFile()).getState());
+        }
+    }
+
+    @Test
+    public void testSkipExistingSolution() throws Exception {
+        List<Path> files = copyPuzzles();
+        BatchSolver solver = new BatchSolver(false, false, null);
+
+        assertEquals(BatchResult.Status.SOLVED, solver.solve(files.get(0)).getStatus());
+        assertEquals(BatchResult.Status.SKIPPED, solver.solve(files.get(0)).getStatus());
+        assertEquals(BatchResult.Status.SOLVED, new BatchSolver(false, true, null).solve(files.get(0)).getStatus());
+    }
+
+    @Test
+    public void testOutputDirectory() throws Exception {
+        List<Path> files = copyPuzzles();
+        Path output = folder.newFolder("solutions").toPath();
+
+        BatchResult result = new BatchSolver(false, false, output).solve(files.get(0));
+
+        assertEquals(output.resolve("bsp_5x5.sol.bgs"), result.getOutput());
+        assertTrue(Files.exists(result.getOutput()));
+    }
+
+    @Test
+    public void testSafeOnly() throws Exception {
+        List<Path> files = copyPuzzles();
+
+        BatchResult result = new BatchSolver(true, false, null).solve(files.get(0));
+
+        assertEquals(BatchResult.Status.SOLVED, result.getStatus());
+        assertEquals(PuzzleState.SOLVED, new BridgesFileReader().readFile(result.getOutput().toFile()).getState());
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+        List<Path> files = copyPuzzles();
+
+        BatchResult result = new BatchSolver(true, true, false, null).solve(files.get(0));
+
+        assertNotNull(result.getStatistics());
+        assertTrue(result.getStatistics().getSteps() > 0);
+        assertNull(new BatchSolver(true, false, null).solve(files.get(1)).getStatistics());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStatisticsRequireSafeOnly() {
+        new BatchSolver(false, true, false, null);
+    }
+
+    @Test
+    public void testInvalidPuzzle() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("bsp_5x5.invalid.syntax.bgs");
+        Files.copy(Paths.get(DATA_DIR, "bsp_5x5.invalid.syntax.bgs"), file);
+
+        BatchResult result = new BatchSolver(false, false, null).solve(file);
+
+        assertEquals(BatchResult.Status.INVALID, result.getStatus());
+    }
+
+    @Test
+    public void testCrashDoesNotStopBatch() throws Exception {
+        // the field is too large for the crossing index of the puzzle
+        Path crashing = folder.getRoot().toPath().resolve("huge.bgs");
+        Files.write(crashing, Arrays.asList("FIELD", "46341 x 46341 | 3", "", "ISLANDS",
+                "( 0, 0 | 1 )", "( 46340, 0 | 2 )", "( 46340, 46340 | 1 )"));
+        Path valid = folder.getRoot().toPath().resolve("bsp_5x5.bgs");
+        Files.copy(Paths.get(DATA_DIR, "bsp_5x5.bgs"), valid);
+
+        List<BatchResult> results = new BatchSolver(false, false, null).solveAll(Arrays.asList(crashing, valid), 2, result -> {
+        });
+
+        assertEquals(BatchResult.Status.FAILED, results.get(0).getStatus());
+        assertEquals(BatchResult.Status.SOLVED, results.get(1).getStatus());
+    }
+
+    private List<Path> copyPuzzles() throws Exception {
+        List<Path> files = new ArrayList<>();
+        for (String puzzle : PUZZLES) {
+            Path file = folder.getRoot().toPath().resolve(puzzle);
+            Files.copy(Paths.get(DATA_DIR, puzzle), file);
+            files.add(file);
+        }
+        return files;
+    }
+}
@@ -0,0 +1,73 @@
+package de.karstenkoehler.bridges.test.generator;
+
+import de.karstenkoehler.bridges.io.validator.DefaultValidator;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.DifficultyTier;
+import de.karstenkoehler.bridges.model.PuzzleSpecification;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import de.karstenkoehler.bridges.model.generator.Generator;
+import de.karstenkoehler.bridges.model.generator.GeneratorImpl;
+import de.karstenkoehler.bridges.model.solver.DifficultyRater;
+import de.karstenkoehler.bridges.model.solver.SolutionCounter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class GeneratorDifficultyTest {
+    private static final int PUZZLES = 5;
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {spec(14, 39, 1, DifficultyTier.BASIC, true)},
+                {spec(14, 39, 2, DifficultyTier.LOOKAHEAD, true)},
+                {spec(25, 125, 3, DifficultyTier.BASIC, false)},
+                {spec(25, 125, 4, DifficultyTier.LOOKAHEAD, true)},
+                {spec(25, 125, 5, null, true)},
+        });
+    }
+
+    /**
+     * Creates a square specification with a fixed seed, so that every run generates the same puzzles.
+     */
+    private static PuzzleSpecification spec(int size, int islands, long seed, DifficultyTier difficulty, boolean unique) {
+        return PuzzleSpecification.withSpecs(true, size, size, islands).withSeed(seed).withDifficulty(difficulty, unique);
+    }
+
+    @Parameterized.Parameter
+    public PuzzleSpecification spec;
+
+    private static Generator generator = new GeneratorImpl(new DefaultValidator());
+
+    @Test
+    public void testTargetReached() {
+        for (int i = 0; i < PUZZLES; i++) {
+            BridgesPuzzle puzzle = generator.generate(spec.derive(i));
+
+            assertEquals(spec.getIslandCount(), puzzle.getIslands().size());
+            assertEquals(PuzzleState.SOLVED, puzzle.getState());
+            if (spec.getDifficulty() != null) {
+                assertEquals(spec.getDifficulty(), new DifficultyRater().rate(puzzle).getHardestTier());
+            }
+            if (spec.isUniqueSolutionRequired()) {
+                assertTrue(new SolutionCounter().isUnique(puzzle));
+            }
+        }
+    }
+
+    @Test
+    public void testSameSeed() {
+        BridgesPuzzle first = new GeneratorImpl(new DefaultValidator()).generate(spec);
+        BridgesPuzzle second = new GeneratorImpl(new DefaultValidator()).generate(spec);
+
+        assertEquals(first.getIslands(), second.getIslands());
+        assertEquals(first.getConnections(), second.getConnections());
+    }
+}
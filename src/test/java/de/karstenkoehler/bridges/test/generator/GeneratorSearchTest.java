@@ -0,0 +1,31 @@
+package de.karstenkoehler.bridges.test.generator;
+
+import de.karstenkoehler.bridges.io.validator.DefaultValidator;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.DifficultyTier;
+import de.karstenkoehler.bridges.model.PuzzleSpecification;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import de.karstenkoehler.bridges.model.generator.GeneratorImpl;
+import de.karstenkoehler.bridges.model.solver.DifficultyRater;
+import de.karstenkoehler.bridges.model.solver.SolutionCounter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GeneratorSearchTest {
+
+    @Test(timeout = 30000)
+    public void testUniqueSearchPuzzle() {
+        // Not every seed reaches this target, this one is known to reach it with the first candidates.
+        PuzzleSpecification spec = PuzzleSpecification.withSpecs(true, 25, 25, 125).withSeed(6)
+                .withDifficulty(DifficultyTier.SEARCH, true);
+
+        BridgesPuzzle puzzle = new GeneratorImpl(new DefaultValidator()).generate(spec);
+
+        assertEquals(spec.getIslandCount(), puzzle.getIslands().size());
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+        assertEquals(DifficultyTier.SEARCH, new DifficultyRater().rate(puzzle).getHardestTier());
+        assertTrue(new SolutionCounter().isUnique(puzzle));
+    }
+}
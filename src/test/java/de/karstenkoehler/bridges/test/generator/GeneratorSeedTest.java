@@ -0,0 +1,60 @@
+package de.karstenkoehler.bridges.test.generator;
+
+import de.karstenkoehler.bridges.io.validator.DefaultValidator;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.PuzzleSpecification;
+import de.karstenkoehler.bridges.model.generator.Generator;
+import de.karstenkoehler.bridges.model.generator.GeneratorImpl;
+import de.karstenkoehler.bridges.model.generator.ParallelGenerator;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class GeneratorSeedTest {
+    private static final PuzzleSpecification spec = PuzzleSpecification.withSpecs(true, 20, 20, 60).withSeed(42);
+
+    @Test
+    public void testSameSeed() {
+        BridgesPuzzle first = new GeneratorImpl(new DefaultValidator()).generate(spec);
+        BridgesPuzzle second = new GeneratorImpl(new DefaultValidator()).generate(spec);
+
+        assertEquals(first.getIslands(), second.getIslands());
+        assertEquals(first.getConnections(), second.getConnections());
+    }
+
+    @Test
+    public void testReusedGenerator() {
+        Generator generator = new GeneratorImpl(new DefaultValidator());
+        BridgesPuzzle first = generator.generate(spec);
+        generator.generate(spec.derive(0));
+        BridgesPuzzle second = generator.generate(spec);
+
+        assertEquals(first.getIslands(), second.getIslands());
+        assertEquals(first.getConnections(), second.getConnections());
+    }
+
+    @Test
+    public void testDerivedSeeds() {
+        BridgesPuzzle first = new GeneratorImpl(new DefaultValidator()).generate(spec.derive(0));
+        BridgesPuzzle second = new GeneratorImpl(new DefaultValidator()).generate(spec.derive(1));
+
+        assertNotEquals(first.getIslands(), second.getIslands());
+    }
+
+    @Test
+    public void testParallelGenerator() {
+        List<BridgesPuzzle> first = new ParallelGenerator().generate(spec, 50).collect(Collectors.toList());
+        List<BridgesPuzzle> second = new ParallelGenerator().generate(spec, 50).collect(Collectors.toList());
+
+        for (int i = 0; i < first.size(); i++) {
+            BridgesPuzzle expected = new GeneratorImpl(new DefaultValidator()).generate(spec.derive(i));
+            assertEquals(expected.getIslands(), first.get(i).getIslands());
+            assertEquals(expected.getIslands(), second.get(i).getIslands());
+            assertEquals(expected.getConnections(), second.get(i).getConnections());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package de.karstenkoehler.bridges.test.generator;
+
+import de.karstenkoehler.bridges.io.validator.DefaultValidator;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.DifficultyTier;
+import de.karstenkoehler.bridges.model.PuzzleSpecification;
+import de.karstenkoehler.bridges.model.generator.ParallelGenerator;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ParallelGeneratorTest {
+    private static final int COUNT = 200;
+
+    @Test
+    public void testGenerate() throws Exception {
+        PuzzleSpecification spec = PuzzleSpecification.withSpecs(false, 15, 15, 40);
+
+        List<BridgesPuzzle> puzzles = new ParallelGenerator().generate(spec, COUNT).collect(Collectors.toList());
+
+        assertEquals(COUNT, puzzles.size());
+        for (BridgesPuzzle puzzle : puzzles) {
+            assertEquals(spec.getWidth(), puzzle.getWidth());
+            assertEquals(spec.getHeight(), puzzle.getHeight());
+            assertEquals(spec.getIslandCount(), puzzle.getIslands().size());
+            new DefaultValidator().validate(puzzle);
+            for (Connection connection : puzzle.getConnections()) {
+                assertSame(connection.getStartIsland(), puzzle.getIslands().get(connection.getStartIsland().getId()));
+                assertSame(connection.getEndIsland(), puzzle.getIslands().get(connection.getEndIsland().getId()));
+            }
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        PuzzleSpecification spec = PuzzleSpecification.withSpecs(false, 5, 5, 5);
+
+        assertEquals(0, new ParallelGenerator().generate(spec, 0).count());
+    }
+
+    @Test
+    public void testMissesReported() {
+        // Small puzzles that need a search practically never have a unique solution.
+        PuzzleSpecification spec = PuzzleSpecification.withSpecs(false, 8, 8, 12).withSeed(1)
+                .withDifficulty(DifficultyTier.SEARCH, true);
+        Set<Long> misses = new ConcurrentSkipListSet<>();
+
+        assertEquals(0, new ParallelGenerator().generate(spec, 4, (miss, index) -> {
+            assertEquals(spec.getIslandCount(), miss.getClosest().getIslands().size());
+            misses.add(index);
+        }).count());
+        assertEquals(new TreeSet<>(Arrays.asList(0L, 1L, 2L, 3L)), misses);
+    }
+}
@@ -0,0 +1,38 @@
+package de.karstenkoehler.bridges.test.generator;
+
+import de.karstenkoehler.bridges.io.validator.DefaultValidator;
+import de.karstenkoehler.bridges.model.DifficultyTier;
+import de.karstenkoehler.bridges.model.PuzzleSpecification;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import de.karstenkoehler.bridges.model.generator.GeneratorImpl;
+import de.karstenkoehler.bridges.model.generator.TargetNotReachedException;
+import de.karstenkoehler.bridges.model.solver.DifficultyRater;
+import de.karstenkoehler.bridges.model.solver.SolutionCounter;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+public class TargetNotReachedTest {
+
+    @Test
+    public void testClosestCandidateReported() {
+        // Small puzzles that need a search practically never have a unique solution.
+        PuzzleSpecification spec = PuzzleSpecification.withSpecs(false, 8, 8, 12).withSeed(1)
+                .withDifficulty(DifficultyTier.SEARCH, true);
+
+        try {
+            new GeneratorImpl(new DefaultValidator()).generate(spec);
+            fail("expected the target to be missed");
+        } catch (TargetNotReachedException e) {
+            assertEquals(spec.getIslandCount(), e.getClosest().getIslands().size());
+            assertEquals(PuzzleState.NOT_SOLVED, e.getClosest().getState());
+            assertEquals(new DifficultyRater().rate(e.getClosest()), e.getRating());
+            assertEquals(new SolutionCounter().isUnique(e.getClosest()), e.hasUniqueSolution());
+            assertFalse(e.getRating().getHardestTier() == DifficultyTier.SEARCH && e.hasUniqueSolution());
+            assertNotNull(e.getMessage());
+        }
+    }
+}
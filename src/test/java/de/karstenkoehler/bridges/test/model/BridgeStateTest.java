@@ -0,0 +1,119 @@
+package de.karstenkoehler.bridges.test.model;
+
+import de.karstenkoehler.bridges.model.BridgeState;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Direction;
+import de.karstenkoehler.bridges.model.Island;
+import de.karstenkoehler.bridges.model.PuzzleTopology;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BridgeStateTest {
+    private List<Island> islands;
+    private BridgesPuzzle puzzle;
+
+    @Before
+    public void setUp() {
+        this.islands = Arrays.asList(
+                new Island(0, 0, 2, 1),
+                new Island(1, 2, 0, 1),
+                new Island(2, 2, 4, 1),
+                new Island(3, 4, 2, 1)
+        );
+
+        this.puzzle = new BridgesPuzzle(islands, new ArrayList<>(), 5, 5);
+        this.puzzle.fillMissingConnections();
+    }
+
+    @Test
+    public void testTopology() {
+        PuzzleTopology topology = puzzle.getTopology();
+
+        assertSame(topology, puzzle.getTopology());
+        assertEquals(4, topology.islandCount());
+        assertEquals(2, topology.connectionCount());
+
+        int horizontal = topology.adjacent(0, Direction.EAST);
+        int vertical = topology.adjacent(1, Direction.SOUTH);
+        assertEquals(-1, topology.adjacent(0, Direction.NORTH));
+        assertEquals(horizontal, topology.adjacent(3, Direction.WEST));
+        assertEquals(3, topology.other(horizontal, 0));
+        assertEquals(1, topology.crossingCount(vertical));
+        assertEquals(horizontal, topology.crossing(vertical, 0));
+    }
+
+    @Test
+    public void testSnapshotAndRestore() {
+        PuzzleTopology topology = puzzle.getTopology();
+        int horizontal = topology.adjacent(0, Direction.EAST);
+        int vertical = topology.adjacent(1, Direction.SOUTH);
+
+        topology.getConnection(horizontal).addBridge();
+        BridgeState state = puzzle.snapshot();
+        assertEquals(1, state.getBridgeCount(horizontal));
+        assertEquals(0, state.getBridgeCount(vertical));
+        assertEquals(0, state.getRemainingBridgeCount(0));
+        assertTrue(state.causesCrossing(vertical));
+
+        puzzle.restart();
+        assertEquals(1, puzzle.getRemainingBridgeCount(islands.get(0)));
+
+        puzzle.restore(state);
+        assertEquals(1, topology.getConnection(horizontal).getBridgeCount());
+        assertEquals(0, puzzle.getRemainingBridgeCount(islands.get(0)));
+        assertTrue(puzzle.causesCrossing(topology.getConnection(vertical)));
+    }
+
+    @Test
+    public void testForkIsIndependent() {
+        PuzzleTopology topology = puzzle.getTopology();
+        int horizontal = topology.adjacent(0, Direction.EAST);
+        int vertical = topology.adjacent(1, Direction.SOUTH);
+
+        BridgeState state = puzzle.snapshot();
+        BridgeState fork = state.fork();
+        assertSame(topology, fork.getTopology());
+        assertEquals(state, fork);
+
+        fork.setBridgeCount(vertical, 1);
+        assertEquals(0, state.getBridgeCount(vertical));
+        assertEquals(0, fork.getRemainingBridgeCount(1));
+        assertEquals(1, state.getRemainingBridgeCount(1));
+        assertTrue(fork.causesCrossing(horizontal));
+        assertFalse(state.causesCrossing(horizontal));
+        assertNotEquals(state, fork);
+
+        state.copyFrom(fork);
+        assertEquals(fork, state);
+        assertEquals(0, state.getRemainingBridgeCount(2));
+    }
+
+    @Test
+    public void testSnapshotIntoExistingState() {
+        BridgeState state = new BridgeState(puzzle.getTopology());
+        puzzle.getConnectedBridge(islands.get(1), Direction.SOUTH).setBridgeCount(2);
+
+        puzzle.snapshot(state);
+        assertEquals(puzzle.snapshot(), state);
+        assertEquals(-1, state.getRemainingBridgeCount(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRestoreForeignState() {
+        BridgesPuzzle other = new BridgesPuzzle(islands, new ArrayList<>(), 5, 5);
+        other.fillMissingConnections();
+
+        puzzle.restore(other.snapshot());
+    }
+}
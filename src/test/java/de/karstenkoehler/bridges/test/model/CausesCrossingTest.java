@@ -0,0 +1,66 @@
+package de.karstenkoehler.bridges.test.model;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Direction;
+import de.karstenkoehler.bridges.model.Island;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CausesCrossingTest {
+    private List<Island> islands;
+    private BridgesPuzzle puzzle;
+
+    @Before
+    public void setUp() {
+        this.islands = Arrays.asList(
+                new Island(0, 0, 2, 1),
+                new Island(1, 2, 0, 1),
+                new Island(2, 2, 4, 1),
+                new Island(3, 4, 2, 1)
+        );
+
+        this.puzzle = new BridgesPuzzle(islands, new ArrayList<>(), 5, 5);
+        this.puzzle.fillMissingConnections();
+    }
+
+    @Test
+    public void testCrossingConnections() {
+        Connection horizontal = puzzle.getConnectedBridge(islands.get(0), Direction.EAST);
+        Connection vertical = puzzle.getConnectedBridge(islands.get(1), Direction.SOUTH);
+
+        assertEquals(Collections.singletonList(vertical), puzzle.getCrossingConnections(horizontal));
+        assertEquals(Collections.singletonList(horizontal), puzzle.getCrossingConnections(vertical));
+    }
+
+    @Test
+    public void testCausesCrossing() {
+        Connection horizontal = puzzle.getConnectedBridge(islands.get(0), Direction.EAST);
+        Connection vertical = puzzle.getConnectedBridge(islands.get(1), Direction.SOUTH);
+
+        assertFalse(puzzle.causesCrossing(horizontal));
+
+        vertical.addBridge();
+        assertTrue(puzzle.causesCrossing(horizontal));
+        assertFalse(puzzle.causesCrossing(vertical));
+
+        horizontal.addBridge();
+        assertFalse(horizontal.isValid());
+        assertFalse(vertical.isValid());
+
+        vertical.removeBridge();
+        assertFalse(puzzle.causesCrossing(horizontal));
+        assertTrue(puzzle.causesCrossing(vertical));
+        assertTrue(horizontal.isValid());
+        assertTrue(vertical.isValid());
+    }
+}
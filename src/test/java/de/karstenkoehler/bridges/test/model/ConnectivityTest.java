@@ -0,0 +1,57 @@
+package de.karstenkoehler.bridges.test.model;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Island;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConnectivityTest {
+    private static final int CHAIN_LENGTH = 20000;
+
+    @Test
+    public void testLongChain() {
+        List<Island> islands = new ArrayList<>();
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+            int required = i == 0 || i == CHAIN_LENGTH - 1 ? 1 : 2;
+            islands.add(new Island(i, 2 * i, 0, required));
+        }
+        BridgesPuzzle puzzle = new BridgesPuzzle(islands, new ArrayList<>(), 2 * CHAIN_LENGTH, 1);
+        puzzle.fillMissingConnections();
+
+        for (Connection connection : puzzle.getConnections()) {
+            puzzle.addBridge(connection);
+        }
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+
+        Connection middle = puzzle.getConnections().get(CHAIN_LENGTH / 2);
+        puzzle.removeBridge(middle);
+        assertEquals(PuzzleState.NOT_SOLVED, puzzle.getState());
+
+        puzzle.addBridge(middle);
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+    }
+
+    @Test
+    public void testSeparatedIslands() {
+        List<Island> islands = Arrays.asList(
+                new Island(0, 0, 0, 1),
+                new Island(1, 0, 2, 1),
+                new Island(2, 2, 1, 1),
+                new Island(3, 2, 3, 1)
+        );
+        BridgesPuzzle puzzle = new BridgesPuzzle(islands, new ArrayList<>(), 3, 4);
+        puzzle.fillMissingConnections();
+
+        for (Connection connection : puzzle.getConnections()) {
+            puzzle.addBridge(connection);
+        }
+        assertEquals(PuzzleState.NO_LONGER_SOLVABLE, puzzle.getState());
+    }
+}
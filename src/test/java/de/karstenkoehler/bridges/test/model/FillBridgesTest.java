@@ -2,6 +2,7 @@ package de.karstenkoehler.bridges.test.model;
 
 import de.karstenkoehler.bridges.model.BridgesPuzzle;
 import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Direction;
 import de.karstenkoehler.bridges.model.Island;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -14,6 +15,7 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 
 @RunWith(Parameterized.class)
 public class FillBridgesTest {
@@ -52,6 +54,10 @@ public class FillBridgesTest {
         return Arrays.asList(new Object[][]{
                 {new BridgesPuzzle(bsp_5x5, new ArrayList<>(), 5, 5), 10},
                 {new BridgesPuzzle(bsp_6x6, new ArrayList<>(), 6, 6), 19},
+                {new BridgesPuzzle(bsp_5x5, new ArrayList<>(Arrays.asList(
+                        new Connection(bsp_5x5.get(3), bsp_5x5.get(7), 1),
+                        new Connection(bsp_5x5.get(0), bsp_5x5.get(1), 2)
+                )), 5, 5), 10},
         });
     }
 
@@ -82,4 +88,21 @@ public class FillBridgesTest {
             }
         }
     }
+
+    @Test
+    public void testConnectedBridges() {
+        this.input.fillMissingConnections();
+
+        for (Connection connection : input.getConnections()) {
+            Island start = connection.getStartIsland();
+            Island end = connection.getEndIsland();
+            Direction direction;
+            if (connection.isHorizontal()) {
+                direction = start.getX() < end.getX() ? Direction.EAST : Direction.WEST;
+            } else {
+                direction = start.getY() < end.getY() ? Direction.SOUTH : Direction.NORTH;
+            }
+            assertSame(connection, input.getConnectedBridge(start, direction));
+        }
+    }
 }
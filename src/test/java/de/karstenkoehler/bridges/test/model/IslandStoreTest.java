@@ -0,0 +1,86 @@
+package de.karstenkoehler.bridges.test.model;
+
+import de.karstenkoehler.bridges.model.Direction;
+import de.karstenkoehler.bridges.model.Island;
+import de.karstenkoehler.bridges.model.IslandStore;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class IslandStoreTest {
+    private List<Island> islands;
+    private IslandStore store;
+
+    @Before
+    public void setUp() {
+        this.islands = Arrays.asList(
+                new Island(0, 0, 0, 3),
+                new Island(1, 0, 2, 4),
+                new Island(2, 0, 4, 2),
+                new Island(3, 2, 0, 3),
+                new Island(4, 2, 3, 2),
+                new Island(5, 3, 2, 1),
+                new Island(6, 3, 4, 1),
+                new Island(7, 4, 0, 3),
+                new Island(8, 4, 3, 3)
+        );
+        this.store = new IslandStore(this.islands);
+    }
+
+    @Test
+    public void testGetById() {
+        for (Island island : this.islands) {
+            assertSame(island, this.store.getById(island.getId()));
+        }
+        assertNull(this.store.getById(9));
+        assertNull(this.store.getById(-1));
+    }
+
+    @Test
+    public void testGetByCoordinates() {
+        for (Island island : this.islands) {
+            assertSame(island, this.store.getByCoordinates(island.getX(), island.getY()));
+        }
+        assertNull(this.store.getByCoordinates(1, 1));
+        assertNull(this.store.getByCoordinates(-1, 0));
+        assertNull(this.store.getByCoordinates(5, 0));
+    }
+
+    @Test
+    public void testGetNeighbor() {
+        assertSame(this.islands.get(3), this.store.getNeighbor(this.islands.get(0), Direction.EAST));
+        assertSame(this.islands.get(1), this.store.getNeighbor(this.islands.get(0), Direction.SOUTH));
+        assertNull(this.store.getNeighbor(this.islands.get(0), Direction.NORTH));
+        assertNull(this.store.getNeighbor(this.islands.get(0), Direction.WEST));
+
+        assertSame(this.islands.get(5), this.store.getNeighbor(this.islands.get(1), Direction.EAST));
+        assertSame(this.islands.get(0), this.store.getNeighbor(this.islands.get(1), Direction.NORTH));
+        assertSame(this.islands.get(2), this.store.getNeighbor(this.islands.get(1), Direction.SOUTH));
+
+        assertSame(this.islands.get(4), this.store.getNeighbor(this.islands.get(8), Direction.WEST));
+        assertSame(this.islands.get(7), this.store.getNeighbor(this.islands.get(8), Direction.NORTH));
+        assertNull(this.store.getNeighbor(this.islands.get(8), Direction.EAST));
+        assertNull(this.store.getNeighbor(this.islands.get(8), Direction.SOUTH));
+    }
+
+    @Test
+    public void testSparseIslands() {
+        Island first = new Island(10, 0, 0, 1);
+        Island second = new Island(2000, 100000, 0, 1);
+        Island third = new Island(-5, 0, 100000, 1);
+        IslandStore sparse = new IslandStore(Arrays.asList(first, second, third));
+
+        assertSame(second, sparse.getById(2000));
+        assertSame(third, sparse.getById(-5));
+        assertSame(second, sparse.getByCoordinates(100000, 0));
+        assertNull(sparse.getByCoordinates(50000, 0));
+        assertSame(second, sparse.getNeighbor(first, Direction.EAST));
+        assertSame(first, sparse.getNeighbor(third, Direction.NORTH));
+        assertNull(sparse.getNeighbor(second, Direction.SOUTH));
+    }
+}
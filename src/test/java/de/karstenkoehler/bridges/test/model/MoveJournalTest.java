@@ -0,0 +1,146 @@
+package de.karstenkoehler.bridges.test.model;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Direction;
+import de.karstenkoehler.bridges.model.Island;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MoveJournalTest {
+    private List<Island> islands;
+    private BridgesPuzzle puzzle;
+    private Connection north;
+    private Connection south;
+
+    @Before
+    public void setUp() {
+        this.islands = Arrays.asList(
+                new Island(0, 0, 0, 3),
+                new Island(1, 0, 2, 4),
+                new Island(2, 0, 4, 2),
+                new Island(3, 2, 0, 3),
+                new Island(4, 2, 3, 2),
+                new Island(5, 3, 2, 1),
+                new Island(6, 3, 4, 1),
+                new Island(7, 4, 0, 3),
+                new Island(8, 4, 3, 3)
+        );
+
+        this.puzzle = new BridgesPuzzle(islands, new ArrayList<>(), 5, 5);
+        this.puzzle.fillMissingConnections();
+        this.north = puzzle.getConnectedBridge(islands.get(1), Direction.NORTH);
+        this.south = puzzle.getConnectedBridge(islands.get(1), Direction.SOUTH);
+    }
+
+    @Test
+    public void testUndoAndRedo() {
+        assertFalse(puzzle.canUndo());
+        assertTrue(puzzle.addBridge(north));
+        assertTrue(puzzle.addBridge(south));
+        assertTrue(puzzle.addBridge(south));
+        assertFalse(puzzle.addBridge(south));
+        assertEquals(3, puzzle.getMoveCount());
+        assertEquals(1, puzzle.getRemainingBridgeCount(islands.get(1)));
+
+        assertSame(south, puzzle.undo());
+        assertEquals(1, south.getBridgeCount());
+        assertSame(south, puzzle.undo());
+        assertSame(north, puzzle.undo());
+        assertNull(puzzle.undo());
+        assertEquals(4, puzzle.getRemainingBridgeCount(islands.get(1)));
+
+        assertTrue(puzzle.canRedo());
+        assertSame(north, puzzle.redo());
+        assertSame(south, puzzle.redo());
+        assertEquals(1, north.getBridgeCount());
+        assertEquals(1, south.getBridgeCount());
+        assertEquals(2, puzzle.getRemainingBridgeCount(islands.get(1)));
+    }
+
+    @Test
+    public void testNewMoveDiscardsRedo() {
+        puzzle.addBridge(north);
+        puzzle.addBridge(north);
+        puzzle.undo();
+
+        assertTrue(puzzle.removeBridge(north));
+        assertFalse(puzzle.canRedo());
+        assertNull(puzzle.redo());
+        assertEquals(0, north.getBridgeCount());
+
+        assertSame(north, puzzle.undo());
+        assertEquals(1, north.getBridgeCount());
+    }
+
+    @Test
+    public void testUndoMovesAsTrail() {
+        puzzle.addBridge(north);
+        int mark = puzzle.getMoveCount();
+
+        puzzle.addBridge(south);
+        puzzle.addBridge(north);
+        puzzle.removeBridge(south);
+        puzzle.addBridge(south);
+        puzzle.undoMoves(mark);
+
+        assertEquals(mark, puzzle.getMoveCount());
+        assertEquals(1, north.getBridgeCount());
+        assertEquals(0, south.getBridgeCount());
+    }
+
+    @Test
+    public void testUndoRestart() {
+        puzzle.addBridge(north);
+        puzzle.addBridge(south);
+        puzzle.addBridge(south);
+        puzzle.restart();
+
+        assertEquals(0, north.getBridgeCount());
+        assertEquals(0, south.getBridgeCount());
+        assertNotNull(puzzle.undo());
+        assertEquals(1, north.getBridgeCount());
+        assertEquals(2, south.getBridgeCount());
+
+        assertSame(south, puzzle.undo());
+        assertEquals(1, south.getBridgeCount());
+
+        puzzle.redo();
+        assertNotNull(puzzle.redo());
+        assertEquals(0, north.getBridgeCount());
+        assertEquals(0, south.getBridgeCount());
+        assertFalse(puzzle.canRedo());
+    }
+
+    @Test
+    public void testRestartWithoutBridges() {
+        puzzle.restart();
+
+        assertFalse(puzzle.canUndo());
+    }
+
+    @Test
+    public void testChangeOutsideJournal() {
+        puzzle.addBridge(north);
+        puzzle.addBridge(south);
+        puzzle.undo();
+        south.addBridge();
+
+        assertFalse(puzzle.canUndo());
+        assertFalse(puzzle.canRedo());
+        assertNull(puzzle.undo());
+        assertEquals(1, north.getBridgeCount());
+        assertEquals(1, south.getBridgeCount());
+    }
+}
@@ -1,8 +1,15 @@
 package de.karstenkoehler.bridges.test.model;
 
+import de.karstenkoehler.bridges.model.DifficultyTier;
 import de.karstenkoehler.bridges.model.PuzzleSpecification;
 import org.junit.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class PuzzleSpecificationTest {
@@ -66,4 +73,43 @@ public class PuzzleSpecificationTest {
     public void specsOk() {
         PuzzleSpecification.withSpecs(false, 5, 5, 3);
     }
+
+    @Test
+    public void withSeed() {
+        PuzzleSpecification spec = PuzzleSpecification.withSpecs(true, 8, 9, 10).withSeed(1234);
+        assertEquals(1234, spec.getSeed());
+        assertTrue(spec.generateSolution());
+        assertEquals(8, spec.getWidth());
+        assertEquals(9, spec.getHeight());
+        assertEquals(10, spec.getIslandCount());
+    }
+
+    @Test
+    public void deriveIsReproducible() {
+        PuzzleSpecification spec = PuzzleSpecification.withSpecs(false, 5, 5, 3).withSeed(1234);
+        Set<Long> seeds = new HashSet<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(spec.derive(i).getSeed(), spec.withSeed(1234).derive(i).getSeed());
+            seeds.add(spec.derive(i).getSeed());
+        }
+        assertEquals(ITERATIONS, seeds.size());
+    }
+
+    @Test
+    public void withDifficulty() {
+        PuzzleSpecification spec = PuzzleSpecification.withSpecs(false, 8, 9, 10).withSeed(1234);
+        assertNull(spec.getDifficulty());
+        assertFalse(spec.isUniqueSolutionRequired());
+        assertFalse(spec.hasRatingTarget());
+
+        spec = spec.withDifficulty(DifficultyTier.LOOKAHEAD, true);
+        assertEquals(DifficultyTier.LOOKAHEAD, spec.getDifficulty());
+        assertTrue(spec.isUniqueSolutionRequired());
+        assertTrue(spec.hasRatingTarget());
+        assertEquals(1234, spec.getSeed());
+
+        assertEquals(DifficultyTier.LOOKAHEAD, spec.withSeed(1).getDifficulty());
+        assertTrue(spec.derive(1).isUniqueSolutionRequired());
+        assertTrue(spec.withDifficulty(null, true).hasRatingTarget());
+    }
 }
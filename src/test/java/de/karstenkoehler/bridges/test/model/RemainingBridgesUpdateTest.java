@@ -0,0 +1,81 @@
+package de.karstenkoehler.bridges.test.model;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Direction;
+import de.karstenkoehler.bridges.model.Island;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class RemainingBridgesUpdateTest {
+    private List<Island> islands;
+    private BridgesPuzzle puzzle;
+
+    @Before
+    public void setUp() {
+        this.islands = Arrays.asList(
+                new Island(0, 0, 0, 3),
+                new Island(1, 0, 2, 4),
+                new Island(2, 0, 4, 2),
+                new Island(3, 2, 0, 3),
+                new Island(4, 2, 3, 2),
+                new Island(5, 3, 2, 1),
+                new Island(6, 3, 4, 1),
+                new Island(7, 4, 0, 3),
+                new Island(8, 4, 3, 3)
+        );
+
+        List<Connection> bridges = new ArrayList<>(Arrays.asList(
+                new Connection(islands.get(0), islands.get(1), 2),
+                new Connection(islands.get(3), islands.get(7), 1)
+        ));
+
+        this.puzzle = new BridgesPuzzle(islands, bridges, 5, 5);
+        this.puzzle.fillMissingConnections();
+    }
+
+    @Test
+    public void testAddAndRemoveBridge() {
+        Connection connection = puzzle.getConnectedBridge(islands.get(1), Direction.SOUTH);
+
+        connection.addBridge();
+        assertEquals(1, puzzle.getRemainingBridgeCount(islands.get(1)));
+        assertEquals(1, puzzle.getRemainingBridgeCount(islands.get(2)));
+
+        connection.addBridge();
+        assertEquals(0, puzzle.getRemainingBridgeCount(islands.get(1)));
+        assertEquals(0, puzzle.getRemainingBridgeCount(islands.get(2)));
+
+        connection.removeBridge();
+        assertEquals(1, puzzle.getRemainingBridgeCount(islands.get(1)));
+        assertEquals(1, puzzle.getRemainingBridgeCount(islands.get(2)));
+    }
+
+    @Test
+    public void testSetBridgeCount() {
+        Connection connection = puzzle.getConnectedBridge(islands.get(0), Direction.EAST);
+
+        connection.setBridgeCount(2);
+        assertEquals(-1, puzzle.getRemainingBridgeCount(islands.get(0)));
+        assertEquals(0, puzzle.getRemainingBridgeCount(islands.get(3)));
+
+        connection.setBridgeCount(0);
+        assertEquals(1, puzzle.getRemainingBridgeCount(islands.get(0)));
+        assertEquals(2, puzzle.getRemainingBridgeCount(islands.get(3)));
+    }
+
+    @Test
+    public void testRestart() {
+        puzzle.restart();
+
+        for (Island island : islands) {
+            assertEquals(island.getRequiredBridges(), puzzle.getRemainingBridgeCount(island));
+        }
+    }
+}
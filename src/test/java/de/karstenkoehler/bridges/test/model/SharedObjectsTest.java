@@ -0,0 +1,71 @@
+package de.karstenkoehler.bridges.test.model;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Island;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class SharedObjectsTest {
+    private List<Island> islands;
+    private List<Connection> connections;
+    private BridgesPuzzle first;
+    private BridgesPuzzle second;
+
+    @Before
+    public void setUp() {
+        this.islands = Arrays.asList(
+                new Island(0, 0, 0, 1),
+                new Island(1, 2, 0, 1)
+        );
+        this.connections = new ArrayList<>();
+
+        this.first = new BridgesPuzzle(islands, connections, 3, 1);
+        this.first.fillMissingConnections();
+        this.second = new BridgesPuzzle(islands, first.getConnections(), 3, 1);
+        this.second.fillMissingConnections();
+    }
+
+    @Test
+    public void testConnectionsAreCopied() {
+        assertSame(islands.get(0), second.getIslands().get(0));
+        assertNotSame(first.getConnections().get(0), second.getConnections().get(0));
+        assertEquals(1, first.getConnections().size());
+        assertEquals(1, second.getConnections().size());
+    }
+
+    @Test
+    public void testBridgesStayInTheirPuzzle() {
+        first.getConnections().get(0).addBridge();
+
+        assertEquals(PuzzleState.SOLVED, first.getState());
+        assertEquals(0, first.getRemainingBridgeCount(islands.get(0)));
+        assertEquals(PuzzleState.NOT_SOLVED, second.getState());
+        assertEquals(0, second.getConnections().get(0).getBridgeCount());
+
+        second.getConnections().get(0).addBridge();
+        assertEquals(PuzzleState.SOLVED, second.getState());
+        assertEquals(1, first.getConnections().get(0).getBridgeCount());
+    }
+
+    @Test
+    public void testRequiredBridgesReachBothPuzzles() {
+        first.getConnections().get(0).addBridge();
+        second.getConnections().get(0).addBridge();
+        islands.get(0).setRequiredBridges(2);
+
+        assertEquals(1, first.getRemainingBridgeCount(islands.get(0)));
+        assertEquals(1, second.getRemainingBridgeCount(islands.get(0)));
+        assertEquals(PuzzleState.NO_LONGER_SOLVABLE, first.getState());
+        assertEquals(PuzzleState.NO_LONGER_SOLVABLE, second.getState());
+    }
+}
@@ -0,0 +1,105 @@
+package de.karstenkoehler.bridges.test.model;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Direction;
+import de.karstenkoehler.bridges.model.Island;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import de.karstenkoehler.bridges.model.PuzzleTopology;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class StateAggregatesTest {
+    private List<Island> islands;
+    private BridgesPuzzle puzzle;
+
+    @Before
+    public void setUp() {
+        this.islands = Arrays.asList(
+                new Island(0, 0, 2, 1),
+                new Island(1, 2, 0, 1),
+                new Island(2, 2, 4, 1),
+                new Island(3, 4, 2, 1)
+        );
+
+        this.puzzle = new BridgesPuzzle(islands, new ArrayList<>(), 5, 5);
+        this.puzzle.fillMissingConnections();
+    }
+
+    @Test
+    public void testInitialAggregates() {
+        assertEquals(0, puzzle.getCrossingCount());
+        assertEquals(0, puzzle.getOverfilledIslandCount());
+        assertEquals(4, puzzle.getUnsatisfiedIslandCount());
+        assertEquals(PuzzleState.NOT_SOLVED, puzzle.getState());
+    }
+
+    @Test
+    public void testAggregatesFollowChanges() {
+        Connection horizontal = puzzle.getConnectedBridge(islands.get(0), Direction.EAST);
+        Connection vertical = puzzle.getConnectedBridge(islands.get(1), Direction.SOUTH);
+
+        puzzle.addBridge(horizontal);
+        assertEquals(2, puzzle.getUnsatisfiedIslandCount());
+        assertEquals(PuzzleState.NO_LONGER_SOLVABLE, puzzle.getState());
+
+        puzzle.addBridge(vertical);
+        assertEquals(2, puzzle.getCrossingCount());
+        assertEquals(0, puzzle.getUnsatisfiedIslandCount());
+        assertEquals(PuzzleState.ERROR, puzzle.getState());
+
+        puzzle.addBridge(vertical);
+        assertEquals(2, puzzle.getOverfilledIslandCount());
+        assertEquals(2, puzzle.getUnsatisfiedIslandCount());
+
+        puzzle.undoMoves(0);
+        assertEquals(0, puzzle.getCrossingCount());
+        assertEquals(0, puzzle.getOverfilledIslandCount());
+        assertEquals(4, puzzle.getUnsatisfiedIslandCount());
+        assertEquals(PuzzleState.NOT_SOLVED, puzzle.getState());
+    }
+
+    @Test
+    public void testModificationCount() {
+        int before = puzzle.getModificationCount();
+        puzzle.getState();
+        assertEquals(before, puzzle.getModificationCount());
+
+        puzzle.addBridge(puzzle.getConnectedBridge(islands.get(0), Direction.EAST));
+        assertNotEquals(before, puzzle.getModificationCount());
+    }
+
+    @Test
+    public void testAggregatesFollowRequiredBridges() {
+        Connection horizontal = puzzle.getConnectedBridge(islands.get(0), Direction.EAST);
+        puzzle.addBridge(horizontal);
+        assertEquals(PuzzleState.NO_LONGER_SOLVABLE, puzzle.getState());
+        PuzzleTopology topology = puzzle.getTopology();
+
+        int before = puzzle.getModificationCount();
+        islands.get(0).setRequiredBridges(0);
+        assertNotEquals(before, puzzle.getModificationCount());
+        assertEquals(1, puzzle.getOverfilledIslandCount());
+        assertEquals(3, puzzle.getUnsatisfiedIslandCount());
+        assertEquals(PuzzleState.ERROR, puzzle.getState());
+
+        islands.get(0).setRequiredBridges(1);
+        islands.get(1).setRequiredBridges(0);
+        islands.get(2).setRequiredBridges(0);
+        islands.get(3).setRequiredBridges(1);
+        assertEquals(0, puzzle.getOverfilledIslandCount());
+        assertEquals(0, puzzle.getUnsatisfiedIslandCount());
+        assertEquals(PuzzleState.NO_LONGER_SOLVABLE, puzzle.getState());
+
+        assertNotSame(topology, puzzle.getTopology());
+        assertEquals(0, puzzle.getTopology().required(1));
+    }
+}
@@ -0,0 +1,91 @@
+package de.karstenkoehler.bridges.test.parser;
+
+import de.karstenkoehler.bridges.io.parser.ParseException;
+import de.karstenkoehler.bridges.io.parser.token.CharTokenizer;
+import de.karstenkoehler.bridges.io.parser.token.Token;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class CharTokenizerTest {
+
+    @Parameterized.Parameters()
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {"0 1 2 65 5486 012", new Token.Type[]{Token.Type.NUMBER, Token.Type.NUMBER, Token.Type.NUMBER, Token.Type.NUMBER, Token.Type.NUMBER, Token.Type.NUMBER}, new int[]{0, 1, 2, 65, 5486, 12}, null},
+                {"true false", new Token.Type[]{Token.Type.BOOL, Token.Type.BOOL}, new int[0], null},
+                {"FIELD 5 x 5 | 2", new Token.Type[]{Token.Type.FIELD_SECTION, Token.Type.NUMBER, Token.Type.X, Token.Type.NUMBER, Token.Type.PIPE, Token.Type.NUMBER}, new int[]{5, 5, 2}, null},
+                {"# comment\nISLANDS\r\n( 3,14 |2)", new Token.Type[]{Token.Type.ISLAND_SECTION, Token.Type.OPEN_PARENTHESIS, Token.Type.NUMBER, Token.Type.COMMA, Token.Type.NUMBER, Token.Type.PIPE, Token.Type.NUMBER, Token.Type.CLOSE_PARENTHESIS}, new int[]{3, 14, 2}, null},
+                {"BRIDGES (0, 1 | true)", new Token.Type[]{Token.Type.BRIDGES_SECTION, Token.Type.OPEN_PARENTHESIS, Token.Type.NUMBER, Token.Type.COMMA, Token.Type.NUMBER, Token.Type.PIPE, Token.Type.BOOL, Token.Type.CLOSE_PARENTHESIS}, new int[]{0, 1}, null},
+
+                {"!", null, null, ParseException.class},
+                {"Field", null, null, ParseException.class},
+                {"123abc", null, null, ParseException.class},
+                {"tru", null, null, ParseException.class},
+                {"faLSE", null, null, ParseException.class},
+                {"99999999999", null, null, ParseException.class},
+        });
+    }
+
+    @Parameterized.Parameter()
+    public String input;
+
+    @Parameterized.Parameter(1)
+    public Token.Type[] expectedTypes;
+
+    @Parameterized.Parameter(2)
+    public int[] expectedNumbers;
+
+    @Parameterized.Parameter(3)
+    public Class<? extends Exception> expectedException;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testAdvance() throws ParseException {
+        if (expectedException != null) {
+            thrown.expect(expectedException);
+        }
+
+        CharTokenizer tokenizer = new CharTokenizer(input);
+        List<Token.Type> types = new ArrayList<>();
+        List<Integer> numbers = new ArrayList<>();
+        for (Token.Type type = tokenizer.advance(); type != Token.Type.EOF; type = tokenizer.advance()) {
+            types.add(type);
+            if (type == Token.Type.NUMBER) {
+                numbers.add(tokenizer.intValue());
+            }
+        }
+
+        assertArrayEquals(expectedTypes, types.toArray(new Token.Type[0]));
+        assertArrayEquals(expectedNumbers, numbers.stream().mapToInt(Integer::intValue).toArray());
+        assertEquals(Token.Type.EOF, tokenizer.advance());
+    }
+
+    @Test
+    public void testNext() throws ParseException {
+        if (expectedException != null) {
+            thrown.expect(expectedException);
+        }
+
+        CharTokenizer tokenizer = new CharTokenizer(input.toCharArray());
+        List<Token.Type> types = new ArrayList<>();
+        for (Token tk = tokenizer.next(); tk.getType() != Token.Type.EOF; tk = tokenizer.next()) {
+            types.add(tk.getType());
+        }
+
+        assertArrayEquals(expectedTypes, types.toArray(new Token.Type[0]));
+    }
+}
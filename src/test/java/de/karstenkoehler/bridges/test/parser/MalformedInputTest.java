@@ -0,0 +1,31 @@
+package de.karstenkoehler.bridges.test.parser;
+
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.CharacterCodingException;
+
+public class MalformedInputTest {
+    // 0xFF is neither valid ASCII nor valid UTF-8
+    private static final byte[] BYTES = {'F', 'I', 'E', 'L', 'D', '\n', (byte) 0xFF, '\n'};
+
+    private final BridgesFileReader reader = new BridgesFileReader();
+
+    @Test(expected = CharacterCodingException.class)
+    public void testInputStream() throws Exception {
+        reader.read(new ByteArrayInputStream(BYTES));
+    }
+
+    @Test(expected = CharacterCodingException.class)
+    public void testChannel() throws Exception {
+        reader.read(Channels.newChannel(new ByteArrayInputStream(BYTES)));
+    }
+
+    @Test(expected = CharacterCodingException.class)
+    public void testByteBuffer() throws Exception {
+        reader.read(ByteBuffer.wrap(BYTES));
+    }
+}
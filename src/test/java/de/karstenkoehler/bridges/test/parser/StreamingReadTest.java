@@ -0,0 +1,85 @@
+package de.karstenkoehler.bridges.test.parser;
+
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import de.karstenkoehler.bridges.io.parser.TokenConsumingParser;
+import de.karstenkoehler.bridges.io.parser.token.CharTokenizer;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class StreamingReadTest {
+    private static final String DATA_DIR = "src/main/resources/data/";
+    private static final BridgesFileReader reader = new BridgesFileReader();
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {"bsp_5x5.bgs"},
+                {"bsp_5x5.sol.bgs"},
+                {"bsp_14x14.sol.bgs"},
+                {"bsp_25x25.bgs"},
+                {"bsp_25x25.sol.bgs"},
+        });
+    }
+
+    @Parameterized.Parameter
+    public String filename;
+
+    @Test
+    public void testInputStream() throws Exception {
+        BridgesPuzzle expected = reader.readFile(new File(DATA_DIR + filename));
+        BridgesPuzzle actual = reader.read(new ByteArrayInputStream(readBytes()));
+
+        assertPuzzleEquals(expected, actual);
+    }
+
+    @Test
+    public void testChannel() throws Exception {
+        BridgesPuzzle expected = reader.readFile(new File(DATA_DIR + filename));
+        BridgesPuzzle actual = reader.read(Channels.newChannel(new ByteArrayInputStream(readBytes())));
+
+        assertPuzzleEquals(expected, actual);
+    }
+
+    @Test
+    public void testByteBuffer() throws Exception {
+        BridgesPuzzle expected = reader.readFile(new File(DATA_DIR + filename));
+        BridgesPuzzle actual = reader.read(ByteBuffer.wrap(readBytes()));
+
+        assertPuzzleEquals(expected, actual);
+    }
+
+    @Test
+    public void testSmallBuffer() throws Exception {
+        byte[] bytes = readBytes();
+        BridgesPuzzle expected = new TokenConsumingParser(new CharTokenizer(new String(bytes, Charset.defaultCharset()))).parse();
+        BridgesPuzzle actual = new TokenConsumingParser(new CharTokenizer(new InputStreamReader(new ByteArrayInputStream(bytes), Charset.defaultCharset()), 3)).parse();
+
+        assertPuzzleEquals(expected, actual);
+    }
+
+    private byte[] readBytes() throws Exception {
+        return Files.readAllBytes(new File(DATA_DIR + filename).toPath());
+    }
+
+    private static void assertPuzzleEquals(BridgesPuzzle expected, BridgesPuzzle actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        assertEquals(expected.getIslands(), actual.getIslands());
+        assertEquals(expected.getConnections(), actual.getConnections());
+    }
+}
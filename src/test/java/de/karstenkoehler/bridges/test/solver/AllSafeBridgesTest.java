@@ -0,0 +1,77 @@
+package de.karstenkoehler.bridges.test.solver;
+
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import de.karstenkoehler.bridges.model.solver.SafeBridge;
+import de.karstenkoehler.bridges.model.solver.Solver;
+import de.karstenkoehler.bridges.model.solver.SolverImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class AllSafeBridgesTest {
+    private static final String DATA_DIR = "src/main/resources/data/";
+    private static Solver solver = new SolverImpl();
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {"bsp_5x5"},
+                {"bsp_6x6"},
+                {"bsp_8x8"},
+                {"bsp_14x14"},
+                {"bsp_25x25"},
+                {"bsp_abb2"},
+                {"bsp_abb22"},
+                {"test_isolation_1"},
+                {"test_isolation_2"},
+                {"test_isolation_3"},
+        });
+    }
+
+    @Parameterized.Parameter
+    public String filename;
+
+    @Test
+    public void testRoundsMatchSolution() throws Exception {
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + filename + ".bgs"));
+        BridgesPuzzle solution = new BridgesFileReader().readFile(new File(DATA_DIR + filename + ".sol.bgs"));
+
+        List<SafeBridge> round;
+        while (!(round = solver.allSafeBridges(puzzle)).isEmpty()) {
+            for (SafeBridge safe : round) {
+                assertTrue(safe.getCount() > 0);
+                safe.apply();
+            }
+            assertNotEquals(PuzzleState.ERROR, puzzle.getState());
+        }
+
+        for (int i = 0; i < puzzle.getConnections().size(); i++) {
+            Connection connection = puzzle.getConnections().get(i);
+            if (connection.getBridgeCount() > 0) {
+                assertEquals(solution.getConnections().get(i).getBridgeCount(), connection.getBridgeCount());
+            }
+        }
+    }
+
+    @Test
+    public void testContainsNextSafeBridge() throws Exception {
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + filename + ".bgs"));
+
+        Connection next = solver.nextSafeBridge(puzzle);
+        List<SafeBridge> all = solver.allSafeBridges(puzzle);
+        assertTrue(all.stream().anyMatch(safe -> safe.getConnection() == next));
+    }
+}
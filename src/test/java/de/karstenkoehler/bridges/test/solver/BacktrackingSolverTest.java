@@ -0,0 +1,90 @@
+package de.karstenkoehler.bridges.test.solver;
+
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import de.karstenkoehler.bridges.model.solver.BacktrackingSolver;
+import de.karstenkoehler.bridges.model.solver.SolvingSession;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class BacktrackingSolverTest {
+    private static final String DATA_DIR = "src/main/resources/data/";
+    private static BacktrackingSolver solver = new BacktrackingSolver();
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {"bsp_5x5.bgs"},
+                {"bsp_6x6.bgs"},
+                {"bsp_8x8.bgs"},
+                {"bsp_10x5.bgs"},
+                {"bsp_14x14.bgs"},
+                {"bsp_25x25.bgs"},
+                {"bsp_abb2.bgs"},
+                {"bsp_abb22.bgs"},
+                {"test_isolation_1.bgs"},
+                {"test_isolation_2.bgs"},
+                {"test_isolation_3.bgs"},
+                {"test_isolation_4.bgs"},
+                {"test_isolation_5.bgs"},
+        });
+    }
+
+    @Parameterized.Parameter
+    public String filename;
+
+    @Test
+    public void testSolve() throws Exception {
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + filename));
+
+        assertTrue(solver.solve(puzzle));
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+    }
+
+    @Test
+    public void testNextSafeBridge() throws Exception {
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + filename));
+
+        Connection next;
+        while ((next = solver.nextSafeBridge(puzzle)) != null) {
+            next.addBridge();
+        }
+
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+    }
+
+    @Test
+    public void testSessionSameBridgesAsSingleSteps() throws Exception {
+        BridgesPuzzle expected = new BridgesFileReader().readFile(new File(DATA_DIR + filename));
+        List<Integer> expectedSteps = new ArrayList<>();
+        Connection next;
+        while ((next = solver.nextSafeBridge(expected)) != null) {
+            expectedSteps.add(expected.getConnections().indexOf(next));
+            next.addBridge();
+        }
+
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + filename));
+        SolvingSession session = solver.startSession(puzzle);
+        List<Integer> steps = new ArrayList<>();
+        while ((next = session.nextSafeBridge()) != null) {
+            steps.add(puzzle.getConnections().indexOf(next));
+            next.addBridge();
+        }
+
+        assertEquals(expectedSteps, steps);
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+    }
+}
@@ -0,0 +1,106 @@
+package de.karstenkoehler.bridges.test.solver;
+
+import de.karstenkoehler.bridges.io.validator.DefaultValidator;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Island;
+import de.karstenkoehler.bridges.model.PuzzleSpecification;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import de.karstenkoehler.bridges.model.generator.Generator;
+import de.karstenkoehler.bridges.model.generator.GeneratorImpl;
+import de.karstenkoehler.bridges.model.solver.BacktrackingSolver;
+import de.karstenkoehler.bridges.model.solver.ParallelBacktrackingSolver;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static de.karstenkoehler.bridges.test.solver.SolverFixtures.square;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DeadStatesTest {
+
+    @Test
+    public void testDefaultCapacity() {
+        assertEquals(BacktrackingSolver.DEFAULT_DEAD_STATES, new BacktrackingSolver().getDeadStates());
+        assertEquals(BacktrackingSolver.DEFAULT_DEAD_STATES, new ParallelBacktrackingSolver().getDeadStates());
+        assertEquals(0, new BacktrackingSolver(0).getDeadStates());
+    }
+
+    @Test
+    public void testCapacityIsRoundedUp() {
+        assertEquals(64, new BacktrackingSolver(1).getDeadStates());
+        assertEquals(64, new BacktrackingSolver(64).getDeadStates());
+        assertEquals(128, new BacktrackingSolver(65).getDeadStates());
+        assertEquals(128, new BacktrackingSolver(100).getDeadStates());
+        assertEquals(1 << 17, new BacktrackingSolver(100000).getDeadStates());
+        assertEquals(1 << 30, new BacktrackingSolver(Integer.MAX_VALUE).getDeadStates());
+        assertEquals(128, new ParallelBacktrackingSolver(ForkJoinPool.commonPool(), 100).getDeadStates());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCapacity() {
+        new BacktrackingSolver(-1);
+    }
+
+    @Test
+    public void testSameResultWithAndWithoutTable() {
+        Generator generator = new GeneratorImpl(new DefaultValidator());
+        Random random = new Random(42);
+        List<BacktrackingSolver> solvers = Arrays.asList(
+                new BacktrackingSolver(),
+                new BacktrackingSolver(1),
+                new ParallelBacktrackingSolver()
+        );
+
+        for (int seed = 0; seed < 40; seed++) {
+            BridgesPuzzle puzzle = generator.generate(PuzzleSpecification.withSpecs(false, 20, 20, 70).withSeed(seed));
+            moveRequiredBridge(puzzle, random);
+
+            boolean expected = new BacktrackingSolver(0).solve(puzzle);
+            for (BacktrackingSolver solver : solvers) {
+                puzzle.restart();
+                assertEquals("seed " + seed, expected, solver.solve(puzzle));
+                if (expected) {
+                    assertEquals("seed " + seed, PuzzleState.SOLVED, puzzle.getState());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNoSolutionWithSmallTable() {
+        BridgesPuzzle puzzle = square(1);
+
+        assertFalse(new BacktrackingSolver(1).solve(puzzle));
+        for (Connection connection : puzzle.getConnections()) {
+            assertEquals(0, connection.getBridgeCount());
+        }
+    }
+
+    @Test
+    public void testSeveralSolutionsWithSmallTable() {
+        BridgesPuzzle puzzle = square(3);
+
+        assertTrue(new BacktrackingSolver(1).solve(puzzle));
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+    }
+
+    /**
+     * Moves one required bridge from one island to another, which usually makes the puzzle unsolvable in a way
+     * that is only found by searching.
+     */
+    private static void moveRequiredBridge(BridgesPuzzle puzzle, Random random) {
+        List<Island> islands = puzzle.getIslands();
+        Island from = islands.get(random.nextInt(islands.size()));
+        Island to = islands.get(random.nextInt(islands.size()));
+        if (from != to && from.getRequiredBridges() > 1 && to.getRequiredBridges() < 8) {
+            from.setRequiredBridges(from.getRequiredBridges() - 1);
+            to.setRequiredBridges(to.getRequiredBridges() + 1);
+        }
+    }
+}
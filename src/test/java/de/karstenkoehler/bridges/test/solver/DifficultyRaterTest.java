@@ -0,0 +1,104 @@
+package de.karstenkoehler.bridges.test.solver;
+
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.DifficultyTier;
+import de.karstenkoehler.bridges.model.solver.DifficultyRater;
+import de.karstenkoehler.bridges.model.solver.DifficultyRating;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static de.karstenkoehler.bridges.test.solver.SolverFixtures.square;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DifficultyRaterTest {
+    private static final String DATA_DIR = "src/main/resources/data/";
+    private static DifficultyRater rater = new DifficultyRater();
+
+    @Test
+    public void testBasicPuzzles() throws Exception {
+        for (String filename : Arrays.asList("bsp_5x5.bgs", "bsp_8x8.bgs", "bsp_14x14.bgs", "bsp_25x25.bgs")) {
+            DifficultyRating rating = rater.rate(new BridgesFileReader().readFile(new File(DATA_DIR + filename)));
+
+            assertTrue(filename, rating.isSolvable());
+            assertEquals(filename, DifficultyTier.BASIC, rating.getHardestTier());
+            assertEquals(filename, 0, rating.getSearchNodes());
+            assertTrue(filename, rating.getRounds(DifficultyTier.BASIC) > 0);
+        }
+    }
+
+    @Test
+    public void testIsolationNeedsLookahead() throws Exception {
+        DifficultyRating rating = rater.rate(new BridgesFileReader().readFile(new File(DATA_DIR + "test_isolation_4.bgs")));
+
+        assertTrue(rating.isSolvable());
+        assertEquals(DifficultyTier.LOOKAHEAD, rating.getHardestTier());
+        assertEquals(0, rating.getSearchNodes());
+        assertEquals(rating.getRounds(), rating.getRounds(DifficultyTier.BASIC)
+                + rating.getRounds(DifficultyTier.ISOLATION) + rating.getRounds(DifficultyTier.LOOKAHEAD));
+    }
+
+    @Test
+    public void testIsolationPuzzles() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            String filename = "test_isolation_" + i + ".bgs";
+            DifficultyRating rating = rater.rate(new BridgesFileReader().readFile(new File(DATA_DIR + filename)));
+
+            assertTrue(filename, rating.isSolvable());
+            assertEquals(filename, rating, rater.rate(new BridgesFileReader().readFile(new File(DATA_DIR + filename))));
+        }
+    }
+
+    @Test
+    public void testAmbiguousPuzzleNeedsSearch() {
+        DifficultyRating rating = rater.rate(square(3));
+
+        assertTrue(rating.isSolvable());
+        assertEquals(DifficultyTier.SEARCH, rating.getHardestTier());
+        assertEquals(1, rating.getRounds(DifficultyTier.SEARCH));
+        assertTrue(rating.getSearchNodes() > 0);
+    }
+
+    @Test
+    public void testUnsolvable() {
+        assertFalse(rater.rate(square(1)).isSolvable());
+    }
+
+    @Test
+    public void testExistingBridgesIgnored() throws Exception {
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + "test_isolation_4.sol_1.bgs"));
+        BridgesPuzzle empty = new BridgesFileReader().readFile(new File(DATA_DIR + "test_isolation_4.bgs"));
+
+        assertEquals(rater.rate(empty), rater.rate(puzzle));
+        assertTrue(puzzle.getConnections().stream().anyMatch(connection -> connection.getBridgeCount() > 0));
+    }
+
+    @Test
+    public void testOrder() throws Exception {
+        DifficultyRating basic = rater.rate(new BridgesFileReader().readFile(new File(DATA_DIR + "bsp_5x5.bgs")));
+        DifficultyRating lookahead = rater.rate(new BridgesFileReader().readFile(new File(DATA_DIR + "test_isolation_4.bgs")));
+        DifficultyRating search = rater.rate(square(3));
+
+        List<DifficultyRating> ratings = new ArrayList<>(Arrays.asList(search, basic, lookahead));
+        Collections.sort(ratings);
+        assertEquals(Arrays.asList(basic, lookahead, search), ratings);
+    }
+
+    @Test
+    public void testOrderConsistentWithEquals() {
+        DifficultyRating solvable = rater.rate(square(3));
+        DifficultyRating unsolvable = rater.rate(square(1));
+
+        assertTrue(solvable.compareTo(unsolvable) < 0);
+        assertTrue(unsolvable.compareTo(solvable) > 0);
+        assertEquals(0, solvable.compareTo(rater.rate(square(3))));
+        assertEquals(solvable, rater.rate(square(3)));
+    }
+}
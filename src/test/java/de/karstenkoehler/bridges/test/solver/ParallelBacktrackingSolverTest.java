@@ -0,0 +1,105 @@
+package de.karstenkoehler.bridges.test.solver;
+
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import de.karstenkoehler.bridges.model.solver.ParallelBacktrackingSolver;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static de.karstenkoehler.bridges.test.solver.SolverFixtures.square;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class ParallelBacktrackingSolverTest {
+    private static final String DATA_DIR = "src/main/resources/data/";
+    private static ForkJoinPool pool = new ForkJoinPool(4);
+    private static ParallelBacktrackingSolver solver = new ParallelBacktrackingSolver(pool);
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {"bsp_5x5.bgs"},
+                {"bsp_6x6.bgs"},
+                {"bsp_8x8.bgs"},
+                {"bsp_10x5.bgs"},
+                {"bsp_14x14.bgs"},
+                {"bsp_25x25.bgs"},
+                {"bsp_abb2.bgs"},
+                {"bsp_abb22.bgs"},
+                {"test_isolation_1.bgs"},
+                {"test_isolation_2.bgs"},
+                {"test_isolation_3.bgs"},
+                {"test_isolation_4.bgs"},
+                {"test_isolation_5.bgs"},
+        });
+    }
+
+    @Parameterized.Parameter
+    public String filename;
+
+    @AfterClass
+    public static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSolve() throws Exception {
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + filename));
+
+        assertTrue(solver.solve(puzzle));
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+    }
+
+    @Test
+    public void testSolveInCommonPool() throws Exception {
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + filename));
+
+        assertTrue(new ParallelBacktrackingSolver().solve(puzzle));
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+    }
+
+    @Test
+    public void testSolveFromTask() throws Exception {
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + filename));
+
+        boolean solved = pool.invoke(new RecursiveTask<Boolean>() {
+            @Override
+            protected Boolean compute() {
+                return solver.solve(puzzle);
+            }
+        });
+
+        assertTrue(solved);
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+    }
+
+    @Test
+    public void testNoSolution() {
+        BridgesPuzzle puzzle = square(1);
+
+        assertFalse(solver.solve(puzzle));
+        for (Connection connection : puzzle.getConnections()) {
+            assertEquals(0, connection.getBridgeCount());
+        }
+    }
+
+    @Test
+    public void testSeveralSolutions() {
+        BridgesPuzzle puzzle = square(3);
+
+        assertTrue(solver.solve(puzzle));
+        assertEquals(PuzzleState.SOLVED, puzzle.getState());
+    }
+}
@@ -0,0 +1,83 @@
+package de.karstenkoehler.bridges.test.solver;
+
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import de.karstenkoehler.bridges.io.validator.DefaultValidator;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Island;
+import de.karstenkoehler.bridges.model.PuzzleSpecification;
+import de.karstenkoehler.bridges.model.generator.GeneratorImpl;
+import de.karstenkoehler.bridges.model.solver.DifficultyRater;
+import de.karstenkoehler.bridges.model.solver.RatingSession;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static de.karstenkoehler.bridges.test.solver.SolverFixtures.square;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RatingSessionTest {
+    private static final String DATA_DIR = "src/main/resources/data/";
+    private static DifficultyRater rater = new DifficultyRater();
+
+    @Test
+    public void testSameRatingAfterEdits() {
+        Random random = new Random(7);
+        for (int seed = 0; seed < 4; seed++) {
+            BridgesPuzzle puzzle = new GeneratorImpl(new DefaultValidator())
+                    .generate(PuzzleSpecification.withSpecs(true, 25, 25, 125).withSeed(seed));
+            List<Connection> bridges = puzzle.getConnections().stream()
+                    .filter(connection -> connection.getBridgeCount() > 0).collect(Collectors.toList());
+            RatingSession session = rater.startSession(puzzle, true);
+            assertEquals(rater.rate(puzzle), session.rate());
+
+            for (int edit = 0; edit < 50; edit++) {
+                // switching a bridge of the solution between one and two keeps the puzzle solvable
+                Connection connection = bridges.get(random.nextInt(bridges.size()));
+                int delta = connection.getBridgeCount() == 1 ? 1 : -1;
+                connection.setBridgeCount(connection.getBridgeCount() + delta);
+                addRequiredBridges(connection.getStartIsland(), delta);
+                addRequiredBridges(connection.getEndIsland(), delta);
+
+                assertEquals(rater.rate(puzzle), session.rate());
+            }
+        }
+    }
+
+    @Test
+    public void testUnchangedPuzzle() throws Exception {
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + "bsp_25x25.bgs"));
+        RatingSession session = rater.startSession(puzzle, false);
+
+        assertEquals(session.rate(), session.rate());
+        assertEquals(rater.rate(puzzle), session.rate());
+    }
+
+    @Test
+    public void testLookaheadChoices() throws Exception {
+        BridgesPuzzle lookahead = new BridgesFileReader().readFile(new File(DATA_DIR + "test_isolation_4.bgs"));
+        RatingSession session = rater.startSession(lookahead, true);
+        session.rate();
+        assertTrue(session.getLookaheadChoices() > 0);
+
+        session = rater.startSession(lookahead, false);
+        session.rate();
+        assertEquals(-1, session.getLookaheadChoices());
+
+        session = rater.startSession(new BridgesFileReader().readFile(new File(DATA_DIR + "bsp_5x5.bgs")), true);
+        session.rate();
+        assertEquals(-1, session.getLookaheadChoices());
+
+        session = rater.startSession(square(3), true);
+        session.rate();
+        assertEquals(0, session.getLookaheadChoices());
+    }
+
+    private static void addRequiredBridges(Island island, int delta) {
+        island.setRequiredBridges(island.getRequiredBridges() + delta);
+    }
+}
@@ -0,0 +1,59 @@
+package de.karstenkoehler.bridges.test.solver;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.PuzzleState;
+import de.karstenkoehler.bridges.model.solver.BacktrackingSolver;
+import de.karstenkoehler.bridges.model.solver.SolvingSession;
+import org.junit.Test;
+
+import static de.karstenkoehler.bridges.test.solver.SolverFixtures.square;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SeveralSolutionsTest {
+    private static BacktrackingSolver solver = new BacktrackingSolver();
+
+    /**
+     * The square has two solutions with one and two bridges alternating around it. Only the first bridge of
+     * every connection is part of both.
+     */
+    @Test
+    public void testOnlyBridgesOfAllSolutions() {
+        BridgesPuzzle puzzle = square(3);
+
+        Connection next;
+        while ((next = solver.nextSafeBridge(puzzle)) != null) {
+            next.addBridge();
+        }
+
+        assertBridgesOfAllSolutions(puzzle);
+    }
+
+    @Test
+    public void testSessionOnlyBridgesOfAllSolutions() {
+        BridgesPuzzle puzzle = square(3);
+        SolvingSession session = solver.startSession(puzzle);
+
+        Connection next;
+        while ((next = session.nextSafeBridge()) != null) {
+            next.addBridge();
+        }
+
+        assertBridgesOfAllSolutions(puzzle);
+        assertNull(session.nextSafeBridge());
+    }
+
+    @Test
+    public void testNoSolution() {
+        assertNull(solver.nextSafeBridge(square(1)));
+        assertNull(solver.startSession(square(1)).nextSafeBridge());
+    }
+
+    private static void assertBridgesOfAllSolutions(BridgesPuzzle puzzle) {
+        assertEquals(PuzzleState.NOT_SOLVED, puzzle.getState());
+        for (Connection connection : puzzle.getConnections()) {
+            assertEquals(1, connection.getBridgeCount());
+        }
+    }
+}
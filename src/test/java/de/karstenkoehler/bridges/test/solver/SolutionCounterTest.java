@@ -0,0 +1,56 @@
+package de.karstenkoehler.bridges.test.solver;
+
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.solver.SolutionCounter;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static de.karstenkoehler.bridges.test.solver.SolverFixtures.square;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SolutionCounterTest {
+    private static final String DATA_DIR = "src/main/resources/data/";
+
+    @Test
+    public void testUniquePuzzles() throws Exception {
+        SolutionCounter counter = new SolutionCounter();
+        for (String filename : Arrays.asList("bsp_5x5.bgs", "bsp_8x8.bgs", "bsp_14x14.bgs", "bsp_25x25.bgs")) {
+            BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + filename));
+            assertEquals(filename, 1, counter.countSolutions(puzzle));
+            assertTrue(filename, counter.isUnique(puzzle));
+        }
+    }
+
+    @Test
+    public void testTwoSolutions() {
+        assertEquals(1, new SolutionCounter(1).countSolutions(square(3)));
+        assertEquals(2, new SolutionCounter().countSolutions(square(3)));
+        assertEquals(2, new SolutionCounter(10).countSolutions(square(3)));
+        assertFalse(new SolutionCounter(1).isUnique(square(3)));
+    }
+
+    @Test
+    public void testNoSolution() {
+        assertEquals(0, new SolutionCounter().countSolutions(square(1)));
+        assertFalse(new SolutionCounter().isUnique(square(1)));
+    }
+
+    @Test
+    public void testExistingBridgesIgnored() {
+        BridgesPuzzle puzzle = square(2);
+        puzzle.getConnections().get(0).setBridgeCount(2);
+
+        assertTrue(new SolutionCounter().isUnique(puzzle));
+        assertEquals(2, puzzle.getConnections().get(0).getBridgeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLimit() {
+        new SolutionCounter(0);
+    }
+}
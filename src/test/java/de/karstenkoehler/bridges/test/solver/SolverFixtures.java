@@ -0,0 +1,38 @@
+package de.karstenkoehler.bridges.test.solver;
+
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.Island;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Small puzzles shared by the solver tests.
+ */
+final class SolverFixtures {
+
+    private SolverFixtures() {
+    }
+
+    /**
+     * Creates four islands in the corners of a square that all need the given number of bridges. With one
+     * bridge per island the puzzle has no solution, with three bridges it has two.
+     *
+     * @param required the number of bridges every island needs
+     * @return the puzzle
+     */
+    static BridgesPuzzle square(int required) {
+        List<Island> islands = Arrays.asList(
+                new Island(0, 0, 0, required),
+                new Island(1, 0, 2, required),
+                new Island(2, 2, 0, required),
+                new Island(3, 2, 2, required)
+        );
+
+        BridgesPuzzle puzzle = new BridgesPuzzle(islands, new ArrayList<Connection>(), 3, 3);
+        puzzle.fillMissingConnections();
+        return puzzle;
+    }
+}
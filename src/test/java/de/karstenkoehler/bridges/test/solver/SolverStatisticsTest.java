@@ -0,0 +1,84 @@
+package de.karstenkoehler.bridges.test.solver;
+
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.solver.SolverImpl;
+import de.karstenkoehler.bridges.model.solver.SolverStatistics;
+import de.karstenkoehler.bridges.model.solver.SolvingSession;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SolverStatisticsTest {
+    private static final String DATA_DIR = "src/main/resources/data/";
+
+    @Test
+    public void testNoStatistics() {
+        assertNull(new SolverImpl().getStatistics());
+    }
+
+    @Test
+    public void testSingleSteps() throws Exception {
+        SolverStatistics statistics = new SolverStatistics();
+        SolverImpl solver = new SolverImpl(statistics);
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + "bsp_14x14.bgs"));
+
+        int built = 0;
+        Connection next;
+        while ((next = solver.nextSafeBridge(puzzle)) != null) {
+            next.addBridge();
+            built++;
+        }
+
+        assertEquals(built + 1, statistics.getSteps());
+        assertEquals(built, statistics.getRuleFirings(SolverStatistics.Rule.EXACT_FIT) + statistics.getRuleFirings(SolverStatistics.Rule.SPARE_ONE));
+        assertTrue(statistics.getExaminedIslands() >= built);
+        assertTrue(statistics.getCrossingChecks() > 0);
+        assertTrue(statistics.getStepNanos() > 0);
+    }
+
+    @Test
+    public void testSessionExaminesFewerIslands() throws Exception {
+        SolverStatistics single = new SolverStatistics();
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + "bsp_25x25.bgs"));
+        Connection next;
+        while ((next = new SolverImpl(single).nextSafeBridge(puzzle)) != null) {
+            next.addBridge();
+        }
+
+        SolverStatistics session = new SolverStatistics();
+        puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + "bsp_25x25.bgs"));
+        SolvingSession solvingSession = new SolverImpl(session).startSession(puzzle);
+        while ((next = solvingSession.nextSafeBridge()) != null) {
+            next.addBridge();
+        }
+
+        assertEquals(single.getSteps(), session.getSteps());
+        for (SolverStatistics.Rule rule : SolverStatistics.Rule.values()) {
+            assertEquals(single.getRuleFirings(rule), session.getRuleFirings(rule));
+        }
+        assertTrue(session.getExaminedIslands() < single.getExaminedIslands());
+    }
+
+    @Test
+    public void testAddAndReset() throws Exception {
+        SolverStatistics statistics = new SolverStatistics();
+        new SolverImpl(statistics).nextSafeBridge(new BridgesFileReader().readFile(new File(DATA_DIR + "bsp_5x5.bgs")));
+
+        SolverStatistics total = new SolverStatistics();
+        total.add(statistics);
+        total.add(statistics);
+        assertEquals(2 * statistics.getExaminedIslands(), total.getExaminedIslands());
+        assertEquals(2, total.getSteps());
+
+        total.reset();
+        assertEquals(0, total.getExaminedIslands());
+        assertEquals(0, total.getSteps());
+        assertEquals(0, total.getNanosPerStep(), 0);
+    }
+}
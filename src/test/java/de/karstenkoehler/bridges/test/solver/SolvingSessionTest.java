@@ -0,0 +1,78 @@
+package de.karstenkoehler.bridges.test.solver;
+
+import de.karstenkoehler.bridges.io.BridgesFileReader;
+import de.karstenkoehler.bridges.model.BridgesPuzzle;
+import de.karstenkoehler.bridges.model.Connection;
+import de.karstenkoehler.bridges.model.solver.Solver;
+import de.karstenkoehler.bridges.model.solver.SolverImpl;
+import de.karstenkoehler.bridges.model.solver.SolvingSession;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(Parameterized.class)
+public class SolvingSessionTest {
+    private static final String DATA_DIR = "src/main/resources/data/";
+    private static Solver solver = new SolverImpl();
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {"bsp_5x5.bgs"},
+                {"bsp_6x6.bgs"},
+                {"bsp_8x8.bgs"},
+                {"bsp_10x5.bgs"},
+                {"bsp_14x14.bgs"},
+                {"bsp_25x25.bgs"},
+                {"test_isolation_1.bgs"},
+                {"test_isolation_3.bgs"},
+        });
+    }
+
+    @Parameterized.Parameter
+    public String filename;
+
+    @Test
+    public void testSameBridgesAsSingleSteps() throws Exception {
+        BridgesPuzzle expected = new BridgesFileReader().readFile(new File(DATA_DIR + filename));
+        List<Integer> expectedSteps = new ArrayList<>();
+        Connection next;
+        while ((next = solver.nextSafeBridge(expected)) != null) {
+            expectedSteps.add(expected.getConnections().indexOf(next));
+            next.addBridge();
+        }
+
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + filename));
+        SolvingSession session = solver.startSession(puzzle);
+        List<Integer> steps = new ArrayList<>();
+        while ((next = session.nextSafeBridge()) != null) {
+            steps.add(puzzle.getConnections().indexOf(next));
+            next.addBridge();
+        }
+
+        assertEquals(expectedSteps, steps);
+        assertNull(session.nextSafeBridge());
+    }
+
+    @Test
+    public void testExternalChanges() throws Exception {
+        BridgesPuzzle puzzle = new BridgesFileReader().readFile(new File(DATA_DIR + filename));
+        SolvingSession session = solver.startSession(puzzle);
+
+        Connection first = session.nextSafeBridge();
+        first.addBridge();
+        session.nextSafeBridge();
+        puzzle.restart();
+
+        assertEquals(solver.nextSafeBridge(puzzle), session.nextSafeBridge());
+    }
+}